@@ -9,11 +9,11 @@
 package controller;
 
 import model.*;
+import util.CsvReader;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
@@ -34,21 +34,22 @@ public class ImportController {
     }
 
     /**
-     * Imports students from a file path (CSV or TXT).
+     * Imports students from a file path (CSV or TXT). The file is streamed one
+     * record at a time and the username is the first field of each record.
      * @param filePath the path to the file
      * @return list of parsed Student objects
      */
     public List<Student> importStudents(String filePath) {
         List<Student> imported = new ArrayList<>();
         try {
-            List<String> usernames = Files.readAllLines(Paths.get(filePath));
-            for (String username : usernames) {
+            CsvReader.read(Paths.get(filePath), record -> {
+                if (record.isBlank()) return;
                 // Look up each user and ensure it's a student
-                User u = model.getStudentByUsername(username.trim());
+                User u = model.getStudentByUsername(record.trimmed(0));
                 if (u instanceof Student s) {
                     imported.add(s); // Add valid student
                 }
-            }
+            });
         } catch (IOException e) {
             System.err.println("Error reading file: " + e.getMessage());
         }
@@ -12,6 +12,7 @@ import model.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class TeacherController {
 
@@ -56,6 +57,21 @@ public class TeacherController {
         assignment.assignGrade(student, score);
     }
 
+    /**
+     * Assigns grades to many students for one assignment in a single batch.
+     * @param course the course containing the assignment
+     * @param assignment the assignment being graded
+     * @param scores the scores awarded, keyed by student
+     * @throws IllegalArgumentException if the assignment belongs to another course
+     */
+    public void assignGrades(Course course, Assignment assignment, Map<Student, Double> scores) {
+        if (assignment.getCourse() != course) {
+            throw new IllegalArgumentException("Assignment " + assignment.getTitle()
+                + " is not part of " + course.getCourseName());
+        }
+        assignment.assignGrades(scores);
+    }
+
     /**
      * Assigns a final grade to a student in a course.
      * @param course the course for which the grade is assigned
@@ -115,15 +131,16 @@ public class TeacherController {
      * @return the class median score
      */
     public double calculateMedian(Course course) {
-        List<Double> scores = new ArrayList<>();
-        for (Student student : course.getStudents()) {
-            scores.add(course.calculateStudentAverage(student));
-        }
-        scores.sort(Double::compareTo);
-        int size = scores.size();
-        if (size == 0) return 0.0;
-        if (size % 2 == 1) return scores.get(size / 2);
-        return (scores.get(size / 2 - 1) + scores.get(size / 2)) / 2.0;
+        return course.calculateStatistics().median();
+    }
+
+    /**
+     * Computes class-wide statistics for a course in one pass.
+     * @param course the course to summarize
+     * @return mean, median, standard deviation, range and letter distribution
+     */
+    public CourseStats calculateStatistics(Course course) {
+        return course.calculateStatistics();
     }
 
     /**
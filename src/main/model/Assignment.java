@@ -3,21 +3,32 @@
  * File Name: Assignment.java
  * Course: CSC 335 Spring 2025
  * Purpose: Represents an academic assignment in a course.
- *          Stores the maximum possible points and a mapping of student grades.
- *          Supports grading, retrieval, and grading status checks.
+ *          Stores the maximum possible points; student grades live in the owning
+ *          course's GradeMatrix column. Supports grading, retrieval, and grading status checks.
  */
 package model;
 
-import java.util.HashMap;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 
 public class Assignment {
+    private final int id;
     private final String title;
-    private final double maxPoints;
-    private final Map<Student, Grade> studentGrades;
+    private final int maxPoints; // hundredths of a point
     private final Course course;
+    private final GradeMatrix.Column column;
+    private final List<Category> categories;
+    private final ScoreIndex scores;
+    private ScoreHistogram histogram;
+    private final Map<Student, Grade> gradesView = new GradesView();
 
     /**
      * Constructs a new assignment tied to a specific course.
@@ -29,10 +40,14 @@ public class Assignment {
         if (course == null) {
             throw new IllegalArgumentException("Course cannot be null");
         }
+        this.id = course.getIdRegistry().nextAssignmentId();
         this.title = title;
-        this.maxPoints = maxPoints;
+        this.maxPoints = Score.toHundredths(maxPoints);
         this.course = course;
-        this.studentGrades = new HashMap<>();
+        this.column = course.getGradeMatrix().addColumn(this);
+        this.categories = new ArrayList<>();
+        this.scores = new ScoreIndex();
+        this.histogram = new ScoreHistogram(ScoreHistogram.DEFAULT_BUCKET_WIDTH);
     }
 
     /**
@@ -42,14 +57,313 @@ public class Assignment {
      * @throws IllegalArgumentException if points exceed maxPoints
      */
     public void assignGrade(Student student, double points) {
-        if(points > maxPoints) {
-            throw new IllegalArgumentException("Points exceed maximum");
+        course.suspendNotifications();
+        try {
+            if(Score.toHundredths(points) > maxPoints) {
+                throw new IllegalArgumentException("Points exceed maximum");
+            }
+            storePoints(student, points);
+            course.notifyObservers(new ChangeEvent.GradeChanged(course, this, student,
+                Score.toHundredths(points))); // Notify observers after grade change
+        } finally {
+            course.resumeNotifications();
+        }
+    }
+
+    /**
+     * Validates and writes points into this assignment's column without notifying observers.
+     * @param student the student being graded
+     * @param points points earned
+     * @throws IllegalArgumentException if the points are out of range
+     */
+    void storePoints(Student student, double points) {
+        validatePoints(points);
+        int hundredths = Score.toHundredths(points);
+        int slot = course.getGradeMatrix().slotFor(student);
+        // Keep the score index and histogram in step with the enrolled students' grades
+        if (course.isEnrolled(student)) {
+            if (column.isGraded(slot)) {
+                unindexScore(column.get(slot));
+            }
+            indexScore(hundredths);
+        }
+        // Store the exact fixed-point score in the student's slot
+        column.set(slot, hundredths);
+        for (Category category : categories) {
+            category.gradeChanged(student); // Forget the student's cached drops there
+        }
+        course.gradeChanged(this, student); // Refresh the student's running totals
+    }
+
+    /**
+     * Adds an existing grade to the score index when its student enrolls.
+     * @param student the student who enrolled
+     */
+    void studentEnrolled(Student student) {
+        int slot = course.getGradeMatrix().slotOf(student);
+        if (column.isGraded(slot)) {
+            indexScore(column.get(slot));
+        }
+    }
+
+    /**
+     * Takes a grade out of the score index when its student leaves the course.
+     * @param student the student who was removed
+     */
+    void studentRemoved(Student student) {
+        int slot = course.getGradeMatrix().slotOf(student);
+        if (column.isGraded(slot)) {
+            unindexScore(column.get(slot));
+        }
+    }
+
+    /**
+     * Adds a counted score to the sorted index and the histogram.
+     * @param points hundredths earned
+     */
+    private void indexScore(int points) {
+        scores.insert(points);
+        histogram.add(Score.percentage(points, maxPoints));
+    }
+
+    /**
+     * Removes a counted score from the sorted index and the histogram.
+     * @param points hundredths earned
+     */
+    private void unindexScore(int points) {
+        scores.remove(points);
+        histogram.remove(Score.percentage(points, maxPoints));
+    }
+
+    /**
+     * Gets the number of enrolled students graded on this assignment.
+     * @return graded count
+     */
+    public int getScoreCount() {
+        course.getLock().readLock().lock();
+        try {
+            return scores.size();
+        } finally {
+            course.getLock().readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the median points received by enrolled students.
+     * @return median points, or 0.0 if nobody is graded
+     */
+    public double getMedianScore() {
+        course.getLock().readLock().lock();
+        try {
+            return scores.median() / Score.SCALE;
+        } finally {
+            course.getLock().readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the points at a percentile of the enrolled students' scores.
+     * @param percent a value from 0 to 100
+     * @return points at that percentile, or 0.0 if nobody is graded
+     */
+    public double getPercentileScore(double percent) {
+        course.getLock().readLock().lock();
+        try {
+            return scores.percentile(percent) / Score.SCALE;
+        } finally {
+            course.getLock().readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the score at a quantile of the enrolled students' scores.
+     * @param q a value from 0.0 (lowest) to 1.0 (highest)
+     * @return points at that quantile, or 0.0 if nobody is graded
+     */
+    public double quantile(double q) {
+        course.getLock().readLock().lock();
+        try {
+            return scores.percentile(q * 100.0) / Score.SCALE;
+        } finally {
+            course.getLock().readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets a student's percentile rank among enrolled students: the share of
+     * scores below theirs, counting ties as half.
+     * @param student the student to rank
+     * @return percentile rank from 0 to 100, or 0.0 if the student has no counted grade
+     */
+    public double percentileOf(Student student) {
+        course.getLock().readLock().lock();
+        try {
+            int slot = course.getGradeMatrix().slotOf(student);
+            if (!column.isGraded(slot) || !course.isEnrolled(student)) return 0.0;
+            int points = column.get(slot);
+            int below = scores.countBelow(points);
+            int ties = scores.countAtMost(points) - below;
+            return (below + 0.5 * ties) / scores.size() * 100.0;
+        } finally {
+            course.getLock().readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the histogram of enrolled students' scores by percentage.
+     * Bucket i covers [i * width, (i + 1) * width); 100% falls in the last bucket.
+     * @return count per bucket, lowest first
+     */
+    public int[] getHistogram() {
+        course.getLock().readLock().lock();
+        try {
+            return histogram.getCounts();
+        } finally {
+            course.getLock().readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the histogram bucket width.
+     * @return width in percentage points
+     */
+    public double getHistogramBucketWidth() {
+        course.getLock().readLock().lock();
+        try {
+            return histogram.getBucketWidth();
+        } finally {
+            course.getLock().readLock().unlock();
+        }
+    }
+
+    /**
+     * Changes the histogram bucket width (e.g. 1 or 5 percentage points) and
+     * rebuilds the counts from the score index.
+     * @param bucketWidth width in percentage points, greater than 0 and at most 100
+     * @throws IllegalArgumentException if the width is out of range
+     */
+    public void setHistogramBucketWidth(double bucketWidth) {
+        course.getLock().writeLock().lock();
+        try {
+            ScoreHistogram rebuilt = new ScoreHistogram(bucketWidth);
+            for (int i = 0; i < scores.size(); i++) {
+                rebuilt.add(Score.percentage(scores.get(i), maxPoints));
+            }
+            histogram = rebuilt;
+        } finally {
+            course.getLock().writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the mean points received by enrolled students.
+     * @return mean points, or 0.0 if nobody is graded
+     */
+    public double getAverageScore() {
+        course.getLock().readLock().lock();
+        try {
+            return scores.mean() / Score.SCALE;
+        } finally {
+            course.getLock().readLock().unlock();
+        }
+    }
+
+    /**
+     * Records that this assignment was added to a category.
+     * @param category the category now holding this assignment
+     */
+    void joinCategory(Category category) {
+        categories.add(category);
+    }
+
+    /**
+     * Records that this assignment was removed from a category.
+     * @param category the category that no longer holds this assignment
+     */
+    void leaveCategory(Category category) {
+        categories.remove(category);
+    }
+
+    /**
+     * Assigns many grades at once. All entries are validated first; if any is
+     * invalid nothing is stored. Observers are notified once for the whole set.
+     * @param grades points earned, keyed by student
+     * @throws IllegalArgumentException if any entry is invalid
+     */
+    public void assignGrades(Map<Student, Double> grades) {
+        GradeBatch batch = course.beginGradeBatch();
+        for (Map.Entry<Student, Double> entry : grades.entrySet()) {
+            batch.add(this, entry.getKey(), entry.getValue());
+        }
+        batch.commit();
+    }
+
+    /**
+     * Restores saved grades in bulk, e.g. when loading a gradebook snapshot.
+     * Every entry is validated before any is written; cells are then filled
+     * without per-grade events, the score index is sorted once, and observers
+     * receive a single update.
+     * @param students the graded students
+     * @param hundredths each student's points, in hundredths
+     * @param count how many leading entries of the arrays to restore
+     * @throws IllegalArgumentException if any entry is invalid
+     */
+    public void restoreGrades(Student[] students, int[] hundredths, int count) {
+        course.suspendNotifications();
+        try {
+            // First pass: validate everything before touching the grade matrix
+            if (count > 0 && maxPoints <= 0) {
+                throw new IllegalArgumentException("Max points must be positive");
+            }
+            for (int i = 0; i < count; i++) {
+                if (students[i] == null) {
+                    throw new IllegalArgumentException("Student cannot be null");
+                }
+                if (hundredths[i] < 0 || hundredths[i] > maxPoints) {
+                    throw new IllegalArgumentException("Points received must be between 0 and maxPoints");
+                }
+            }
+
+            // Second pass: write the cells, collecting enrolled scores for one sort
+            GradeMatrix matrix = course.getGradeMatrix();
+            int[] counted = new int[count];
+            int countedSize = 0;
+            for (int i = 0; i < count; i++) {
+                Student student = students[i];
+                int slot = matrix.slotFor(student);
+                if (course.isEnrolled(student)) {
+                    if (column.isGraded(slot)) {
+                        unindexScore(column.get(slot));
+                    }
+                    counted[countedSize++] = hundredths[i];
+                    histogram.add(Score.percentage(hundredths[i], maxPoints));
+                }
+                column.set(slot, hundredths[i]);
+                for (Category category : categories) {
+                    category.gradeChanged(student);
+                }
+                course.gradeChanged(this, student);
+            }
+            scores.insertAll(counted, countedSize);
+            course.notifyObservers();
+        } finally {
+            course.resumeNotifications();
+        }
+    }
+
+    /**
+     * Checks that a score fits this assignment's point range.
+     * @param points points earned
+     * @throws IllegalArgumentException if the points are out of range
+     */
+    void validatePoints(double points) {
+        if (maxPoints <= 0) {
+            throw new IllegalArgumentException("Max points must be positive");
+        }
+        int hundredths = Score.toHundredths(points);
+        if (hundredths < 0 || hundredths > maxPoints) {
+            throw new IllegalArgumentException("Points received must be between 0 and maxPoints");
         }
-        // Create and store grade
-        Grade grade = new Grade(points, maxPoints);
-        student.addGrade(this, grade);
-        studentGrades.put(student, grade);
-        course.notifyObservers(); // Notify observers after grade change
     }
 
     /**
@@ -58,7 +372,13 @@ public class Assignment {
      * @return Grade object or null if not graded
      */
     public Grade getGrade(Student student) {
-        return studentGrades.get(student);
+        course.getLock().readLock().lock();
+        try {
+            int slot = course.getGradeMatrix().slotOf(student);
+            return column.isGraded(slot) ? Grade.ofHundredths(column.get(slot), maxPoints) : null;
+        } finally {
+            course.getLock().readLock().unlock();
+        }
     }
 
     /**
@@ -66,8 +386,14 @@ public class Assignment {
      * @param courseStudents List of students enrolled in the course
      * @return true if all students have grades
      */
-    public boolean isFullyGraded(List<Student> courseStudents) {
-        return courseStudents.stream().allMatch(studentGrades::containsKey);
+    public boolean isFullyGraded(Collection<Student> courseStudents) {
+        course.getLock().readLock().lock();
+        try {
+            GradeMatrix matrix = course.getGradeMatrix();
+            return courseStudents.stream().allMatch(s -> column.isGraded(matrix.slotOf(s)));
+        } finally {
+            course.getLock().readLock().unlock();
+        }
     }
     
     /**
@@ -76,7 +402,20 @@ public class Assignment {
      * @return true if the student has a grade for this assignment
      */
     public boolean isGraded(Student student) {
-        return studentGrades.containsKey(student);
+        course.getLock().readLock().lock();
+        try {
+            return column.isGraded(course.getGradeMatrix().slotOf(student));
+        } finally {
+            course.getLock().readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets this assignment's dense ID.
+     * @return the assignment ID
+     */
+    public int getId() {
+        return id;
     }
 
     /**
@@ -92,15 +431,87 @@ public class Assignment {
      * @return maximum points possible
      */
     public double getMaxPoints() {
+        return Score.toPoints(maxPoints);
+    }
+
+    /**
+     * Gets the maximum possible score in fixed point.
+     * @return hundredths of a point possible
+     */
+    public int getMaxHundredths() {
         return maxPoints;
     }
 
     /**
-     * Gets a defensive copy of the student grade map.
-     * @return map of students to grades
+     * Gets a read-only, live view of the student grade map. Nothing is copied;
+     * lookups read the grade column directly.
+     * @return unmodifiable map of students to grades
      */
     public Map<Student, Grade> getStudentGrades() {
-        return new HashMap<>(studentGrades);
+        return gradesView;
+    }
+
+    /**
+     * Read-only map over this assignment's grade column. Lookups go through the
+     * student's slot and iteration walks the graded bitmap, building Grade
+     * objects on demand.
+     */
+    private final class GradesView extends AbstractMap<Student, Grade> {
+        private final Set<Map.Entry<Student, Grade>> entries = new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<Student, Grade>> iterator() {
+                return new Iterator<>() {
+                    private int next = column.nextGraded(0);
+
+                    @Override
+                    public boolean hasNext() {
+                        return next >= 0;
+                    }
+
+                    @Override
+                    public Map.Entry<Student, Grade> next() {
+                        if (next < 0) throw new NoSuchElementException();
+                        int slot = next;
+                        next = column.nextGraded(slot + 1);
+                        return new AbstractMap.SimpleImmutableEntry<>(
+                            course.getGradeMatrix().studentAt(slot), Grade.ofHundredths(column.get(slot), maxPoints));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return column.getGradedCount();
+            }
+        };
+
+        @Override
+        public Grade get(Object key) {
+            return key instanceof Student s ? getGrade(s) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Student s && isGraded(s);
+        }
+
+        @Override
+        public int size() {
+            return column.getGradedCount();
+        }
+
+        @Override
+        public Set<Map.Entry<Student, Grade>> entrySet() {
+            return entries;
+        }
+    }
+
+    /**
+     * Gets this assignment's column in the course grade matrix.
+     * @return the grade column
+     */
+    GradeMatrix.Column getColumn() {
+        return column;
     }
 
     /**
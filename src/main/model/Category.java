@@ -8,16 +8,23 @@
 package model;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import util.DropLowestSelector;
 
 public class Category {
     private final String name;
     private final double weight; 
     private final List<Assignment> assignments;
     private int dropLowestCount;
+    private final Map<Student, Set<Assignment>> droppedCache;
+    private final List<Assignment> assignmentsView;
+    private volatile Course course; // whose lock guards this category; set once it joins a course
 
     /**
      * Constructs a category with a given name and weight.
@@ -29,6 +36,8 @@ public class Category {
         this.weight = weight;
         this.assignments = new ArrayList<>();
         this.dropLowestCount = 0;
+        this.droppedCache = new ConcurrentHashMap<>();
+        this.assignmentsView = Collections.unmodifiableList(assignments);
     }
 
     /**
@@ -39,25 +48,46 @@ public class Category {
      */
 
     public double calculateCategoryAverage(Student student) {
-        List<Grade> grades = assignments.stream()
-            .map(a -> a.getGrade(student)) // Get grades for this student
-            .filter(Objects::nonNull) // Remove nulls (ungraded)
-            .sorted(Comparator.comparingDouble(Grade::getPercentage)) // Sort from lowest to highest
-            .collect(Collectors.toList());
-
-        if (!grades.isEmpty() && dropLowestCount > 0) {
-            // Drop the lowest N grades
-            int toDrop = Math.min(dropLowestCount, grades.size());
-            grades = grades.subList(toDrop, grades.size());
+        Course owner = course;
+        if (owner == null) {
+            return calculateTotals(student).averagePercentage() * weight; // No assignments, nothing shared to read
+        }
+        owner.getLock().readLock().lock();
+        try {
+            return calculateTotals(student).averagePercentage() * weight; // Assumes weight is in decimal (e.g., 0.25 for 25%)
+        } finally {
+            owner.getLock().readLock().unlock();
         }
+    }
 
-        // Compute average and apply category weight
-        double averagePercentage = grades.stream()
-            .mapToDouble(Grade::getPercentage)
-            .average()
-            .orElse(0.0);
+    /**
+     * Computes the kept (post-drop) totals for a student in this category.
+     * Used both for the category average and for the running totals kept by Course.
+     * @param student the student whose grades are summed
+     * @return earned, possible and percentage sums of the kept grades
+     */
+    StudentTotals.CategoryTotals calculateTotals(Student student) {
+        GradeRow row = gatherRow(student);
+        DropLowestSelector.Selection selection =
+            DropLowestSelector.select(row.percentages, row.size, dropLowestCount);
+        if (selection.keptCount() == 0) {
+            return StudentTotals.CategoryTotals.EMPTY;
+        }
 
-        return averagePercentage * weight; // Assumes weight is in decimal (e.g., 0.25 for 25%)
+        // Sum what is left after drops, walking the dropped positions in order
+        int[] dropped = selection.droppedIndices();
+        long earned = 0; // exact hundredths, so the sums do not depend on order
+        long possible = 0;
+        int next = 0;
+        for (int i = 0; i < row.size; i++) {
+            if (next < dropped.length && dropped[next] == i) {
+                next++;
+                continue;
+            }
+            earned += row.points[i];
+            possible += row.maxPoints[i];
+        }
+        return new StudentTotals.CategoryTotals(earned, possible, selection.keptSum(), selection.keptCount());
     }
 
     /**
@@ -67,17 +97,103 @@ public class Category {
      * @return true if the grade is considered dropped, false otherwise
      */
     public boolean isDropped(Assignment assignment, Student student) {
-        List<Grade> grades = assignments.stream()
-            .map(a -> a.getGrade(student))
-            .filter(Objects::nonNull)
-            .sorted(Comparator.comparingDouble(Grade::getPercentage))
-            .collect(Collectors.toList());
+        Course owner = course != null ? course : assignment.getCourse();
+        owner.getLock().readLock().lock();
+        try {
+            // Cached until the student's grades here or the drop rule change
+            return droppedCache.computeIfAbsent(student, this::findDropped).contains(assignment);
+        } finally {
+            owner.getLock().readLock().unlock();
+        }
+    }
+
+    /**
+     * Records the course this category belongs to, so readers can take its lock.
+     * @param owner the course
+     */
+    void attachCourse(Course owner) {
+        if (course == null) {
+            course = owner;
+        }
+    }
 
-        int toDrop = Math.min(dropLowestCount, grades.size());
-        List<Grade> dropped = grades.subList(0, toDrop); // Get lowest N grades
-        Grade target = assignment.getGrade(student);
-        // Check if this assignment's grade was dropped
-        return dropped.contains(target);
+    /**
+     * Works out which of a student's assignments in this category are dropped.
+     * @param student the student being evaluated
+     * @return the dropped assignments, empty if none
+     */
+    private Set<Assignment> findDropped(Student student) {
+        if (dropLowestCount <= 0) {
+            return Set.of();
+        }
+        GradeRow row = gatherRow(student);
+        DropLowestSelector.Selection selection =
+            DropLowestSelector.select(row.percentages, row.size, dropLowestCount);
+        Set<Assignment> dropped = new HashSet<>();
+        for (int i : selection.droppedIndices()) {
+            dropped.add(assignments.get(row.positions[i]));
+        }
+        return dropped;
+    }
+
+    /**
+     * Forgets the cached dropped set for one student after their grade here changed.
+     * @param student the student whose grade changed
+     */
+    void gradeChanged(Student student) {
+        droppedCache.remove(student);
+    }
+
+    /**
+     * Reads a student's graded cells for this category straight out of the
+     * course grade matrices into primitive arrays.
+     * @param student the student whose row is read
+     * @return the graded cells, in assignment order
+     */
+    private GradeRow gatherRow(Student student) {
+        GradeRow row = new GradeRow(assignments.size());
+        GradeMatrix matrix = null;
+        int slot = -1;
+        for (int i = 0; i < assignments.size(); i++) {
+            Assignment a = assignments.get(i);
+            // Look the slot up once per matrix, not once per assignment
+            GradeMatrix m = a.getCourse().getGradeMatrix();
+            if (m != matrix) {
+                matrix = m;
+                slot = m.slotOf(student);
+            }
+            GradeMatrix.Column column = a.getColumn();
+            if (column.isGraded(slot)) {
+                row.add(i, column.get(slot), a.getMaxHundredths());
+            }
+        }
+        return row;
+    }
+
+    /**
+     * A student's graded cells in this category as parallel primitive arrays.
+     */
+    private static final class GradeRow {
+        private final int[] positions;
+        private final int[] points;     // hundredths
+        private final int[] maxPoints;  // hundredths
+        private final double[] percentages;
+        private int size;
+
+        private GradeRow(int capacity) {
+            this.positions = new int[capacity];
+            this.points = new int[capacity];
+            this.maxPoints = new int[capacity];
+            this.percentages = new double[capacity];
+        }
+
+        private void add(int position, int earned, int max) {
+            positions[size] = position;
+            points[size] = earned;
+            maxPoints[size] = max;
+            percentages[size] = Score.percentage(earned, max);
+            size++;
+        }
     }
 
     /**
@@ -94,24 +210,78 @@ public class Category {
      * @param course the course this category belongs to
      */
     public void setDropLowestCount(int count, Course course) {
-        this.dropLowestCount = count;
-        course.notifyObservers(); // Trigger UI updates or recalculations
+        course.suspendNotifications();
+        try {
+            attachCourse(course);
+            this.dropLowestCount = count;
+            droppedCache.clear(); // Every student's dropped set may change
+            course.categoryChanged(this); // Refresh the course's running totals
+            course.notifyObservers(new ChangeEvent.CategoryChanged(course, this, false)); // Trigger UI updates or recalculations
+        } finally {
+            course.resumeNotifications();
+        }
     }
 
     /**
-     * Adds an assignment to this category.
+     * Adds an assignment to this category. If the category is already part of
+     * the course, observers are notified.
      * @param assignment the assignment to include
      */
     public void addAssignment(Assignment assignment) {
-        assignments.add(assignment);
+        Course course = assignment.getCourse();
+        course.suspendNotifications();
+        try {
+            attachCourse(course);
+            assignments.add(assignment);
+            assignment.joinCategory(this); // So regrades can invalidate the dropped cache
+            droppedCache.clear();
+            course.assignmentCategorized(assignment, this); // O(1) category lookup
+            course.categoryChanged(this); // Existing grades now count here
+            if (course.getCategories().contains(this)) {
+                course.notifyObservers(new ChangeEvent.CategoryChanged(course, this, false));
+            }
+        } finally {
+            course.resumeNotifications();
+        }
+    }
+
+    /**
+     * Removes an assignment from this category.
+     * @param assignment the assignment to remove
+     * @return true if the assignment was part of this category
+     */
+    boolean removeAssignment(Assignment assignment) {
+        if (!assignments.remove(assignment)) {
+            return false;
+        }
+        assignment.leaveCategory(this);
+        droppedCache.clear();
+        return true;
+    }
+
+    /**
+     * Checks membership without copying the assignment list.
+     * @param assignment the assignment to look for
+     * @return true if the assignment belongs to this category
+     */
+    boolean contains(Assignment assignment) {
+        return assignments.contains(assignment);
+    }
+
+    /**
+     * Gets a read-only view of the assignments, without copying.
+     * @return unmodifiable view of the assignment list
+     */
+    List<Assignment> assignmentsView() {
+        return assignmentsView;
     }
 
     /**
-     * Gets all assignments in this category.
-     * @return list of Assignment objects
+     * Gets all assignments in this category as a read-only view, without copying.
+     * @return unmodifiable list of Assignment objects
      */
     public List<Assignment> getAssignments() {
-        return new ArrayList<>(assignments);
+        return assignmentsView;
     }
 
     /**
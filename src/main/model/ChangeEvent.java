@@ -0,0 +1,125 @@
+/**
+ * Project Name: Gradebook
+ * File Name: ChangeEvent.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: Typed description of a single model change, delivered to observers so they
+ *          can patch one row or one cached value instead of redrawing everything.
+ *          Records give value equality; a batch keeps events in the order they
+ *          happened, so observers can replay them to reach the model's state.
+ *          Events carry the values written, so an observer that runs later still
+ *          sees what each change did rather than what the model holds now.
+ */
+package model;
+
+import java.util.List;
+
+public sealed interface ChangeEvent {
+
+    /**
+     * Gets the course this change belongs to.
+     * @return the course, or null for a change not tied to one course
+     */
+    Course course();
+
+    /**
+     * A student's grade on an assignment was set or replaced.
+     * @param course the course owning the assignment
+     * @param assignment the assignment graded
+     * @param student the student whose grade changed
+     * @param pointsHundredths the points written, in hundredths (see Score)
+     */
+    record GradeChanged(Course course, Assignment assignment, Student student, int pointsHundredths)
+            implements ChangeEvent {}
+
+    /**
+     * A student was enrolled in a course.
+     * @param course the course
+     * @param student the student enrolled
+     */
+    record StudentEnrolled(Course course, Student student) implements ChangeEvent {}
+
+    /**
+     * A student was removed from a course.
+     * @param course the course
+     * @param student the student removed
+     */
+    record StudentRemoved(Course course, Student student) implements ChangeEvent {}
+
+    /**
+     * An assignment was added to a course.
+     * @param course the course
+     * @param assignment the assignment added
+     */
+    record AssignmentAdded(Course course, Assignment assignment) implements ChangeEvent {}
+
+    /**
+     * An assignment was removed from a course.
+     * @param course the course
+     * @param assignment the assignment removed
+     */
+    record AssignmentRemoved(Course course, Assignment assignment) implements ChangeEvent {}
+
+    /**
+     * A category was added or removed, or its drop rule or assignments changed.
+     * @param course the course
+     * @param category the category affected
+     * @param removed true if the category left the course
+     * @param dropLowestCount the category's drop rule after the change
+     * @param assignments the category's assignments after the change
+     */
+    record CategoryChanged(Course course, Category category, boolean removed, int dropLowestCount,
+                           List<Assignment> assignments) implements ChangeEvent {
+
+        /**
+         * Describes a category as it is now. Callers hold the course's write lock.
+         * @param course the course
+         * @param category the category affected
+         * @param removed true if the category left the course
+         */
+        CategoryChanged(Course course, Category category, boolean removed) {
+            this(course, category, removed, category.getDropLowestCount(), List.copyOf(category.assignmentsView()));
+        }
+    }
+
+    /**
+     * A final grade was assigned to a student.
+     * @param course the course
+     * @param student the student graded
+     * @param grade the final grade
+     */
+    record FinalGradeAssigned(Course course, Student student, FinalGrade grade) implements ChangeEvent {}
+
+    /**
+     * A course switched between total-points and weighted grading.
+     * @param course the course
+     * @param weighted true if weighted grading is now active
+     */
+    record GradingModeChanged(Course course, boolean weighted) implements ChangeEvent {}
+
+    /**
+     * A course was added to the gradebook.
+     * @param course the course added
+     */
+    record CourseAdded(Course course) implements ChangeEvent {}
+
+    /**
+     * A user was registered with the gradebook for the first time.
+     * @param user the student or teacher added
+     */
+    record UserAdded(User user) implements ChangeEvent {
+        @Override
+        public Course course() {
+            return null;
+        }
+    }
+
+    /**
+     * Something changed that has no specific event; observers should refresh fully.
+     */
+    record Invalidated() implements ChangeEvent {
+        @Override
+        public Course course() {
+            return null;
+        }
+    }
+}
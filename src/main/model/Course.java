@@ -8,32 +8,70 @@
 package model;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
-import util.GradeCalculator;
-
 public class Course implements Subject {
+	private final int id;
+	private final IdRegistry ids;
 	private final String courseName;
-    private final List<Student> students;
-    private final List<Assignment> assignments;
+    private final Set<Student> students;       // insertion-ordered, O(1) membership
+    private final Set<Assignment> assignments;
     private final List<Category> categories;
     private final Map<Student, FinalGrade> finalGrades;
+    private final Map<Student, StudentTotals> studentTotals;
+    private final Map<Assignment, Category> categoryIndex;
+    // Read-only snapshots handed out by the getters; rebuilt only after a change
+    private List<Student> studentSnapshot;
+    private List<Assignment> assignmentSnapshot;
+    private List<Category> categorySnapshot;
+    private final GradeMatrix gradeMatrix;
+    private double totalCategoryWeight;
     private boolean useWeightedGrading;
     private int numAssignmentsToDrop;
-    private final List<Observer> observers = new ArrayList<>();
+    private final NotificationDispatcher notifications = new NotificationDispatcher();
+    // Guards all mutable course state; writers to different courses never contend
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Last committed state for lock-free readers, and what changed since it was published
+    private volatile CourseSnapshot snapshot;
+    private final Set<GradeMatrix.Column> dirtyColumns = Collections.newSetFromMap(new IdentityHashMap<>());
+    private boolean snapshotStale;
+    private boolean categoriesDirty;
+    private boolean finalGradesDirty;
+    private int writeDepth; // suspended scopes open on the lock holder; nothing is published inside one
     
   /**
-   * Constructs a course with a name and initializes internal structures.
+   * Constructs a course with a name and its own ID registry.
    * @param courseName name of the course
    */  
   public Course(String courseName) {
+      this(courseName, new IdRegistry());
+  }
+
+  /**
+   * Constructs a course with a name and initializes internal structures.
+   * Its ID, its assignments' IDs and its students' slot keys come from the
+   * given registry, normally the one owned by the model the course joins.
+   * @param courseName name of the course
+   * @param ids the registry to draw IDs from
+   */
+  public Course(String courseName, IdRegistry ids) {
+	  this.ids = ids;
+	  this.id = ids.nextCourseId();
 	  this.courseName = courseName;
-      this.students = new ArrayList<>();
-      this.assignments = new ArrayList<>();
+      this.students = new LinkedHashSet<>();
+      this.assignments = new LinkedHashSet<>();
       this.categories = new ArrayList<>();
-      this.finalGrades = new HashMap<>();
+      this.finalGrades = new ConcurrentHashMap<>();
+      this.studentTotals = new ConcurrentHashMap<>(); // filled from statistics worker threads
+      this.gradeMatrix = new GradeMatrix(ids);
+      this.categoryIndex = new HashMap<>();
+      this.totalCategoryWeight = 0.0;
       this.useWeightedGrading = false;
       this.numAssignmentsToDrop = 0;
+      publishSnapshot(); // Readers always find a snapshot, starting at version 0
     }
 
   /**
@@ -43,22 +81,97 @@ public class Course implements Subject {
    */
 
   public void addStudent(Student student) {
-      if (!students.contains(student)) {
-          students.add(student);
-          student.addCourse(this); // link both ways
-          notifyObservers(); // notify UI
+      suspendNotifications();
+      try {
+          if (enroll(student)) {
+              notifyObservers(new ChangeEvent.StudentEnrolled(this, student)); // notify UI
+          }
+      } finally {
+          resumeNotifications();
+      }
+  }
+
+  /**
+   * Enrolls many students at once in linear time. Students already enrolled
+   * are skipped, and observers receive a single notification.
+   *
+   * @param newStudents the students to add
+   */
+  public void addStudents(Collection<Student> newStudents) {
+      suspendNotifications();
+      try {
+          for (Student student : newStudents) {
+              if (enroll(student)) {
+                  notifyObservers(new ChangeEvent.StudentEnrolled(this, student));
+              }
+          }
+      } finally {
+          resumeNotifications();
+      }
+  }
+
+  /**
+   * Adds a student to the roster and links both ways without notifying.
+   *
+   * @param student the student to add
+   * @return true if the student was not already enrolled
+   */
+  private boolean enroll(Student student) {
+      if (!students.add(student)) {
+          return false;
+      }
+      studentSnapshot = null;
+      student.addCourse(this); // link both ways
+      // Grades given before enrollment now count toward assignment statistics
+      for (GradeMatrix.Column column : gradeMatrix.getColumns()) {
+          column.getAssignment().studentEnrolled(student);
       }
+      return true;
   }
 
   /**
-   * Removes a student from this course and notifies observers.
+   * Checks whether a student is currently enrolled.
+   *
+   * @param student the student to look up
+   * @return true if the student is on the roster
+   */
+  boolean isEnrolled(Student student) {
+      return students.contains(student);
+  }
+
+  /**
+   * Starts a batch of grade entries for this course. The batch validates every
+   * entry before applying any and notifies observers once on commit.
+   *
+   * @return a new, empty grade batch
+   */
+  public GradeBatch beginGradeBatch() {
+      return new GradeBatch(this);
+  }
+
+  /**
+   * Removes a student from this course and notifies observers. A student who is
+   * not enrolled is ignored and no event is sent.
    *
    * @param student the student to remove
    */
   public void removeStudent(Student student) {
-      students.remove(student);
-      student.getCourses().remove(this); // remove bidirectional link
-      notifyObservers();
+      suspendNotifications();
+      try {
+          if (!students.remove(student)) {
+              return; // Not on the roster; nothing to unlink or report
+          }
+          studentSnapshot = null;
+          // Keep the grades, but stop counting them in assignment statistics
+          for (GradeMatrix.Column column : gradeMatrix.getColumns()) {
+              column.getAssignment().studentRemoved(student);
+          }
+          studentTotals.remove(student); // drop cached aggregates
+          student.unlinkCourse(this); // remove bidirectional link
+          notifyObservers(new ChangeEvent.StudentRemoved(this, student));
+      } finally {
+          resumeNotifications();
+      }
   }
 
   /**
@@ -67,9 +180,15 @@ public class Course implements Subject {
    * @param assignment the assignment to add
    */
   public void addAssignment(Assignment assignment) {
-      if (!assignments.contains(assignment)) {
-          assignments.add(assignment);
-          notifyObservers();
+      suspendNotifications();
+      try {
+          if (assignments.add(assignment)) {
+              assignmentSnapshot = null;
+              gradeMatrix.reviveColumn(assignment.getColumn()); // Its grades count in student rows again
+              notifyObservers(new ChangeEvent.AssignmentAdded(this, assignment));
+          }
+      } finally {
+          resumeNotifications();
       }
   }
   
@@ -80,8 +199,23 @@ public class Course implements Subject {
    */
 
   public void removeAssignment(Assignment assignment) {
-	    assignments.remove(assignment);
-	    notifyObservers();
+	    suspendNotifications();
+	    try {
+		    if (assignments.remove(assignment)) {
+		        assignmentSnapshot = null;
+		        gradeMatrix.retireColumn(assignment.getColumn()); // Student rows skip its grades
+		    }
+		    categoryIndex.remove(assignment);
+		    // Detach from its categories so the grades stop counting toward averages
+		    for (Category category : categories) {
+		        if (category.removeAssignment(assignment)) {
+		            categoryChanged(category);
+		        }
+		    }
+		    notifyObservers(new ChangeEvent.AssignmentRemoved(this, assignment));
+	    } finally {
+	    	resumeNotifications();
+	    }
 	}
 
   /**
@@ -90,10 +224,23 @@ public class Course implements Subject {
    * @return the class average as a percentage
    */  
   public double calculateClassAverage() {
-      return students.stream()
-          .mapToDouble(this::calculateStudentAverage)
-          .average()
-          .orElse(0.0);
+      return calculateStatistics().mean();
+  }
+
+  /**
+   * Computes class-wide statistics (mean, median, spread, range and letter
+   * distribution) over every enrolled student in one pass. Large rosters are
+   * processed in parallel.
+   *
+   * @return the statistics snapshot
+   */
+  public CourseStats calculateStatistics() {
+      lock.readLock().lock();
+      try {
+          return StatisticsEngine.compute(this);
+      } finally {
+          lock.readLock().unlock();
+      }
   }
 
   /**
@@ -103,6 +250,23 @@ public class Course implements Subject {
    * @return the average as a percentage
    */
   public double calculateStudentAverage(Student student) {
+      lock.readLock().lock();
+      try {
+          return studentAverage(student);
+      } finally {
+          lock.readLock().unlock();
+      }
+  }
+
+  /**
+   * Calculates a student's average without locking. Used by statistics worker
+   * threads while the caller holds the read lock, since a worker asking for the
+   * lock behind a waiting writer would deadlock.
+   *
+   * @param student the student whose average is being calculated
+   * @return the average as a percentage
+   */
+  double studentAverage(Student student) {
       if (useWeightedGrading) {
           return calculateWeightedAverage(student);
       } else {
@@ -117,31 +281,7 @@ public class Course implements Subject {
    * @return the average as a percentage
    */
   private double calculateTotalPointsAverage(Student student) {
-	    double totalEarned = 0;
-	    double totalPossible = 0;
-
-	    for (Category category : categories) {
-	        List<Assignment> assignmentsInCat = category.getAssignments();
-	        List<Grade> studentGrades = new ArrayList<>();
-
-	        // Collect grades for this student in the current category
-	        for (Assignment a : assignmentsInCat) {
-	            Grade g = a.getGrade(student);
-	            if (g != null) {
-	                studentGrades.add(g);
-	            }
-	        }
-	        // Drop lowest grades according to category rule
-	        List<Grade> keptGrades = GradeCalculator.dropLowestGrades(studentGrades, category.getDropLowestCount());
-
-	        // Accumulate earned and possible points
-	        for (Grade g : keptGrades) {
-	            totalEarned += g.getPointsReceived();
-	            totalPossible += g.getMaxPoints();
-	        }
-	    }
-
-	    return totalPossible > 0 ? (totalEarned / totalPossible) * 100.0 : 0.0;
+	    return totalsFor(student).getTotalPointsAverage();
 	}
 
 
@@ -154,16 +294,61 @@ public class Course implements Subject {
    */
   private double calculateWeightedAverage(Student student) {
 	    // Total weight of all categories must be non-zero
-	    double totalWeight = categories.stream()
-	        .mapToDouble(Category::getWeight)
-	        .sum();
+	    if (totalCategoryWeight == 0) return 0.0;
 
-	    if (totalWeight == 0) return 0.0;
+	    // Sum of each weighted category average, kept up to date by the running totals
+	    return totalsFor(student).getWeightedSum();
+	}
+
+  /**
+   * Returns the running totals for a student, building them on first access.
+   * After that they are only refreshed for the category that actually changed.
+   *
+   * @param student the student to look up
+   * @return the student's running totals
+   */
+  private StudentTotals totalsFor(Student student) {
+	    return studentTotals.computeIfAbsent(student, s -> {
+	        StudentTotals totals = new StudentTotals();
+	        for (Category category : categories) {
+	            totals.update(category, category.calculateTotals(s));
+	        }
+	        return totals;
+	    });
+	}
+
+  /**
+   * Refreshes a student's running totals after one of their grades changed.
+   * Only the categories holding the assignment are recomputed.
+   *
+   * @param assignment the assignment that was graded
+   * @param student the student whose grade changed
+   */
+  void gradeChanged(Assignment assignment, Student student) {
+	    dirtyColumns.add(assignment.getColumn()); // Only this column is copied on publish
+	    snapshotStale = true;
+	    StudentTotals totals = studentTotals.get(student);
+	    if (totals != null) { // Otherwise built lazily on next read
+	        for (Category category : categories) {
+	            if (category.contains(assignment)) {
+	                totals.update(category, category.calculateTotals(student));
+	            }
+	        }
+	    }
+	}
 
-	    // Sum up each weighted category average
-	    return categories.stream()
-	        .mapToDouble(cat -> cat.calculateCategoryAverage(student))
-	        .sum();
+  /**
+   * Refreshes every cached student's totals for one category after its
+   * assignments or drop rule changed.
+   *
+   * @param category the category that changed
+   */
+  void categoryChanged(Category category) {
+	    categoriesDirty = true;
+	    if (!categories.contains(category)) return; // Not part of this course's grading
+	    for (Map.Entry<Student, StudentTotals> entry : studentTotals.entrySet()) {
+	        entry.getValue().update(category, category.calculateTotals(entry.getKey()));
+	    }
 	}
 
 
@@ -173,11 +358,16 @@ public class Course implements Subject {
    * @return list of sorted students
    */
   public List<Student> sortStudentsByName() {
-	    // Comparator sorts by last name first, then first name
-	    return students.stream()
-	        .sorted(Comparator.comparing((Student s) -> s.getLastName())
-	            .thenComparing(s -> s.getFirstName()))
-	        .collect(Collectors.toList());
+	    lock.readLock().lock();
+	    try {
+		    // Comparator sorts by last name first, then first name
+		    return students.stream()
+		        .sorted(Comparator.comparing((Student s) -> s.getLastName())
+		            .thenComparing(s -> s.getFirstName()))
+		        .collect(Collectors.toList());
+	    } finally {
+	    	lock.readLock().unlock();
+	    }
 	}
 
   /**
@@ -188,13 +378,36 @@ public class Course implements Subject {
    */
 
   public List<Student> sortStudentsByAssignmentGrade(Assignment assignment) {
-	  // Higher grades appear first
-      return students.stream()
-          .sorted((s1, s2) -> Double.compare(
-              assignment.getGrade(s2).getPercentage(),
-              assignment.getGrade(s1).getPercentage()
-          ))
-          .collect(Collectors.toList());
+	  lock.readLock().lock();
+	  try {
+		  // Higher grades appear first
+	      return students.stream()
+	          .sorted((s1, s2) -> Double.compare(
+	              assignment.getGrade(s2).getPercentage(),
+	              assignment.getGrade(s1).getPercentage()
+	          ))
+	          .collect(Collectors.toList());
+	  } finally {
+	  	lock.readLock().unlock();
+	  }
+  }
+
+  /**
+   * Gets this course's dense ID.
+   *
+   * @return the course ID
+   */
+  public int getId() {
+      return id;
+  }
+
+  /**
+   * Gets the registry this course draws its IDs from.
+   *
+   * @return the course's ID registry
+   */
+  IdRegistry getIdRegistry() {
+      return ids;
   }
 
   /**
@@ -207,21 +420,51 @@ public class Course implements Subject {
   }
 
   /**
-   * Gets a copy of the list of enrolled students.
+   * Gets the enrolled students as a read-only snapshot. The same list is
+   * returned until the roster changes, so repeated calls do not copy.
    *
-   * @return list of students
+   * @return unmodifiable list of students
    */
   public List<Student> getStudents() {
-      return new ArrayList<>(students);
+      lock.readLock().lock();
+      try {
+          List<Student> snapshot = studentSnapshot;
+          if (snapshot == null) {
+              snapshot = List.copyOf(students);
+              studentSnapshot = snapshot;
+          }
+          return snapshot;
+      } finally {
+          lock.readLock().unlock();
+      }
   }
 
   /**
-   * Gets a copy of the assignment list.
+   * Gets the assignments as a read-only snapshot, rebuilt only after a change.
    *
-   * @return list of assignments
+   * @return unmodifiable list of assignments
    */
   public List<Assignment> getAssignments() {
-      return new ArrayList<>(assignments);
+      lock.readLock().lock();
+      try {
+          List<Assignment> snapshot = assignmentSnapshot;
+          if (snapshot == null) {
+              snapshot = List.copyOf(assignments);
+              assignmentSnapshot = snapshot;
+          }
+          return snapshot;
+      } finally {
+          lock.readLock().unlock();
+      }
+  }
+
+  /**
+   * Gets the columnar grade store shared by this course's assignments.
+   *
+   * @return the course grade matrix
+   */
+  GradeMatrix getGradeMatrix() {
+      return gradeMatrix;
   }
 
   /**
@@ -230,7 +473,13 @@ public class Course implements Subject {
    * @param useWeightedGrading true to use category weighting
    */
   public void setGradingMode(boolean useWeightedGrading) {
-      this.useWeightedGrading = useWeightedGrading;
+      suspendNotifications();
+      try {
+          this.useWeightedGrading = useWeightedGrading;
+          notifyObservers(new ChangeEvent.GradingModeChanged(this, useWeightedGrading));
+      } finally {
+          resumeNotifications();
+      }
   }
 
   /**
@@ -239,7 +488,12 @@ public class Course implements Subject {
    * @param numToDrop the number of assignments to drop
    */
   public void setAssignmentsToDrop(int numToDrop) {
-      this.numAssignmentsToDrop = Math.max(numToDrop, 0);
+      lock.writeLock().lock();
+      try {
+          this.numAssignmentsToDrop = Math.max(numToDrop, 0);
+      } finally {
+          lock.writeLock().unlock();
+      }
   }
 
   /**
@@ -248,10 +502,15 @@ public class Course implements Subject {
    * @return list of ungraded assignments
    */
   public List<Assignment> getUngradedAssignments() {
-	  // Filter assignments where not all students have grades
-      return assignments.stream()
-          .filter(a -> !a.isFullyGraded(students))
-          .collect(Collectors.toList());
+	  lock.readLock().lock();
+	  try {
+		  // Filter assignments where not all students have grades
+	      return assignments.stream()
+	          .filter(a -> !a.isFullyGraded(students))
+	          .collect(Collectors.toList());
+	  } finally {
+	  	lock.readLock().unlock();
+	  }
   }
 
   /**
@@ -261,11 +520,64 @@ public class Course implements Subject {
    * @param grade the final grade
    */
   public void assignFinalGrade(Student student, FinalGrade grade) {
-	    finalGrades.put(student, grade);
-	    student.assignFinalGrade(this, grade);  // Sync with student's record
-	    notifyObservers(); // Update UI or dependent components
+	    suspendNotifications();
+	    try {
+		    if (grade == null) {
+		        finalGrades.remove(student); // Concurrent maps hold no nulls; null clears the grade
+		    } else {
+		        finalGrades.put(student, grade);
+		    }
+		    finalGradesDirty = true;
+		    student.assignFinalGrade(this, grade);  // Sync with student's record
+		    notifyObservers(new ChangeEvent.FinalGradeAssigned(this, student, grade)); // Update UI or dependent components
+	    } finally {
+	    	resumeNotifications();
+	    }
 	}
 
+  /**
+   * Assigns every enrolled student the final grade their current average earns
+   * on the given scale. All averages are computed in one statistics pass (in
+   * parallel for large rosters), only grades that differ are written, and
+   * observers receive a single update covering every change.
+   *
+   * @param scale maps an average to a letter grade
+   * @return the statistics used, each student's grade and who changed
+   */
+  public FinalizeSummary finalizeGrades(GradingScale scale) {
+      if (scale == null) {
+          throw new IllegalArgumentException("Grading scale cannot be null");
+      }
+      suspendNotifications(); // Holds the write lock until the update is published
+      try {
+          CourseStats stats = StatisticsEngine.compute(this);
+          Map<Student, FinalGrade> grades = new LinkedHashMap<>();
+          Map<Student, FinalGrade> updates = new LinkedHashMap<>();
+          for (Student student : students) {
+              // The statistics read the live roster, so every enrolled student has an average
+              FinalGrade grade = scale.gradeFor(stats.averages().get(student));
+              grades.put(student, grade);
+              if (finalGrades.get(student) != grade) {
+                  updates.put(student, grade);
+              }
+          }
+
+          // Write both sides in bulk, then record one event per changed student
+          finalGrades.putAll(updates);
+          for (Map.Entry<Student, FinalGrade> update : updates.entrySet()) {
+              update.getKey().assignFinalGrade(this, update.getValue());
+              notifyObservers(new ChangeEvent.FinalGradeAssigned(this, update.getKey(), update.getValue()));
+          }
+          if (!updates.isEmpty()) {
+              finalGradesDirty = true;
+          }
+          return new FinalizeSummary(stats, Collections.unmodifiableMap(grades),
+              List.copyOf(updates.keySet()));
+      } finally {
+          resumeNotifications();
+      }
+  }
+
   /**
    * Gets the final grade of a student.
    *
@@ -273,7 +585,12 @@ public class Course implements Subject {
    * @return final grade or null
    */
   public FinalGrade getFinalGrade(Student student) {
-      return finalGrades.getOrDefault(student, null);
+      lock.readLock().lock();
+      try {
+          return finalGrades.getOrDefault(student, null);
+      } finally {
+          lock.readLock().unlock();
+      }
   }
   
   /**
@@ -288,22 +605,130 @@ public class Course implements Subject {
   
   @Override
   public void addObserver(Observer o) {
-      if (!observers.contains(o)) {
-          observers.add(o);
-      }
+      notifications.addObserver(o);
   }
 
   @Override
   public void removeObserver(Observer o) {
-      observers.remove(o);
+      notifications.removeObserver(o);
   }
 
+  /**
+   * Marks the course as changed. Delivery is immediate unless notifications are
+   * suspended or the dispatcher is configured to coalesce.
+   */
   @Override
   public void notifyObservers() {
-      for (Observer o : observers) {
-          o.update();
+      suspendNotifications(); // Publishes under the write lock, delivers after it
+      try {
+          snapshotStale = true;
+          notifications.markDirty();
+      } finally {
+          resumeNotifications();
       }
   }
+
+  /**
+   * Marks the course as changed with a typed event that observers can use
+   * to patch only what changed.
+   *
+   * @param event what changed
+   */
+  @Override
+  public void notifyObservers(ChangeEvent event) {
+      suspendNotifications(); // Publishes under the write lock, delivers after it
+      try {
+          snapshotStale = true;
+          notifications.markDirty(event);
+      } finally {
+          resumeNotifications();
+      }
+  }
+
+  /**
+   * Starts a suspended scope. The calling thread holds the course's write lock
+   * until the matching resume, so the scope is atomic to other graders. Until the
+   * outermost scope ends, observers are not notified and readers keep seeing the
+   * snapshot published before it began. Every mutator of the course runs in such
+   * a scope, so its observers are called after the lock is released.
+   */
+  @Override
+  public void suspendNotifications() {
+      lock.writeLock().lock();
+      writeDepth++;
+      notifications.suspendNotifications();
+  }
+
+  /**
+   * Ends a suspended scope and releases the write lock taken by the matching
+   * suspend. When the outermost scope ends, the whole batch is published as one
+   * snapshot, the lock is released, and only then are observers notified, so an
+   * observer may wait on another thread that writes to this course. Observers
+   * still run under the lock if the caller holds it outside any scope.
+   */
+  @Override
+  public void resumeNotifications() {
+      if (writeDepth == 0 || !lock.isWriteLockedByCurrentThread()) {
+          notifications.resumeNotifications(); // No scope open on this thread; reports the misuse
+          return;
+      }
+      try {
+          if (--writeDepth == 0) {
+              publishSnapshot();
+          }
+      } finally {
+          lock.writeLock().unlock();
+      }
+      notifications.resumeNotifications(); // Delivers once the outermost scope has ended
+  }
+
+  /**
+   * Gets the lock guarding this course. Callers that need several reads to agree,
+   * or several writes to apply together, hold it around the whole sequence; single
+   * calls on the course already lock for themselves. Lock-free readers use
+   * {@link #getSnapshot()} instead.
+   *
+   * @return the course's reentrant read/write lock
+   */
+  public ReadWriteLock getLock() {
+      return lock;
+  }
+
+  /**
+   * Gets the latest published snapshot of this course. Snapshots are immutable,
+   * so any thread may read one without locking, and a snapshot never shows part
+   * of a suspended batch.
+   *
+   * @return the current snapshot
+   */
+  public CourseSnapshot getSnapshot() {
+      return snapshot;
+  }
+
+  /**
+   * Publishes a new snapshot if anything changed since the last one and no
+   * suspended scope is open. Unchanged parts are shared with the previous snapshot.
+   */
+  void publishSnapshot() {
+      if (writeDepth > 0 || (snapshot != null && !snapshotStale)) {
+          return;
+      }
+      snapshot = CourseSnapshot.next(this, snapshot, dirtyColumns, categoriesDirty,
+          finalGrades, finalGradesDirty, useWeightedGrading);
+      dirtyColumns.clear();
+      snapshotStale = false;
+      categoriesDirty = false;
+      finalGradesDirty = false;
+  }
+
+  /**
+   * Gets the dispatcher that delivers this course's observer notifications.
+   *
+   * @return the notification dispatcher
+   */
+  public NotificationDispatcher getNotificationDispatcher() {
+      return notifications;
+  }
   
   /**
    * Adds a category if total weight does not exceed 100%.
@@ -312,16 +737,28 @@ public class Course implements Subject {
    * @return true if added, false if weight exceeded
    */
 	public boolean addCategory(Category category) {
-	   double currentTotal = categories.stream()
-	           .mapToDouble(Category::getWeight)
-	           .sum();
+	   suspendNotifications();
+	   try {
+		   double currentTotal = categories.stream()
+		           .mapToDouble(Category::getWeight)
+		           .sum();
 	
-	   if (currentTotal + category.getWeight() <= 1.0) {
-	       categories.add(category);
-	       notifyObservers(); // Update views on change
-	       return true;
-	   } else {
-	       return false;
+		   if (currentTotal + category.getWeight() <= 1.0) {
+		       category.attachCourse(this); // Its readers take this course's lock
+		       categories.add(category);
+		       categorySnapshot = null;
+		       totalCategoryWeight += category.getWeight();
+		       for (Assignment assignment : category.assignmentsView()) {
+		           categoryIndex.putIfAbsent(assignment, category);
+		       }
+		       categoryChanged(category); // Include its grades in the running totals
+		       notifyObservers(new ChangeEvent.CategoryChanged(this, category, false)); // Update views on change
+		       return true;
+		   } else {
+		       return false;
+		   }
+	   } finally {
+	   	resumeNotifications();
 	   }
 	}
 	
@@ -332,20 +769,115 @@ public class Course implements Subject {
      * @return true if removed
      */
 	public boolean removeCategory(String name) {
-	   boolean removed = categories.removeIf(c -> c.getName().equalsIgnoreCase(name));
-	   if (removed) {
-	       notifyObservers(); // Update views on change
+	   suspendNotifications();
+	   try {
+		   List<Category> matching = categories.stream()
+		           .filter(c -> c.getName().equalsIgnoreCase(name))
+		           .toList();
+		   boolean removed = categories.removeAll(matching);
+		   if (removed) {
+		       categorySnapshot = null;
+		       // Forget the removed categories in every student's running totals
+		       totalCategoryWeight = categories.stream()
+		               .mapToDouble(Category::getWeight)
+		               .sum();
+		       for (Category category : matching) {
+		           for (StudentTotals totals : studentTotals.values()) {
+		               totals.remove(category);
+		           }
+		           for (Assignment assignment : category.assignmentsView()) {
+		               reindexAssignment(assignment, category);
+		           }
+		           notifyObservers(new ChangeEvent.CategoryChanged(this, category, true)); // Update views on change
+		       }
+		   }
+		   return removed;
+	   } finally {
+	   	resumeNotifications();
 	   }
-	   return removed;
 	}
 	
 	/**
-     * Gets the list of all categories in the course.
+     * Gets the categories as a read-only snapshot, rebuilt only after a change.
      *
-     * @return list of categories
+     * @return unmodifiable list of categories
      */
 	public List<Category> getCategories() {
-	   return new ArrayList<>(categories);
+	   lock.readLock().lock();
+	   try {
+		   List<Category> snapshot = categorySnapshot;
+		   if (snapshot == null) {
+		       snapshot = List.copyOf(categories);
+		       categorySnapshot = snapshot;
+		   }
+		   return snapshot;
+	   } finally {
+	   	lock.readLock().unlock();
+	   }
+	}
+
+	/**
+     * Looks up the category an assignment belongs to.
+     *
+     * @param assignment the assignment to look up
+     * @return its category, or null if it is not in one of this course's categories
+     */
+	public Category getCategoryOf(Assignment assignment) {
+	   lock.readLock().lock();
+	   try {
+		   return categoryIndex.get(assignment);
+	   } finally {
+	   	lock.readLock().unlock();
+	   }
+	}
+
+	/**
+     * Groups the course's categorized assignments by category, in category order.
+     * The lists are read-only views, not copies.
+     *
+     * @return each category mapped to its assignments
+     */
+	public Map<Category, List<Assignment>> getAssignmentsByCategory() {
+	   lock.readLock().lock();
+	   try {
+		   Map<Category, List<Assignment>> grouped = new LinkedHashMap<>();
+		   for (Category category : categories) {
+		       grouped.put(category, category.assignmentsView());
+		   }
+		   return grouped;
+	   } finally {
+	   	lock.readLock().unlock();
+	   }
+	}
+
+	/**
+     * Records that an assignment was added to a category. Only categories that
+     * are part of this course are indexed.
+     *
+     * @param assignment the assignment added
+     * @param category the category it joined
+     */
+	void assignmentCategorized(Assignment assignment, Category category) {
+	   if (categories.contains(category)) {
+	       categoryIndex.putIfAbsent(assignment, category);
+	   }
+	}
+
+	/**
+     * Points an assignment at another of its categories after one was removed,
+     * or drops it from the index if none is left.
+     *
+     * @param assignment the assignment to re-index
+     * @param removed the category that is no longer part of the course
+     */
+	private void reindexAssignment(Assignment assignment, Category removed) {
+	   if (!categoryIndex.remove(assignment, removed)) return;
+	   for (Category category : categories) {
+	       if (category.contains(assignment)) {
+	           categoryIndex.put(assignment, category);
+	           return;
+	       }
+	   }
 	}
 	
 	/**
@@ -354,6 +886,11 @@ public class Course implements Subject {
      * @return number of assignments to drop
      */
 	public int getAssignmentsToDrop() {
-	   return numAssignmentsToDrop;
+	   lock.readLock().lock();
+	   try {
+	       return numAssignmentsToDrop;
+	   } finally {
+	       lock.readLock().unlock();
+	   }
 	}
 }
\ No newline at end of file
@@ -0,0 +1,210 @@
+/**
+ * Project Name: Gradebook
+ * File Name: CourseSnapshot.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: Immutable, versioned view of a course (roster, assignments, categories,
+ *          grade table, final grades and grading mode) as of its last committed change.
+ *          The Course publishes a new snapshot through a volatile reference after every
+ *          committed mutation, reusing every part that did not change, so readers on any
+ *          thread get a consistent picture without locks and never see half a batch.
+ */
+package model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class CourseSnapshot {
+    private final long version;
+    private final Course course;
+    private final String courseName;
+    private final List<Student> students;
+    private final List<Assignment> assignments;
+    private final List<Category> categories;
+    private final Map<Category, CategoryRule> categoryRules;
+    private final boolean weighted;
+    private final Map<Student, FinalGrade> finalGrades;
+    private final int slotCount;
+    private final GradeMatrix.SlotIndex slotIndex;  // student ID -> slot, never written after publish
+    private final GradeMatrix.ColumnSnapshot[] columns; // by column index, never written after publish
+
+    /**
+     * A category's assignments and drop rule as of the snapshot.
+     *
+     * @param assignments the assignments in the category
+     * @param dropLowestCount how many lowest grades are dropped
+     */
+    public record CategoryRule(List<Assignment> assignments, int dropLowestCount) {}
+
+    /**
+     * Constructs a snapshot from parts that are already immutable.
+     */
+    private CourseSnapshot(long version, Course course, List<Student> students,
+                           List<Assignment> assignments, List<Category> categories,
+                           Map<Category, CategoryRule> categoryRules, boolean weighted,
+                           Map<Student, FinalGrade> finalGrades, int slotCount, GradeMatrix.SlotIndex slotIndex,
+                           GradeMatrix.ColumnSnapshot[] columns) {
+        this.version = version;
+        this.course = course;
+        this.courseName = course.getCourseName();
+        this.students = students;
+        this.assignments = assignments;
+        this.categories = categories;
+        this.categoryRules = categoryRules;
+        this.weighted = weighted;
+        this.finalGrades = finalGrades;
+        this.slotCount = slotCount;
+        this.slotIndex = slotIndex;
+        this.columns = columns;
+    }
+
+    /**
+     * Builds the next snapshot of a course, copying only what changed since the previous one.
+     * Called by the course on its writer thread.
+     * @param course the course being published
+     * @param previous the last published snapshot, or null for the first
+     * @param dirtyColumns columns written since the previous snapshot
+     * @param categoriesChanged true if category membership or drop rules changed
+     * @param finalGrades the course's live final grades
+     * @param finalGradesChanged true if final grades changed
+     * @param weighted the current grading mode
+     * @return the new snapshot
+     */
+    static CourseSnapshot next(Course course, CourseSnapshot previous,
+                               Iterable<GradeMatrix.Column> dirtyColumns, boolean categoriesChanged,
+                               Map<Student, FinalGrade> finalGrades, boolean finalGradesChanged,
+                               boolean weighted) {
+        GradeMatrix matrix = course.getGradeMatrix();
+        List<Category> categories = course.getCategories();
+
+        // Slots only change when a student is graded in this course for the first time
+        int slotCount = matrix.getSlotCount();
+        GradeMatrix.SlotIndex slotIndex = previous != null && previous.slotCount == slotCount
+            ? previous.slotIndex : matrix.copySlotIndex();
+
+        // Share unchanged column copies; copy only the columns written since last time
+        List<GradeMatrix.Column> live = matrix.getColumns();
+        GradeMatrix.ColumnSnapshot[] columns = previous == null
+            ? new GradeMatrix.ColumnSnapshot[live.size()] : Arrays.copyOf(previous.columns, live.size());
+        for (int i = previous == null ? 0 : previous.columns.length; i < live.size(); i++) {
+            columns[i] = live.get(i).snapshot(slotCount); // columns added since last time
+        }
+        for (GradeMatrix.Column column : dirtyColumns) {
+            columns[column.getIndex()] = column.snapshot(slotCount);
+        }
+
+        Map<Category, CategoryRule> rules;
+        if (previous == null || categoriesChanged || previous.categories != categories) {
+            rules = new HashMap<>();
+            for (Category category : categories) {
+                rules.put(category, new CategoryRule(List.copyOf(category.assignmentsView()), category.getDropLowestCount()));
+            }
+            rules = Collections.unmodifiableMap(rules);
+        } else {
+            rules = previous.categoryRules;
+        }
+
+        Map<Student, FinalGrade> finals = previous == null || finalGradesChanged
+            ? Map.copyOf(finalGrades) : previous.finalGrades;
+
+        return new CourseSnapshot(previous == null ? 0 : previous.version + 1, course,
+            course.getStudents(), course.getAssignments(), categories, rules, weighted,
+            finals, slotCount, slotIndex, columns);
+    }
+
+    /**
+     * Gets the version, which increases by one with every published change.
+     * @return snapshot version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the course name.
+     * @return course name
+     */
+    public String getCourseName() {
+        return courseName;
+    }
+
+    /**
+     * Gets the enrolled students.
+     * @return unmodifiable roster
+     */
+    public List<Student> getStudents() {
+        return students;
+    }
+
+    /**
+     * Gets the course assignments.
+     * @return unmodifiable assignment list
+     */
+    public List<Assignment> getAssignments() {
+        return assignments;
+    }
+
+    /**
+     * Gets the grading categories.
+     * @return unmodifiable category list
+     */
+    public List<Category> getCategories() {
+        return categories;
+    }
+
+    /**
+     * Gets a category's assignments and drop rule as of this snapshot.
+     * @param category the category
+     * @return its rule, or null if the category is not part of the course
+     */
+    public CategoryRule getCategoryRule(Category category) {
+        return categoryRules.get(category);
+    }
+
+    /**
+     * Checks whether weighted grading was active.
+     * @return true for weighted categories, false for total points
+     */
+    public boolean isWeightedGrading() {
+        return weighted;
+    }
+
+    /**
+     * Gets a student's grade on an assignment.
+     * @param assignment the assignment
+     * @param student the student
+     * @return the grade, or null if not graded
+     */
+    public Grade getGrade(Assignment assignment, Student student) {
+        if (assignment.getCourse() != course) {
+            return null;
+        }
+        // A probe of the int slot table and an array read; no object is hashed
+        int columnIndex = assignment.getColumn().getIndex();
+        int slot = slotIndex.get(student.findIdIn(course.getIdRegistry()));
+        if (columnIndex >= columns.length || !columns[columnIndex].isGraded(slot)) {
+            return null;
+        }
+        GradeMatrix.ColumnSnapshot column = columns[columnIndex];
+        return Grade.ofHundredths(column.get(slot), assignment.getMaxHundredths());
+    }
+
+    /**
+     * Gets a student's final grade.
+     * @param student the student
+     * @return the final grade, or null if none assigned
+     */
+    public FinalGrade getFinalGrade(Student student) {
+        return finalGrades.get(student);
+    }
+
+    /**
+     * Gets all final grades.
+     * @return unmodifiable map of student to final grade
+     */
+    public Map<Student, FinalGrade> getFinalGrades() {
+        return finalGrades;
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * Project Name: Gradebook
+ * File Name: CourseStats.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: Immutable snapshot of class-wide statistics for one course, produced in a
+ *          single pass over the roster by the StatisticsEngine.
+ */
+package model;
+
+import java.util.Map;
+
+/**
+ * Class-wide statistics over every enrolled student's current average.
+ *
+ * @param count number of students included
+ * @param mean mean of the student averages
+ * @param median median of the student averages
+ * @param standardDeviation population standard deviation of the averages
+ * @param min lowest student average
+ * @param max highest student average
+ * @param letterDistribution how many students fall into each letter grade
+ * @param averages each student's average, in roster order
+ */
+public record CourseStats(int count, double mean, double median, double standardDeviation,
+                          double min, double max, Map<FinalGrade, Integer> letterDistribution,
+                          Map<Student, Double> averages) {
+
+    /**
+     * Gets the average computed for one student.
+     * @param student the student to look up
+     * @return the student's average, or 0.0 if they were not in the roster
+     */
+    public double averageOf(Student student) {
+        return averages.getOrDefault(student, 0.0);
+    }
+
+    /**
+     * Gets the number of students whose average maps to a letter grade.
+     * @param grade the letter grade
+     * @return the number of students in that band
+     */
+    public int countOf(FinalGrade grade) {
+        return letterDistribution.getOrDefault(grade, 0);
+    }
+}
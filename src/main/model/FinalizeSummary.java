@@ -0,0 +1,40 @@
+/**
+ * Project Name: Gradebook
+ * File Name: FinalizeSummary.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: Result of finalizing a course: the statistics the grades were computed
+ *          from, the grade every student ended up with, and which students' grades
+ *          actually changed.
+ */
+package model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What one call to {@link Course#finalizeGrades(GradingScale)} did.
+ *
+ * @param statistics class statistics computed in the same pass as the grades
+ * @param grades each enrolled student's final grade, in roster order
+ * @param changed the students whose final grade was missing or different before
+ */
+public record FinalizeSummary(CourseStats statistics, Map<Student, FinalGrade> grades,
+                              List<Student> changed) {
+
+    /**
+     * Gets the number of students whose final grade changed.
+     * @return changed count
+     */
+    public int changedCount() {
+        return changed.size();
+    }
+
+    /**
+     * Gets the final grade assigned to one student.
+     * @param student the student to look up
+     * @return the grade, or null if the student was not on the roster
+     */
+    public FinalGrade gradeOf(Student student) {
+        return grades.get(student);
+    }
+}
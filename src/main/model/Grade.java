@@ -4,20 +4,31 @@
  * Course: CSC 335 Spring 2025  
  * Purpose: Represents a grade for an assignment, storing points earned and max possible points.  
  *          Provides percentage calculation and access to grade components.  
+ *          Both values are held as exact hundredths of a point (see Score).
  */
 package model;
 
 public class Grade {
-    private final double pointsReceived;
-    private final double maxPoints;
+    private final int pointsReceived; // hundredths of a point
+    private final int maxPoints;      // hundredths of a point
 
     /**
-     * Constructs a Grade object.
+     * Constructs a Grade object. Values are rounded to the nearest hundredth of a point.
      * @param pointsReceived Points earned by the student (must be ≥ 0 and ≤ maxPoints)
      * @param maxPoints Maximum possible points for the assignment (must be > 0)
      * @throws IllegalArgumentException if values are invalid
      */
     public Grade(double pointsReceived, double maxPoints) {
+        this(Score.toHundredths(pointsReceived), Score.toHundredths(maxPoints));
+    }
+
+    /**
+     * Constructs a Grade from fixed-point values.
+     * @param pointsReceived hundredths earned (must be ≥ 0 and ≤ maxPoints)
+     * @param maxPoints hundredths possible (must be > 0)
+     * @throws IllegalArgumentException if values are invalid
+     */
+    private Grade(int pointsReceived, int maxPoints) {
         if (maxPoints <= 0) {
             throw new IllegalArgumentException("Max points must be positive");
         }
@@ -28,12 +39,23 @@ public class Grade {
         this.maxPoints = maxPoints;
     }
 
+    /**
+     * Creates a Grade from values already in hundredths of a point.
+     * @param pointsReceived hundredths earned
+     * @param maxPoints hundredths possible
+     * @return the grade
+     * @throws IllegalArgumentException if values are invalid
+     */
+    public static Grade ofHundredths(int pointsReceived, int maxPoints) {
+        return new Grade(pointsReceived, maxPoints);
+    }
+
     /**
      * Calculates the percentage score.
      * @return Percentage (0.0 to 100.0)
      */
     public double getPercentage() {
-        return (pointsReceived / maxPoints) * 100.0;
+        return Score.percentage(pointsReceived, maxPoints);
     }
 
     /**
@@ -41,7 +63,7 @@ public class Grade {
      * @return Points received (always ≤ maxPoints)
      */
     public double getPointsReceived() {
-        return pointsReceived;
+        return Score.toPoints(pointsReceived);
     }
 
     /**
@@ -49,6 +71,22 @@ public class Grade {
      * @return Max points for the assignment
      */
     public double getMaxPoints() {
+        return Score.toPoints(maxPoints);
+    }
+
+    /**
+     * Gets the points earned in fixed point.
+     * @return hundredths of a point received
+     */
+    public int getPointsHundredths() {
+        return pointsReceived;
+    }
+
+    /**
+     * Gets the maximum points in fixed point.
+     * @return hundredths of a point possible
+     */
+    public int getMaxHundredths() {
         return maxPoints;
     }
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+/**
+ * Project Name: Gradebook
+ * File Name: GradeBatch.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: Collects many grade entries for one course and applies them together.
+ *          Every entry is validated before any is written, so a batch is applied
+ *          completely or not at all, and observers are notified exactly once.
+ */
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GradeBatch {
+    private final Course course;
+    private final List<Entry> entries;
+    private boolean committed;
+
+    /**
+     * Constructs an empty batch. Obtain one through {@link Course#beginGradeBatch()}.
+     * @param course the course whose assignments will be graded
+     */
+    GradeBatch(Course course) {
+        this.course = course;
+        this.entries = new ArrayList<>();
+        this.committed = false;
+    }
+
+    /**
+     * Queues a grade. Nothing is written until {@link #commit()}.
+     * @param assignment the assignment being graded
+     * @param student the student receiving the grade
+     * @param points points earned
+     * @return this batch, for chaining
+     * @throws IllegalStateException if the batch was already committed
+     */
+    public GradeBatch add(Assignment assignment, Student student, double points) {
+        if (committed) {
+            throw new IllegalStateException("Batch already committed");
+        }
+        entries.add(new Entry(assignment, student, points));
+        return this;
+    }
+
+    /**
+     * Gets the number of queued entries.
+     * @return entry count
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Validates every entry, then writes them all and sends one notification.
+     * If any entry is invalid nothing is written.
+     * @throws IllegalArgumentException if an entry is invalid
+     * @throws IllegalStateException if the batch was already committed
+     */
+    public void commit() {
+        if (committed) {
+            throw new IllegalStateException("Batch already committed");
+        }
+        // The suspended scope holds the course's write lock, so no other grader can
+        // change enrollment between validating and applying
+        course.suspendNotifications();
+        try {
+            // First pass: validate everything before touching the grade matrix
+            for (Entry entry : entries) {
+                validate(entry);
+            }
+            committed = true;
+            // Second pass: apply, delivering every change as one notification
+            for (Entry entry : entries) {
+                entry.assignment().storePoints(entry.student(), entry.points());
+                course.notifyObservers(new ChangeEvent.GradeChanged(course, entry.assignment(), entry.student(),
+                    Score.toHundredths(entry.points())));
+            }
+        } finally {
+            course.resumeNotifications();
+        }
+    }
+
+    /**
+     * Checks a single entry against the course and the assignment's point range.
+     * @param entry the entry to check
+     * @throws IllegalArgumentException if the entry is invalid
+     */
+    private void validate(Entry entry) {
+        if (entry.assignment() == null || entry.student() == null) {
+            throw new IllegalArgumentException("Assignment and student cannot be null");
+        }
+        if (entry.assignment().getCourse() != course) {
+            throw new IllegalArgumentException("Assignment " + entry.assignment().getTitle()
+                + " does not belong to " + course.getCourseName());
+        }
+        try {
+            entry.assignment().validatePoints(entry.points());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid grade for " + entry.student().getUsername()
+                + " on " + entry.assignment().getTitle() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * One queued grade.
+     */
+    private record Entry(Assignment assignment, Student student, double points) {}
+}
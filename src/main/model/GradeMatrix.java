@@ -0,0 +1,450 @@
+/**
+ * Project Name: Gradebook
+ * File Name: GradeMatrix.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: Columnar grade store owned by a Course. Every student who receives a grade
+ *          gets a dense slot number, and every assignment owns one column holding a
+ *          primitive int array of points (in hundredths, see Score) indexed by slot
+ *          plus a "graded" bitmap.
+ *          Assignment, Student and Category read and write grades through it instead
+ *          of keeping their own Grade maps. Slots are found through a compact
+ *          open-addressing table keyed by the student's int ID in the course's
+ *          registry, sized to this course's roster rather than to every ID ever
+ *          handed out, so no lookup hashes a Student or allocates. The column of a removed assignment is
+ *          retired rather than dropped, keeping column indexes stable, and each slot
+ *          keeps a count of its grades in live columns.
+ */
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+final class GradeMatrix {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final IdRegistry ids; // the course's registry, which keys slotById
+    private SlotIndex slotById; // student ID -> slot
+    private Student[] slotStudents;
+    private int[] liveGrades; // per slot, graded cells in columns that are not retired
+    private int slotCount;
+    private final List<Column> columns;
+
+    /**
+     * Constructs an empty matrix with no students and no columns.
+     * @param ids the registry the course's student IDs come from
+     */
+    GradeMatrix(IdRegistry ids) {
+        this.ids = ids;
+        this.slotById = new SlotIndex(INITIAL_CAPACITY);
+        this.slotStudents = new Student[INITIAL_CAPACITY];
+        this.liveGrades = new int[INITIAL_CAPACITY];
+        this.slotCount = 0;
+        this.columns = new ArrayList<>();
+    }
+
+    /**
+     * Adds a column for a newly created assignment.
+     * @param assignment the assignment that owns the column
+     * @return the new, empty column
+     */
+    Column addColumn(Assignment assignment) {
+        Column column = new Column(this, assignment, columns.size(), slotStudents.length);
+        columns.add(column);
+        return column;
+    }
+
+    /**
+     * Looks up a student's slot without allocating one.
+     * @param student the student to look up
+     * @return the slot number, or -1 if the student has never been graded here
+     */
+    int slotOf(Student student) {
+        int id = student.findIdIn(ids);
+        return id < 0 ? -1 : slotById.get(id);
+    }
+
+    /**
+     * Returns the student's slot, allocating the next dense slot on first use.
+     * @param student the student being graded
+     * @return the slot number
+     */
+    int slotFor(Student student) {
+        int slot = slotOf(student);
+        if (slot >= 0) {
+            return slot;
+        }
+        if (slotCount == slotStudents.length) {
+            // Grow the roster index and every column together
+            int capacity = slotStudents.length * 2;
+            slotStudents = Arrays.copyOf(slotStudents, capacity);
+            liveGrades = Arrays.copyOf(liveGrades, capacity);
+            for (Column column : columns) {
+                column.ensureCapacity(capacity);
+            }
+        }
+        int newSlot = slotCount++;
+        slotById.put(student.idIn(ids), newSlot);
+        slotStudents[newSlot] = student;
+        student.attachMatrix(this);
+        return newSlot;
+    }
+
+    /**
+     * Gets the student stored in a slot.
+     * @param slot the slot number
+     * @return the student in that slot
+     */
+    Student studentAt(int slot) {
+        return slotStudents[slot];
+    }
+
+    /**
+     * Counts a slot's grades in columns that are not retired.
+     * @param slot the student slot (may be -1 for "no slot")
+     * @return the number of live graded cells in the slot's row
+     */
+    int getLiveGradeCount(int slot) {
+        return slot >= 0 && slot < slotCount ? liveGrades[slot] : 0;
+    }
+
+    /**
+     * Retires the column of an assignment removed from the course. Its cells are
+     * kept, so the assignment still answers for its own grades, but student rows
+     * no longer count or list them.
+     * @param column the column to retire
+     */
+    void retireColumn(Column column) {
+        if (!column.retired) {
+            column.retired = true;
+            adjustLiveGrades(column, -1);
+        }
+    }
+
+    /**
+     * Brings back a retired column when its assignment is added to the course again.
+     * @param column the column to revive
+     */
+    void reviveColumn(Column column) {
+        if (column.retired) {
+            column.retired = false;
+            adjustLiveGrades(column, 1);
+        }
+    }
+
+    /**
+     * Adds a delta to the live count of every slot graded in a column.
+     * @param column the column
+     * @param delta +1 or -1
+     */
+    private void adjustLiveGrades(Column column, int delta) {
+        for (int slot = column.nextGraded(0); slot >= 0; slot = column.nextGraded(slot + 1)) {
+            liveGrades[slot] += delta;
+        }
+    }
+
+    /**
+     * Gets the number of slots handed out so far.
+     * @return slot count
+     */
+    int getSlotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Copies the ID-to-slot index for a published snapshot.
+     * @return a copy of the index that is never written again
+     */
+    SlotIndex copySlotIndex() {
+        return slotById.copy();
+    }
+
+    /**
+     * Gets every column in creation order.
+     * @return the columns of this matrix
+     */
+    List<Column> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Maps student IDs to slots with linear probing over two parallel int arrays.
+     * The table holds at most half its capacity, so its size follows the number
+     * of slots in this matrix however large the IDs are.
+     */
+    static final class SlotIndex {
+        private int[] keys; // student ID + 1; 0 marks an empty entry
+        private int[] slots;
+        private int size;
+
+        /**
+         * Constructs an empty index.
+         * @param capacity initial table size, a power of two
+         */
+        private SlotIndex(int capacity) {
+            this.keys = new int[capacity];
+            this.slots = new int[capacity];
+            this.size = 0;
+        }
+
+        /**
+         * Constructs a copy of another index.
+         * @param other the index to copy
+         */
+        private SlotIndex(SlotIndex other) {
+            this.keys = other.keys.clone();
+            this.slots = other.slots.clone();
+            this.size = other.size;
+        }
+
+        /**
+         * Looks up the slot for a student ID.
+         * @param id the student ID
+         * @return the slot, or -1 if the ID has none
+         */
+        int get(int id) {
+            int mask = keys.length - 1;
+            for (int i = hash(id) & mask; keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == id + 1) {
+                    return slots[i];
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Records the slot of an ID that has none yet, doubling the table when half full.
+         * @param id the student ID
+         * @param slot the slot
+         */
+        private void put(int id, int slot) {
+            if ((size + 1) * 2 > keys.length) {
+                int[] oldKeys = keys;
+                int[] oldSlots = slots;
+                keys = new int[oldKeys.length * 2];
+                slots = new int[oldKeys.length * 2];
+                for (int i = 0; i < oldKeys.length; i++) {
+                    if (oldKeys[i] != 0) {
+                        insert(oldKeys[i], oldSlots[i]);
+                    }
+                }
+            }
+            insert(id + 1, slot);
+            size++;
+        }
+
+        /**
+         * Places a key in the first free entry of its probe sequence.
+         * @param key the student ID + 1
+         * @param slot the slot
+         */
+        private void insert(int key, int slot) {
+            int mask = keys.length - 1;
+            int i = hash(key - 1) & mask;
+            while (keys[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            slots[i] = slot;
+        }
+
+        /**
+         * Copies this index for a snapshot.
+         * @return the copy
+         */
+        private SlotIndex copy() {
+            return new SlotIndex(this);
+        }
+
+        /**
+         * Spreads consecutive IDs across the table.
+         * @param id the student ID
+         * @return the mixed hash
+         */
+        private static int hash(int id) {
+            int h = id * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+
+    /**
+     * One assignment's grades: points per student slot and a bitmap of graded slots.
+     */
+    static final class Column {
+        private final GradeMatrix matrix;
+        private final Assignment assignment;
+        private final int index;
+        private int[] points; // hundredths of a point
+        private long[] graded;
+        private int gradedCount;
+        private boolean retired; // assignment removed from the course
+
+        /**
+         * Constructs an empty column.
+         * @param matrix the matrix holding the column
+         * @param assignment the owning assignment
+         * @param index position of the column in the matrix
+         * @param capacity initial number of slots
+         */
+        private Column(GradeMatrix matrix, Assignment assignment, int index, int capacity) {
+            this.matrix = matrix;
+            this.assignment = assignment;
+            this.index = index;
+            this.points = new int[capacity];
+            this.graded = new long[(capacity + 63) >>> 6];
+            this.gradedCount = 0;
+        }
+
+        /**
+         * Grows the column to hold at least the given number of slots.
+         * @param capacity required number of slots
+         */
+        private void ensureCapacity(int capacity) {
+            if (points.length < capacity) {
+                points = Arrays.copyOf(points, capacity);
+                graded = Arrays.copyOf(graded, (capacity + 63) >>> 6);
+            }
+        }
+
+        /**
+         * Checks whether a slot holds a grade.
+         * @param slot the student slot (may be -1 for "no slot")
+         * @return true if graded
+         */
+        boolean isGraded(int slot) {
+            return slot >= 0 && slot < points.length && (graded[slot >>> 6] & (1L << slot)) != 0;
+        }
+
+        /**
+         * Gets the points stored in a slot. Only meaningful if {@link #isGraded(int)}.
+         * @param slot the student slot
+         * @return hundredths of a point received
+         */
+        int get(int slot) {
+            return points[slot];
+        }
+
+        /**
+         * Stores points in a slot and marks it graded.
+         * @param slot the student slot
+         * @param value hundredths of a point received
+         */
+        void set(int slot, int value) {
+            ensureCapacity(slot + 1);
+            long bit = 1L << slot;
+            if ((graded[slot >>> 6] & bit) == 0) {
+                graded[slot >>> 6] |= bit;
+                gradedCount++;
+                if (!retired) {
+                    matrix.liveGrades[slot]++;
+                }
+            }
+            points[slot] = value;
+        }
+
+        /**
+         * Checks whether the column's assignment was removed from the course.
+         * @return true if retired
+         */
+        boolean isRetired() {
+            return retired;
+        }
+
+        /**
+         * Gets the number of graded slots.
+         * @return graded count
+         */
+        int getGradedCount() {
+            return gradedCount;
+        }
+
+        /**
+         * Gets the next graded slot at or after the given one, for bitmap iteration.
+         * @param from first slot to check
+         * @return the next graded slot, or -1 if none
+         */
+        int nextGraded(int from) {
+            int word = from >>> 6;
+            if (word >= graded.length) {
+                return -1;
+            }
+            long bits = graded[word] & (-1L << from);
+            while (true) {
+                if (bits != 0) {
+                    return (word << 6) + Long.numberOfTrailingZeros(bits);
+                }
+                if (++word == graded.length) {
+                    return -1;
+                }
+                bits = graded[word];
+            }
+        }
+
+        /**
+         * Gets the assignment that owns this column.
+         * @return the assignment
+         */
+        Assignment getAssignment() {
+            return assignment;
+        }
+
+        /**
+         * Gets the column's position in the matrix, a dense per-course index.
+         * @return the column index
+         */
+        int getIndex() {
+            return index;
+        }
+
+        /**
+         * Copies the used part of this column for a published snapshot.
+         * @param slotCount number of slots handed out so far
+         * @return an immutable copy of the column
+         */
+        ColumnSnapshot snapshot(int slotCount) {
+            int length = Math.min(slotCount, points.length);
+            return new ColumnSnapshot(Arrays.copyOf(points, length),
+                Arrays.copyOf(graded, (length + 63) >>> 6), length);
+        }
+    }
+
+    /**
+     * Immutable copy of one column. Shared between course snapshots until the
+     * column is written again.
+     */
+    static final class ColumnSnapshot {
+        private final int[] points;
+        private final long[] graded;
+        private final int length;
+
+        /**
+         * Constructs a snapshot over arrays that are never written again.
+         * @param points hundredths per slot
+         * @param graded graded bitmap
+         * @param length number of slots covered
+         */
+        private ColumnSnapshot(int[] points, long[] graded, int length) {
+            this.points = points;
+            this.graded = graded;
+            this.length = length;
+        }
+
+        /**
+         * Checks whether a slot held a grade.
+         * @param slot the student slot
+         * @return true if graded
+         */
+        boolean isGraded(int slot) {
+            return slot >= 0 && slot < length && (graded[slot >>> 6] & (1L << slot)) != 0;
+        }
+
+        /**
+         * Gets the points stored in a slot. Only meaningful if {@link #isGraded(int)}.
+         * @param slot the student slot
+         * @return hundredths of a point received
+         */
+        int get(int slot) {
+            return points[slot];
+        }
+    }
+}
@@ -10,31 +10,36 @@
 package model;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class GradebookModel implements Subject {
-    private final Map<String, Student> students;
-    private final Map<String, Teacher> teachers;
+    private final UserIdentityMap users;
     private final Map<String, Course> courses;
-    private final List<Observer> observers = new ArrayList<>();
+    private final NotificationDispatcher notifications = new NotificationDispatcher();
+    private final IdRegistry ids = new IdRegistry();
 
     /**
-     * Constructor initializes internal data structures.
+     * Constructor initializes internal data structures. The registries are
+     * concurrent so several graders can look up and register entries at once;
+     * each course guards its own state with its own lock.
      */
     public GradebookModel() {
-        this.students = new HashMap<>();
-        this.teachers = new HashMap<>();
-        this.courses = new HashMap<>();
+        this.users = new UserIdentityMap();
+        this.courses = new ConcurrentHashMap<>();
     }
 
     /**
-     * Adds a new student to the system.
+     * Adds a new student to the system. If a student with the same username is
+     * already known, that instance stays canonical and {@code s} is ignored.
+     * Observers are told about students that are new to the gradebook.
      * @param s the student to add
      */
     public void addStudent(Student s) {
-        students.put(s.getUsername(), s);
+        if (users.findStudent(s.getUsername()) == null && users.canonical(s) == s) {
+            notifyObservers(new ChangeEvent.UserAdded(s));
+        }
     }
 
     /**
@@ -43,7 +48,7 @@ public class GradebookModel implements Subject {
      * @return the matching Student object or null
      */
     public Student getStudentByUsername(String username) {
-        return students.get(username);
+        return users.findStudent(username);
     }
 
     /**
@@ -52,15 +57,19 @@ public class GradebookModel implements Subject {
      * @return true if the student exists
      */
     public boolean studentExists(String username) {
-        return students.containsKey(username);
+        return users.findStudent(username) != null;
     }
 
     /**
-     * Adds a new teacher to the system.
+     * Adds a new teacher to the system. If a teacher with the same username is
+     * already known, that instance stays canonical and {@code t} is ignored.
+     * Observers are told about teachers that are new to the gradebook.
      * @param t the teacher to add
      */
     public void addTeacher(Teacher t) {
-        teachers.put(t.getUsername(), t);
+        if (users.findTeacher(t.getUsername()) == null && users.canonical(t) == t) {
+            notifyObservers(new ChangeEvent.UserAdded(t));
+        }
     }
 
     /**
@@ -69,7 +78,7 @@ public class GradebookModel implements Subject {
      * @return the matching Teacher object or null
      */
     public Teacher getTeacherByUsername(String username) {
-        return teachers.get(username);
+        return users.findTeacher(username);
     }
 
     /**
@@ -78,7 +87,7 @@ public class GradebookModel implements Subject {
      * @return true if the teacher exists
      */
     public boolean teacherExists(String username) {
-        return teachers.containsKey(username);
+        return users.findTeacher(username) != null;
     }
 
     /**
@@ -87,7 +96,9 @@ public class GradebookModel implements Subject {
      */
     public void addCourse(Course c) {
         courses.put(c.getCourseName(), c);
-        notifyObservers();  // Notify listeners 
+        // Courses deliver notifications the same way the model does
+        c.getNotificationDispatcher().copySettingsFrom(notifications);
+        notifyObservers(new ChangeEvent.CourseAdded(c));  // Notify listeners 
     }
 
     /**
@@ -114,26 +125,8 @@ public class GradebookModel implements Subject {
      * @return median score or 0.0 if no grades
      */
     public double calculateAssignmentMedian(Course course, Assignment assignment) {
-        List<Double> scores = new ArrayList<>();
-
-        // Collect all student scores
-        for (Student student : course.getStudents()) {
-            Grade grade = assignment.getGrade(student);
-            if (grade != null) {
-                scores.add(grade.getPointsReceived());
-            }
-        }
-
-        if (scores.isEmpty()) return 0.0; // Handle no grades case
-
-        scores.sort(Double::compareTo); // Sort scores for median
-
-        int size = scores.size();
-        if (size % 2 == 1) {
-            return scores.get(size / 2);  // Odd count = middle value
-        } else {
-            return (scores.get(size / 2 - 1) + scores.get(size / 2)) / 2.0;
-        }
+        // The assignment keeps its enrolled students' scores sorted as grades change
+        return assignment.getMedianScore();
     }
     
     /**
@@ -142,8 +135,8 @@ public class GradebookModel implements Subject {
      */
     public List<User> getAllUsers() {
         List<User> all = new ArrayList<>();
-        all.addAll(students.values());
-        all.addAll(teachers.values());
+        all.addAll(users.getStudents());
+        all.addAll(users.getTeachers());
         return all;
     }
 
@@ -153,7 +146,7 @@ public class GradebookModel implements Subject {
      */
     @Override
     public void addObserver(Observer o) {
-        observers.add(o);
+        notifications.addObserver(o);
     }
 
     /**
@@ -162,16 +155,69 @@ public class GradebookModel implements Subject {
      */
     @Override
     public void removeObserver(Observer o) {
-        observers.remove(o);
+        notifications.removeObserver(o);
     }
 
     /**
-     * Notifies all registered observers of updates.
+     * Notifies all registered observers of updates, coalescing them if
+     * notifications are suspended or delivery is deferred.
      */
     @Override
     public void notifyObservers() {
-        for (Observer o : observers) {
-            o.update();
-        }
+        notifications.markDirty();
+    }
+
+    /**
+     * Notifies observers of one specific change.
+     * @param event what changed
+     */
+    @Override
+    public void notifyObservers(ChangeEvent event) {
+        notifications.markDirty(event);
+    }
+
+    /**
+     * Starts a scope in which model changes are recorded but not delivered.
+     */
+    @Override
+    public void suspendNotifications() {
+        notifications.suspendNotifications();
+    }
+
+    /**
+     * Ends a suspended scope, delivering one update if anything changed.
+     */
+    @Override
+    public void resumeNotifications() {
+        notifications.resumeNotifications();
+    }
+
+    /**
+     * Gets the identity map holding the one canonical instance of each user.
+     * Loaders and importers resolve users through it so that every part of the
+     * application shares the same Student and Teacher objects.
+     * @return the user identity map
+     */
+    public UserIdentityMap getIdentityMap() {
+        return users;
+    }
+
+    /**
+     * Gets this model's registry of dense int IDs. Courses built for the model
+     * pass it to {@link Course#Course(String, IdRegistry)}, so their students
+     * and assignments share one ID space. Students with the same username share an ID.
+     * @return the ID registry
+     */
+    public IdRegistry getIdRegistry() {
+        return ids;
+    }
+
+    /**
+     * Gets the dispatcher that delivers model notifications. Its delivery
+     * executor and quiet period are copied to courses added afterwards.
+     * @return the notification dispatcher
+     */
+    public NotificationDispatcher getNotificationDispatcher() {
+        return notifications;
     }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+/**
+ * Project Name: Gradebook
+ * File Name: GradingScale.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: Maps a course average to a final letter grade. Passed to
+ *          Course.finalizeGrades so a course can be finalized on the standard
+ *          90/80/70/60 cutoffs or on a curve of the teacher's choosing.
+ */
+package model;
+
+@FunctionalInterface
+public interface GradingScale {
+
+    /** The standard scale: 90 and above is an A, 80 a B, 70 a C, 60 a D. */
+    GradingScale STANDARD = FinalGrade::getLetterGrade;
+
+    /**
+     * Gets the letter grade for an average.
+     * @param percentage the student's course average (0-100)
+     * @return the final grade
+     */
+    FinalGrade gradeFor(double percentage);
+}
@@ -0,0 +1,97 @@
+/**
+ * Project Name: Gradebook
+ * File Name: IdRegistry.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: Hands out dense, stable int IDs for students, courses and assignments.
+ *          Students are keyed by username, so every Student object with the same
+ *          username gets the same ID; courses and assignments get the next ID when
+ *          they are constructed. Each GradebookModel owns one registry shared by the
+ *          courses built for it, and a course built on its own gets a private one,
+ *          so IDs are only meaningful within the registry that handed them out.
+ *          Internal structures index arrays by these IDs instead of hashing objects.
+ */
+package model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class IdRegistry {
+    private final Map<String, Integer> studentIds;
+    private final AtomicInteger nextStudentId;
+    private final AtomicInteger nextCourseId;
+    private final AtomicInteger nextAssignmentId;
+
+    /**
+     * Constructs an empty registry. IDs start at 0 for each kind.
+     */
+    IdRegistry() {
+        this.studentIds = new ConcurrentHashMap<>();
+        this.nextStudentId = new AtomicInteger();
+        this.nextCourseId = new AtomicInteger();
+        this.nextAssignmentId = new AtomicInteger();
+    }
+
+    /**
+     * Gets the ID for a username, assigning the next one on first use.
+     * @param username the student's username
+     * @return the student ID, the same for every call with an equal username
+     * @throws IllegalArgumentException if the username is null
+     */
+    public int studentId(String username) {
+        if (username == null) {
+            throw new IllegalArgumentException("Username cannot be null");
+        }
+        return studentIds.computeIfAbsent(username, u -> nextStudentId.getAndIncrement());
+    }
+
+    /**
+     * Looks up a username's ID without assigning one.
+     * @param username the username to look up
+     * @return the student ID, or -1 if no student with that username exists
+     */
+    public int findStudentId(String username) {
+        Integer id = username == null ? null : studentIds.get(username);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Assigns the next course ID.
+     * @return a new course ID
+     */
+    int nextCourseId() {
+        return nextCourseId.getAndIncrement();
+    }
+
+    /**
+     * Assigns the next assignment ID.
+     * @return a new assignment ID
+     */
+    int nextAssignmentId() {
+        return nextAssignmentId.getAndIncrement();
+    }
+
+    /**
+     * Gets the number of student IDs handed out, i.e. one more than the largest.
+     * @return student ID count
+     */
+    public int getStudentIdCount() {
+        return nextStudentId.get();
+    }
+
+    /**
+     * Gets the number of course IDs handed out.
+     * @return course ID count
+     */
+    public int getCourseIdCount() {
+        return nextCourseId.get();
+    }
+
+    /**
+     * Gets the number of assignment IDs handed out.
+     * @return assignment ID count
+     */
+    public int getAssignmentIdCount() {
+        return nextAssignmentId.get();
+    }
+}
@@ -0,0 +1,293 @@
+/**
+ * Project Name: Gradebook
+ * File Name: NotificationDispatcher.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: Delivers observer notifications for a Subject. A change only marks the
+ *          subject dirty; one coalesced update is then delivered right away, when a
+ *          suspended scope ends, on the next run of a delivery executor (e.g. the
+ *          next JavaFX pulse), or after a quiet period with no further changes.
+ *          The typed events recorded since the last delivery travel with the update,
+ *          in the order they happened.
+ */
+package model;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+public class NotificationDispatcher {
+    private static ScheduledExecutorService timer;
+
+    private final List<Observer> observers;
+    private final List<ChangeEvent> pending;
+    private final Set<ChangeEvent> pendingRefreshes; // idempotent events already in pending
+    private Executor deliveryExecutor;
+    private long quietPeriodMillis;
+    private int suspendDepth;
+    private boolean dirty;
+    private boolean flushQueued;
+    private ScheduledFuture<?> pendingTimer;
+
+    /**
+     * Constructs a dispatcher that delivers synchronously on the calling thread.
+     */
+    public NotificationDispatcher() {
+        this.observers = new CopyOnWriteArrayList<>();
+        this.pending = new ArrayList<>();
+        this.pendingRefreshes = new HashSet<>();
+        this.deliveryExecutor = null;
+        this.quietPeriodMillis = 0;
+        this.suspendDepth = 0;
+        this.dirty = false;
+    }
+
+    /**
+     * Registers an observer once.
+     * @param o observer to add
+     */
+    public void addObserver(Observer o) {
+        if (!observers.contains(o)) {
+            observers.add(o);
+        }
+    }
+
+    /**
+     * Unregisters an observer.
+     * @param o observer to remove
+     */
+    public void removeObserver(Observer o) {
+        observers.remove(o);
+    }
+
+    /**
+     * Records an unspecified change; observers will refresh fully.
+     */
+    public void markDirty() {
+        markDirty(new ChangeEvent.Invalidated());
+    }
+
+    /**
+     * Records that the subject changed. Depending on configuration the update is
+     * delivered now or coalesced with later changes. Events keep their order; an
+     * event is only dropped when it repeats the one just before it, or when it is a
+     * refresh with no opposite (see {@link #isIdempotent}) already in the batch.
+     * @param event what changed
+     */
+    public void markDirty(ChangeEvent event) {
+        List<ChangeEvent> changes;
+        synchronized (this) {
+            dirty = true;
+            record(event);
+            if (suspendDepth > 0) return; // Delivered when the scope ends
+            if (isDeferred()) {
+                scheduleFlush();
+                return;
+            }
+            changes = drain();
+        }
+        deliver(changes);
+    }
+
+    /**
+     * Starts a scope in which changes are only recorded. Scopes may nest.
+     */
+    public synchronized void suspendNotifications() {
+        suspendDepth++;
+    }
+
+    /**
+     * Ends a suspended scope. When the outermost scope ends and anything changed,
+     * a single update is delivered (or scheduled, if delivery is deferred).
+     * @throws IllegalStateException if notifications are not suspended
+     */
+    public void resumeNotifications() {
+        List<ChangeEvent> changes;
+        synchronized (this) {
+            if (suspendDepth == 0) {
+                throw new IllegalStateException("Notifications are not suspended");
+            }
+            if (--suspendDepth > 0 || !dirty) return;
+            if (isDeferred()) {
+                scheduleFlush();
+                return;
+            }
+            changes = drain();
+        }
+        deliver(changes);
+    }
+
+    /**
+     * Delivers a pending update immediately, if there is one and no scope is open.
+     */
+    public void flush() {
+        List<ChangeEvent> changes;
+        synchronized (this) {
+            flushQueued = false;
+            pendingTimer = null;
+            if (!dirty || suspendDepth > 0) return;
+            changes = drain();
+        }
+        deliver(changes);
+    }
+
+    /**
+     * Sets where coalesced updates are delivered. Passing {@code Platform::runLater}
+     * yields at most one update per JavaFX pulse. Null means the calling thread.
+     * @param executor the delivery executor, or null
+     */
+    public synchronized void setDeliveryExecutor(Executor executor) {
+        this.deliveryExecutor = executor;
+    }
+
+    /**
+     * Sets a debounce period: an update is delivered only after this long without
+     * further changes. Zero disables debouncing.
+     * @param quietPeriod the quiet period
+     */
+    public synchronized void setQuietPeriod(Duration quietPeriod) {
+        this.quietPeriodMillis = Math.max(0, quietPeriod.toMillis());
+    }
+
+    /**
+     * Copies the delivery executor and quiet period of another dispatcher.
+     * @param other the dispatcher to copy settings from
+     */
+    public void copySettingsFrom(NotificationDispatcher other) {
+        Executor executor;
+        long quiet;
+        synchronized (other) {
+            executor = other.deliveryExecutor;
+            quiet = other.quietPeriodMillis;
+        }
+        synchronized (this) {
+            this.deliveryExecutor = executor;
+            this.quietPeriodMillis = quiet;
+        }
+    }
+
+    /**
+     * Checks whether a change is waiting to be delivered.
+     * @return true if dirty
+     */
+    public synchronized boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Checks whether a suspended scope is open.
+     * @return true if suspended
+     */
+    public synchronized boolean isSuspended() {
+        return suspendDepth > 0;
+    }
+
+    /**
+     * Checks whether updates are delivered later rather than on the calling thread.
+     * @return true if an executor or quiet period is configured
+     */
+    private boolean isDeferred() {
+        return deliveryExecutor != null || quietPeriodMillis > 0;
+    }
+
+    /**
+     * Schedules a flush according to the configuration. Caller holds the lock.
+     */
+    private void scheduleFlush() {
+        if (quietPeriodMillis > 0) {
+            // Restart the quiet period on every change
+            if (pendingTimer != null) {
+                pendingTimer.cancel(false);
+            }
+            pendingTimer = timer().schedule(this::flushOnExecutor, quietPeriodMillis, TimeUnit.MILLISECONDS);
+        } else if (!flushQueued) {
+            // Only one flush queued per executor turn
+            flushQueued = true;
+            deliveryExecutor.execute(this::flush);
+        }
+    }
+
+    /**
+     * Runs a flush on the delivery executor, or directly if none is set.
+     */
+    private void flushOnExecutor() {
+        Executor executor;
+        synchronized (this) {
+            executor = deliveryExecutor;
+        }
+        if (executor == null) {
+            flush();
+        } else {
+            executor.execute(this::flush);
+        }
+    }
+
+    /**
+     * Appends an event to the pending batch unless it adds nothing. Caller holds the lock.
+     * @param event the event
+     */
+    private void record(ChangeEvent event) {
+        if (!pending.isEmpty() && pending.get(pending.size() - 1).equals(event)) {
+            return; // Same change twice in a row
+        }
+        if (isIdempotent(event) && !pendingRefreshes.add(event)) {
+            return; // Already asks observers to re-read the same thing
+        }
+        pending.add(event);
+    }
+
+    /**
+     * Checks whether an event only asks observers to re-read current state, so a
+     * repeat anywhere in the batch can be dropped. Events that carry a value,
+     * such as a grade or an enrolment, change meaning when reordered.
+     * @param event the event
+     * @return true for full invalidations
+     */
+    private static boolean isIdempotent(ChangeEvent event) {
+        return event instanceof ChangeEvent.Invalidated;
+    }
+
+    /**
+     * Takes the pending events and clears the dirty flag. Caller holds the lock.
+     * @return the events recorded since the last delivery
+     */
+    private List<ChangeEvent> drain() {
+        List<ChangeEvent> changes = List.copyOf(pending);
+        pending.clear();
+        pendingRefreshes.clear();
+        dirty = false;
+        return changes;
+    }
+
+    /**
+     * Hands the coalesced events to every observer.
+     * @param changes the events to deliver
+     */
+    private void deliver(List<ChangeEvent> changes) {
+        for (Observer o : observers) {
+            o.update(changes);
+        }
+    }
+
+    /**
+     * Lazily creates the shared daemon timer used for quiet periods.
+     * @return the timer
+     */
+    private static synchronized ScheduledExecutorService timer() {
+        if (timer == null) {
+            timer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "gradebook-notifications");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return timer;
+    }
+}
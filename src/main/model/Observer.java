@@ -1,9 +1,21 @@
 package model;
 
+import java.util.List;
+
 /**
  * Observer interface to be implemented by any class
  * that needs to be notified of changes in a Subject.
  */
 public interface Observer {
     void update();
+
+    /**
+     * Receives the typed changes coalesced into one notification.
+     * Observers that can patch individual rows override this; the default
+     * falls back to a full {@link #update()}.
+     * @param changes the changes since the last notification, in order
+     */
+    default void update(List<ChangeEvent> changes) {
+        update();
+    }
 }
@@ -0,0 +1,64 @@
+/**
+ * Project Name: Gradebook
+ * File Name: Score.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: Fixed-point score arithmetic. Points are stored as whole hundredths of a
+ *          point in an int, so grade columns pack into int arrays and every sum of
+ *          points is exact (and the same in any order). Doubles are produced only
+ *          when a value leaves the model for display or a final percentage.
+ */
+package model;
+
+public final class Score {
+    /** Number of stored units per point. */
+    public static final int SCALE = 100;
+
+    private Score() {
+    }
+
+    /**
+     * Converts points to hundredths, rounding to the nearest hundredth.
+     * @param points points as entered
+     * @return the same score in hundredths of a point
+     * @throws IllegalArgumentException if the value is not finite or too large to store
+     */
+    public static int toHundredths(double points) {
+        double scaled = Math.rint(points * SCALE);
+        if (Double.isNaN(scaled) || scaled > Integer.MAX_VALUE || scaled < Integer.MIN_VALUE) {
+            throw new IllegalArgumentException("Points out of range: " + points);
+        }
+        return (int) scaled;
+    }
+
+    /**
+     * Converts hundredths back to points for display.
+     * @param hundredths a score or sum of scores in hundredths
+     * @return the value in points
+     */
+    public static double toPoints(long hundredths) {
+        return (double) hundredths / SCALE;
+    }
+
+    /**
+     * Computes earned / possible as a percentage with a single rounding step,
+     * so the result depends only on the two exact sums.
+     * @param earned hundredths earned
+     * @param possible hundredths possible
+     * @return percentage, or 0.0 if nothing was possible
+     */
+    public static double percentage(long earned, long possible) {
+        return possible > 0 ? (earned * 100.0) / possible : 0.0;
+    }
+
+    /**
+     * Compares two scores by percentage exactly, by cross-multiplying instead of dividing.
+     * @param earnedA hundredths earned on the first score
+     * @param possibleA hundredths possible on the first score (positive)
+     * @param earnedB hundredths earned on the second score
+     * @param possibleB hundredths possible on the second score (positive)
+     * @return negative, zero or positive as the first percentage is lower, equal or higher
+     */
+    public static int compareRatio(int earnedA, int possibleA, int earnedB, int possibleB) {
+        return Long.compare((long) earnedA * possibleB, (long) earnedB * possibleA);
+    }
+}
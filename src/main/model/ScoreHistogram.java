@@ -0,0 +1,71 @@
+/**
+ * Project Name: Gradebook
+ * File Name: ScoreHistogram.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: Fixed-width histogram of one assignment's scores by percentage. Each grade
+ *          change moves one count between buckets, so distribution charts never rescan
+ *          the roster.
+ */
+package model;
+
+final class ScoreHistogram {
+    static final double DEFAULT_BUCKET_WIDTH = 5.0;
+
+    private final double bucketWidth;
+    private final int[] counts;
+
+    /**
+     * Constructs an empty histogram covering 0–100%.
+     * @param bucketWidth width of each bucket in percentage points
+     * @throws IllegalArgumentException if the width is not in (0, 100]
+     */
+    ScoreHistogram(double bucketWidth) {
+        if (!(bucketWidth > 0 && bucketWidth <= 100)) {
+            throw new IllegalArgumentException("Bucket width must be between 0 and 100");
+        }
+        this.bucketWidth = bucketWidth;
+        this.counts = new int[(int) Math.ceil(100.0 / bucketWidth)];
+    }
+
+    /**
+     * Counts a score.
+     * @param percentage the score as a percentage
+     */
+    void add(double percentage) {
+        counts[bucketOf(percentage)]++;
+    }
+
+    /**
+     * Uncounts a score.
+     * @param percentage the score as a percentage
+     */
+    void remove(double percentage) {
+        counts[bucketOf(percentage)]--;
+    }
+
+    /**
+     * Gets the bucket width.
+     * @return width in percentage points
+     */
+    double getBucketWidth() {
+        return bucketWidth;
+    }
+
+    /**
+     * Gets a copy of the bucket counts, lowest bucket first.
+     * @return count per bucket
+     */
+    int[] getCounts() {
+        return counts.clone();
+    }
+
+    /**
+     * Finds the bucket for a percentage; 100% falls in the last bucket.
+     * @param percentage the score as a percentage
+     * @return bucket index
+     */
+    private int bucketOf(double percentage) {
+        int bucket = (int) (percentage / bucketWidth);
+        return Math.max(0, Math.min(bucket, counts.length - 1));
+    }
+}
@@ -0,0 +1,169 @@
+/**
+ * Project Name: Gradebook
+ * File Name: ScoreIndex.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: Order-statistics index over one assignment's scores. Keeps the points of
+ *          enrolled, graded students (in hundredths, see Score) in a sorted primitive
+ *          array that is patched in place on every grade change, so median and
+ *          percentiles are O(1) lookups instead of a gather-and-sort per refresh.
+ */
+package model;
+
+import java.util.Arrays;
+
+final class ScoreIndex {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] sorted;
+    private int size;
+    private long sum; // Exact running total, so mean() needs no pass over the scores
+
+    /**
+     * Constructs an empty index.
+     */
+    ScoreIndex() {
+        this.sorted = new int[INITIAL_CAPACITY];
+        this.size = 0;
+        this.sum = 0;
+    }
+
+    /**
+     * Adds a score, keeping the array sorted.
+     * @param value the score to add, in hundredths
+     */
+    void insert(int value) {
+        if (size == sorted.length) {
+            sorted = Arrays.copyOf(sorted, size * 2);
+        }
+        int pos = search(value);
+        if (pos < 0) pos = -pos - 1;
+        System.arraycopy(sorted, pos, sorted, pos + 1, size - pos);
+        sorted[pos] = value;
+        size++;
+        sum += value;
+    }
+
+    /**
+     * Adds many scores at once, sorting once instead of shifting per value.
+     * @param values the scores to add, in hundredths
+     * @param count how many leading entries of {@code values} to add
+     */
+    void insertAll(int[] values, int count) {
+        if (size + count > sorted.length) {
+            sorted = Arrays.copyOf(sorted, Math.max(size + count, sorted.length * 2));
+        }
+        System.arraycopy(values, 0, sorted, size, count);
+        for (int i = 0; i < count; i++) {
+            sum += values[i];
+        }
+        size += count;
+        Arrays.sort(sorted, 0, size);
+    }
+
+    /**
+     * Removes one occurrence of a score.
+     * @param value the score to remove, in hundredths
+     * @return true if the score was present
+     */
+    boolean remove(int value) {
+        int pos = search(value);
+        if (pos < 0) return false;
+        System.arraycopy(sorted, pos + 1, sorted, pos, size - pos - 1);
+        size--;
+        sum -= value;
+        return true;
+    }
+
+    /**
+     * Gets the number of scores held.
+     * @return score count
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets the score at a rank.
+     * @param rank position in ascending order, from 0 to size() - 1
+     * @return the score in hundredths
+     */
+    int get(int rank) {
+        return sorted[rank];
+    }
+
+    /**
+     * Counts the scores strictly below a value.
+     * @param value the value to compare against
+     * @return number of lower scores
+     */
+    int countBelow(int value) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < value) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Counts the scores at or below a value.
+     * @param value the value to compare against
+     * @return number of scores not above the value
+     */
+    int countAtMost(int value) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] <= value) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Gets the median (mean of the middle two for an even count).
+     * @return the median in hundredths, or 0.0 if empty
+     */
+    double median() {
+        if (size == 0) return 0.0;
+        if (size % 2 == 1) return sorted[size / 2];
+        return ((long) sorted[size / 2 - 1] + sorted[size / 2]) / 2.0;
+    }
+
+    /**
+     * Gets a percentile by linear interpolation between the closest ranks,
+     * so percentile(50) equals the median.
+     * @param percent a value from 0 to 100
+     * @return the score at that percentile in hundredths, or 0.0 if empty
+     */
+    double percentile(double percent) {
+        if (size == 0) return 0.0;
+        double clamped = Math.max(0.0, Math.min(100.0, percent));
+        double rank = clamped / 100.0 * (size - 1);
+        int lower = (int) Math.floor(rank);
+        int upper = Math.min(lower + 1, size - 1);
+        return sorted[lower] + (sorted[upper] - sorted[lower]) * (rank - lower);
+    }
+
+    /**
+     * Gets the mean of the scores from the running sum. The sum is exact, so the
+     * result does not depend on the order the scores arrived in.
+     * @return the mean in hundredths, or 0.0 if empty
+     */
+    double mean() {
+        if (size == 0) return 0.0;
+        return (double) sum / size;
+    }
+
+    /**
+     * Binary search over the used part of the array.
+     * @param value the score to find, in hundredths
+     * @return its position, or (-(insertion point) - 1) if absent
+     */
+    private int search(int value) {
+        return Arrays.binarySearch(sorted, 0, size, value);
+    }
+}
@@ -0,0 +1,189 @@
+/**
+ * Project Name: Gradebook
+ * File Name: StatisticsEngine.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: Computes class-wide statistics for a course. Small rosters are handled on the
+ *          calling thread; large rosters are split across the common ForkJoin pool and the
+ *          partial results (count, sum, spread, min/max, letter counts) are merged.
+ */
+package model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public final class StatisticsEngine {
+    /** Rosters up to this size, and every leaf of a parallel split, run sequentially. */
+    static final int DEFAULT_THRESHOLD = 2048;
+
+    private static final FinalGrade[] LETTERS = FinalGrade.values();
+
+    private StatisticsEngine() {
+    }
+
+    /**
+     * Computes statistics over every student currently enrolled in the course.
+     * @param course the course to summarize
+     * @return the statistics snapshot
+     */
+    public static CourseStats compute(Course course) {
+        return compute(course, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Computes statistics, splitting the roster into chunks of at most threshold students.
+     * The roster and the averages are both read from the live course under its read
+     * lock, which a caller already holding the read or write lock re-enters. A caller
+     * inside a suspended scope therefore sees the students enrolled or removed in it.
+     * @param course the course to summarize
+     * @param threshold largest chunk handled sequentially
+     * @return the statistics snapshot
+     */
+    static CourseStats compute(Course course, int threshold) {
+        Student[] roster;
+        double[] averages;
+        Partial total;
+        course.getLock().readLock().lock();
+        try {
+            roster = course.getStudents().toArray(new Student[0]);
+            averages = new double[roster.length];
+
+            // Compute every student's average and the running aggregates in one pass
+            AverageTask task = new AverageTask(course, roster, averages, 0, roster.length, Math.max(1, threshold));
+            total = roster.length <= threshold ? task.summarize() : ForkJoinPool.commonPool().invoke(task);
+        } finally {
+            course.getLock().readLock().unlock();
+        }
+
+        Map<Student, Double> byStudent = new LinkedHashMap<>();
+        for (int i = 0; i < roster.length; i++) {
+            byStudent.put(roster[i], averages[i]);
+        }
+        Map<FinalGrade, Integer> letters = new EnumMap<>(FinalGrade.class);
+        for (FinalGrade letter : LETTERS) {
+            letters.put(letter, total.letters[letter.ordinal()]);
+        }
+
+        if (total.count == 0) {
+            return new CourseStats(0, 0.0, 0.0, 0.0, 0.0, 0.0,
+                Collections.unmodifiableMap(letters), Collections.unmodifiableMap(byStudent));
+        }
+        return new CourseStats(total.count, total.sum / total.count, median(averages),
+            Math.sqrt(total.m2 / total.count), total.min, total.max,
+            Collections.unmodifiableMap(letters), Collections.unmodifiableMap(byStudent));
+    }
+
+    /**
+     * Finds the median of the averages (mean of the middle two for an even count).
+     * @param averages the student averages; sorted in place
+     * @return the median
+     */
+    private static double median(double[] averages) {
+        Arrays.sort(averages);
+        int n = averages.length;
+        if (n % 2 == 1) return averages[n / 2];
+        return (averages[n / 2 - 1] + averages[n / 2]) / 2.0;
+    }
+
+    /**
+     * Aggregates for a slice of the roster. Spread is tracked as the sum of squared
+     * deviations from the slice mean so slices can be merged without losing precision.
+     */
+    private static final class Partial {
+        int count;
+        double sum;
+        double m2;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        final int[] letters = new int[LETTERS.length];
+
+        /**
+         * Adds one student's average.
+         * @param value the average
+         */
+        void add(double value) {
+            double oldMean = count == 0 ? 0.0 : sum / count;
+            count++;
+            sum += value;
+            m2 += (value - oldMean) * (value - sum / count);
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            letters[FinalGrade.getLetterGrade(value).ordinal()]++;
+        }
+
+        /**
+         * Merges another slice into this one.
+         * @param other the slice to merge
+         * @return this partial
+         */
+        Partial merge(Partial other) {
+            if (other.count == 0) return this;
+            if (count == 0) return other;
+            double delta = other.sum / other.count - sum / count;
+            int combined = count + other.count;
+            m2 += other.m2 + delta * delta * ((double) count * other.count / combined);
+            count = combined;
+            sum += other.sum;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            for (int i = 0; i < letters.length; i++) {
+                letters[i] += other.letters[i];
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Computes the averages for a range of the roster, splitting it in half until
+     * each piece is at most the threshold.
+     */
+    private static final class AverageTask extends RecursiveTask<Partial> {
+        private static final long serialVersionUID = 1L;
+
+        private final Course course;
+        private final Student[] roster;
+        private final double[] averages;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        AverageTask(Course course, Student[] roster, double[] averages, int from, int to, int threshold) {
+            this.course = course;
+            this.roster = roster;
+            this.averages = averages;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from <= threshold) {
+                return summarize();
+            }
+            int mid = (from + to) >>> 1;
+            AverageTask left = new AverageTask(course, roster, averages, from, mid, threshold);
+            AverageTask right = new AverageTask(course, roster, averages, mid, to, threshold);
+            left.fork();
+            Partial rightResult = right.compute();
+            return left.join().merge(rightResult);
+        }
+
+        /**
+         * Computes the range sequentially on the current thread.
+         * @return the aggregates for the range
+         */
+        Partial summarize() {
+            Partial partial = new Partial();
+            for (int i = from; i < to; i++) {
+                averages[i] = course.studentAverage(roster[i]); // caller holds the read lock
+                partial.add(averages[i]);
+            }
+            return partial;
+        }
+    }
+}
@@ -6,15 +6,26 @@
  * 			and final grades.
  */
 package model;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import util.CsvWriter;
 
 
 public class Student extends User {
 	
-	private Map<Assignment, Grade> grades;
+	private volatile IdBinding idBinding; // ID in the registry this student was last looked up in
+	private List<GradeMatrix> gradeMatrices;
 	private Map<Course, FinalGrade> finalGrades;
+	private final Map<Assignment, Grade> gradesView = new GradesView();
 	
 	/*
 	 * Constructor for Student class.
@@ -28,20 +39,27 @@ public class Student extends User {
 	public Student(String firstName, String lastName, String userName, String password) {
 		
 		super(userName, firstName, lastName, password, "Student");
-		
-		this.grades = new HashMap<>();
-		this.finalGrades = new HashMap<>();
+		// Written under different course locks when several courses grade this student at once
+		this.gradeMatrices = new CopyOnWriteArrayList<>();
+		this.finalGrades = new ConcurrentHashMap<>();
 		
 	}
 	
 	/**
      * Adds a grade for a specific assignment.
+     * The points are stored in the assignment's course grade matrix.
      *
      * @param assignment the assignment graded
      * @param grade the grade received
      */
 	public void addGrade(Assignment assignment, Grade grade) {
-        grades.put(assignment, grade);
+        assignment.getCourse().getLock().writeLock().lock();
+        try {
+            assignment.storePoints(this, grade.getPointsReceived());
+            assignment.getCourse().publishSnapshot(); // No notification follows, so publish here
+        } finally {
+            assignment.getCourse().getLock().writeLock().unlock();
+        }
 	}
 	
 	 /**
@@ -51,7 +69,16 @@ public class Student extends User {
      * @return the Grade or null if not found
      */
 	public Grade getGrade(Assignment assignment) {
-		return grades.get(assignment);
+		return assignment.getGrade(this);
+	}
+
+	/**
+     * Records that this student holds a slot in a course's grade matrix.
+     *
+     * @param matrix the matrix that allocated a slot for this student
+     */
+	void attachMatrix(GradeMatrix matrix) {
+		gradeMatrices.add(matrix);
 	}
 	
 	 /**
@@ -61,20 +88,26 @@ public class Student extends User {
      * @return percentage average across assignments
      */
 	public double getAverageForCourse(Course course) {
-        List<Assignment> courseAssignments = course.getAssignments();
-        double totalEarned = 0;
-        double totalPossible = 0;
+        course.getLock().readLock().lock();
+        try {
+            List<Assignment> courseAssignments = course.getAssignments();
+            int slot = course.getGradeMatrix().slotOf(this);
+            long totalEarned = 0; // hundredths, summed exactly
+            long totalPossible = 0;
         
-        // Iterate over course assignments
-        for (Assignment assignment : courseAssignments) {
-            Grade grade = grades.get(assignment);
-            if (grade != null && grade.getMaxPoints() > 0) {
-                totalEarned += grade.getPointsReceived(); // Sum up earned points
-                totalPossible += grade.getMaxPoints(); // Sum up possible points
+            // Iterate over course assignments, reading this student's slot in each column
+            for (Assignment assignment : courseAssignments) {
+                GradeMatrix.Column column = assignment.getColumn();
+                if (column.isGraded(slot) && assignment.getMaxHundredths() > 0) {
+                    totalEarned += column.get(slot); // Sum up earned points
+                    totalPossible += assignment.getMaxHundredths(); // Sum up possible points
+                }
             }
-        }
         
-        return totalPossible > 0 ? (totalEarned / totalPossible) * 100 : 0.0;
+            return Score.percentage(totalEarned, totalPossible);
+        } finally {
+            course.getLock().readLock().unlock();
+        }
     }
 	
 	/**
@@ -100,7 +133,11 @@ public class Student extends User {
      * @param grade  the final grade to assign
      */
 	public void assignFinalGrade(Course course, FinalGrade grade) {
-	    finalGrades.put(course, grade);
+	    if (grade == null) {
+	        finalGrades.remove(course); // Concurrent maps hold no nulls; null clears the grade
+	    } else {
+	        finalGrades.put(course, grade);
+	    }
 
 	}
 
@@ -116,12 +153,101 @@ public class Student extends User {
     }
 	
 	/**
-     * Gets a defensive copy of all assignment grades.
+     * Gets a read-only, live view of all assignment grades. Nothing is copied;
+     * the view reads this student's row in each course grade matrix.
      *
-     * @return Map of Assignment to Grade
+     * @return unmodifiable Map of Assignment to Grade
      */
     public Map<Assignment, Grade> getGrades() {
-        return new HashMap<>(grades);
+        return gradesView;
+    }
+
+    /**
+     * Read-only map over this student's row in every grade matrix they appear in.
+     */
+    private final class GradesView extends AbstractMap<Assignment, Grade> {
+        private final Set<Map.Entry<Assignment, Grade>> entries = new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<Assignment, Grade>> iterator() {
+                return new RowIterator();
+            }
+
+            @Override
+            public int size() {
+                // One live count per course instead of a walk over every column
+                int count = 0;
+                for (GradeMatrix matrix : gradeMatrices) {
+                    count += matrix.getLiveGradeCount(matrix.slotOf(Student.this));
+                }
+                return count;
+            }
+        };
+
+        @Override
+        public Grade get(Object key) {
+            return key instanceof Assignment a && !a.getColumn().isRetired() ? a.getGrade(Student.this) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Assignment a && !a.getColumn().isRetired() && a.isGraded(Student.this);
+        }
+
+        @Override
+        public Set<Map.Entry<Assignment, Grade>> entrySet() {
+            return entries;
+        }
+    }
+
+    /**
+     * Walks the graded cells of this student's row, matrix by matrix, skipping
+     * the columns of removed assignments.
+     */
+    private final class RowIterator implements Iterator<Map.Entry<Assignment, Grade>> {
+        private int matrixIndex = 0;
+        private int columnIndex = 0;
+        private GradeMatrix.Column nextColumn;
+        private int nextSlot;
+
+        RowIterator() {
+            advance();
+        }
+
+        /**
+         * Moves to the next graded cell, or leaves nextColumn null at the end.
+         */
+        private void advance() {
+            nextColumn = null;
+            while (matrixIndex < gradeMatrices.size()) {
+                GradeMatrix matrix = gradeMatrices.get(matrixIndex);
+                int slot = matrix.slotOf(Student.this);
+                List<GradeMatrix.Column> columns = matrix.getColumns();
+                while (columnIndex < columns.size()) {
+                    GradeMatrix.Column column = columns.get(columnIndex++);
+                    if (!column.isRetired() && column.isGraded(slot)) {
+                        nextColumn = column;
+                        nextSlot = slot;
+                        return;
+                    }
+                }
+                matrixIndex++;
+                columnIndex = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextColumn != null;
+        }
+
+        @Override
+        public Map.Entry<Assignment, Grade> next() {
+            if (nextColumn == null) throw new NoSuchElementException();
+            Assignment assignment = nextColumn.getAssignment();
+            Grade grade = Grade.ofHundredths(nextColumn.get(nextSlot), assignment.getMaxHundredths());
+            advance();
+            return new AbstractMap.SimpleImmutableEntry<>(assignment, grade);
+        }
     }
 
     /**
@@ -136,13 +262,48 @@ public class Student extends User {
     /**
      * Formats the student for file saving.
      *
-     * @return CSV-style string for file storage
+     * @return CSV line for file storage, with fields quoted where needed
      */
     @Override
     public String toFileString() {
-        return getUsername() + "," + getFirstName() + " " + getLastName() + "," + getPasswordHash() + ",student";
+        return CsvWriter.record(getUsername(), getFirstName() + " " + getLastName(), getPasswordHash(), "student");
     }
     
+    /**
+     * Gets this student's ID in a registry, assigning one on first use. The last
+     * registry's ID is cached, so repeated lookups in one model do not hash the
+     * username.
+     *
+     * @param registry the registry of the course doing the lookup
+     * @return the student ID, the same for every Student with this username
+     */
+    int idIn(IdRegistry registry) {
+        IdBinding binding = idBinding;
+        if (binding == null || binding.registry() != registry) {
+            binding = new IdBinding(registry, registry.studentId(getUsername()));
+            idBinding = binding;
+        }
+        return binding.id();
+    }
+
+    /**
+     * Looks up this student's ID in a registry without assigning one.
+     *
+     * @param registry the registry of the course doing the lookup
+     * @return the student ID, or -1 if the registry has never seen this username
+     */
+    int findIdIn(IdRegistry registry) {
+        IdBinding binding = idBinding;
+        if (binding != null && binding.registry() == registry) {
+            return binding.id();
+        }
+        int id = registry.findStudentId(getUsername());
+        if (id >= 0) {
+            idBinding = new IdBinding(registry, id);
+        }
+        return id;
+    }
+
     /**
      * Checks object equality by username.
      *
@@ -166,4 +327,10 @@ public class Student extends User {
     public int hashCode() {
         return getUsername().hashCode();
     }
+
+    /**
+     * A student's ID together with the registry it belongs to, swapped as one value.
+     */
+    private record IdBinding(IdRegistry registry, int id) {
+    }
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+/**
+ * Project Name: Gradebook
+ * File Name: StudentTotals.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: Running grade aggregates that a Course keeps for one student.
+ *          Each category contributes its kept (post-drop) totals, and the course-wide
+ *          earned, possible and weighted sums are maintained so averages are O(1) reads.
+ */
+package model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class StudentTotals {
+    private final Map<Category, CategoryTotals> byCategory;
+    private long earned;   // hundredths
+    private long possible; // hundredths
+    private double weightedSum;
+
+    /**
+     * Constructs an empty set of totals.
+     */
+    StudentTotals() {
+        this.byCategory = new LinkedHashMap<>(); // fixed order keeps the weighted sum reproducible
+    }
+
+    /**
+     * Replaces the totals of one category and refreshes the course-wide sums.
+     * @param category the category whose totals changed
+     * @param totals the freshly computed totals for that category
+     */
+    void update(Category category, CategoryTotals totals) {
+        byCategory.put(category, totals);
+        recompute();
+    }
+
+    /**
+     * Forgets a category (e.g. after it was removed from the course).
+     * @param category the category to remove
+     */
+    void remove(Category category) {
+        if (byCategory.remove(category) != null) {
+            recompute();
+        }
+    }
+
+    /**
+     * Re-sums the per-category entries. Cost is O(categories). Point sums are exact;
+     * the weighted sum is always added up in category order, so it is reproducible.
+     */
+    private void recompute() {
+        long e = 0;
+        long p = 0;
+        double w = 0.0;
+        for (Map.Entry<Category, CategoryTotals> entry : byCategory.entrySet()) {
+            CategoryTotals t = entry.getValue();
+            e += t.earned();
+            p += t.possible();
+            w += t.averagePercentage() * entry.getKey().getWeight();
+        }
+        earned = e;
+        possible = p;
+        weightedSum = w;
+    }
+
+    /**
+     * Gets the total-points average (earned / possible) as a percentage.
+     * @return percentage, or 0.0 when nothing has been graded
+     */
+    double getTotalPointsAverage() {
+        return Score.percentage(earned, possible);
+    }
+
+    /**
+     * Gets the sum of each category's average multiplied by its weight.
+     * @return weighted percentage
+     */
+    double getWeightedSum() {
+        return weightedSum;
+    }
+
+    /**
+     * Kept (post-drop) totals for one student in one category.
+     * @param earned hundredths earned across kept grades
+     * @param possible hundredths possible across kept grades
+     * @param percentSum sum of the kept grades' percentages
+     * @param count number of kept grades
+     */
+    record CategoryTotals(long earned, long possible, double percentSum, int count) {
+        static final CategoryTotals EMPTY = new CategoryTotals(0, 0, 0.0, 0);
+
+        /**
+         * Gets the unweighted average percentage of the kept grades.
+         * @return average percentage, or 0.0 if no grades are kept
+         */
+        double averagePercentage() {
+            return count > 0 ? percentSum / count : 0.0;
+        }
+    }
+}
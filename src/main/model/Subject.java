@@ -14,4 +14,21 @@ public interface Subject {
     void addObserver(Observer o);
     void removeObserver(Observer o);
     void notifyObservers();
+
+    /**
+     * Notifies observers of one specific change.
+     * @param event what changed
+     */
+    void notifyObservers(ChangeEvent event);
+
+    /**
+     * Starts a scope in which changes are recorded but not delivered.
+     * Scopes may nest; each call must be matched by {@link #resumeNotifications()}.
+     */
+    void suspendNotifications();
+
+    /**
+     * Ends a suspended scope, delivering one coalesced update if anything changed.
+     */
+    void resumeNotifications();
 }
@@ -19,13 +19,15 @@ import java.io.IOException;
  */
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
+import util.CsvWriter;
 import util.FileUtil;
 
 public class Teacher extends User {
-    private List<Course> teachingCourses;
+    private Set<Course> teachingCourses; // insertion-ordered, O(1) membership
 
     /*
      * Constructor for Teacher class.
@@ -36,16 +38,15 @@ public class Teacher extends User {
      */
     public Teacher(String username, String firstName, String lastName, String passwordHash) {
         super(username, firstName, lastName, passwordHash, "teacher");
-        this.teachingCourses = new ArrayList<>();
+        this.teachingCourses = new LinkedHashSet<>();
     }
 
     /*
      * Adds a course to the teacher's teaching list.
      * @param course Course to be added
      */
-    public void addCourse(Course course) {
-        if (course != null && !teachingCourses.contains(course)) {
-            teachingCourses.add(course);
+    public synchronized void addCourse(Course course) {
+        if (course != null && teachingCourses.add(course)) {
             super.addCourse(course); // Ensure it’s also added to the user's courses
         }
     }
@@ -54,7 +55,7 @@ public class Teacher extends User {
      * Removes a course from the teacher's teaching list.
      * @param course Course to be removed
      */
-    public void removeCourse(Course course) {
+    public synchronized void removeCourse(Course course) {
         teachingCourses.remove(course);
     }
 
@@ -62,21 +63,24 @@ public class Teacher extends User {
      * Gets the list of courses the teacher is teaching.
      * @return List of Course objects
      */
-    public List<Course> getTeachingCourses() {
+    public synchronized List<Course> getTeachingCourses() {
         return new ArrayList<>(teachingCourses); // Return a copy for encapsulation
     }
     
     /**
-     * Creates and adds a new course, then saves it to file.
+     * Creates a new course, adds it to this teacher and the model, then saves
+     * every course in the model to file.
      *
      * @param courseName Name of the course to create
+     * @param model the model the course joins
      */
-    public void createCourse(String courseName) {
-        Course course = new Course(courseName);
+    public void createCourse(String courseName, GradebookModel model) {
+        Course course = new Course(courseName, model.getIdRegistry());
         this.addCourse(course); // Add course to teacher
-        // Persist to file
+        model.addCourse(course);
+        // The file is rewritten as a whole, so it gets other teachers' courses too
         try {
-            FileUtil.saveCourses(Collections.singletonList(course), "courses.txt");
+            FileUtil.saveCourses(model.getAllCourses(), "courses.txt");
         } catch (IOException e) {
             System.err.println("Failed to save course");
         }
@@ -95,11 +99,11 @@ public class Teacher extends User {
     /**
      * Formats the teacher object for file persistence.
      *
-     * @return CSV-style line for file storage
+     * @return CSV line for file storage, with fields quoted where needed
      */
     @Override
     public String toFileString() {
-        return getUsername() + "," + getFirstName() + " " + getLastName() + "," + getPasswordHash() + ",teacher";
+        return CsvWriter.record(getUsername(), getFirstName() + " " + getLastName(), getPasswordHash(), "teacher");
     }
 
 }
\ No newline at end of file
@@ -9,7 +9,9 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 public abstract class User {
 	private final String username;
@@ -17,7 +19,7 @@ public abstract class User {
     private final String lastName;
     private final String passwordHash;
     private final String role; // "student" or "teacher"
-    private List<Course> courses;
+    private Set<Course> courses; // insertion-ordered, O(1) membership
 
     /**
      * Constructor for User class.
@@ -34,7 +36,7 @@ public abstract class User {
         this.lastName = lastName;
         this.passwordHash = passwordHash;
         this.role = role;
-        this.courses = new ArrayList<>();
+        this.courses = new LinkedHashSet<>();
     }
 
     /**
@@ -81,17 +83,25 @@ public abstract class User {
      * Adds a course to the user's course list.
      * @param course Course object to be added
      */
-    public void addCourse(Course course) {
-        if (course != null && !courses.contains(course)) {
-            courses.add(course);
+    public synchronized void addCourse(Course course) {
+        if (course != null) {
+            courses.add(course); // no-op if already present
         }
     }
 
+    /**
+     * Removes the link to a course, e.g. when the user is dropped from its roster.
+     * @param course Course object to be removed
+     */
+    synchronized void unlinkCourse(Course course) {
+        courses.remove(course);
+    }
+
     /**
      * Gets all courses associated with the user.
      * @return List of Course objects
      */
-    public List<Course> getCourses() {
+    public synchronized List<Course> getCourses() {
         return new ArrayList<>(courses); // Return copy for encapsulation
     }
 
@@ -0,0 +1,123 @@
+/**
+ * Project Name: Gradebook
+ * File Name: UserIdentityMap.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: Resolves each username to exactly one canonical Student or Teacher
+ *          instance. Loaders and importers ask the map for a user instead of
+ *          constructing one, so a user read from users.txt, imported from a CSV
+ *          file and enrolled in a course is the same object everywhere and no
+ *          view has to reconcile copies by scanning for a matching username.
+ *          The first instance registered for a username wins.
+ */
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+public final class UserIdentityMap {
+    private final Map<String, Student> students;
+    private final Map<String, Teacher> teachers;
+
+    /**
+     * Constructs an empty identity map.
+     */
+    public UserIdentityMap() {
+        this.students = new ConcurrentHashMap<>();
+        this.teachers = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets the canonical student for a username, creating it on first use.
+     * The factory is only called if no student with that username is known.
+     * @param username the student's username
+     * @param factory creates the student if it is not yet known
+     * @return the canonical student
+     * @throws IllegalArgumentException if the factory builds a student with a different username
+     */
+    public Student student(String username, Supplier<Student> factory) {
+        return students.computeIfAbsent(username, u -> checked(u, factory.get()));
+    }
+
+    /**
+     * Gets the canonical teacher for a username, creating it on first use.
+     * The factory is only called if no teacher with that username is known.
+     * @param username the teacher's username
+     * @param factory creates the teacher if it is not yet known
+     * @return the canonical teacher
+     * @throws IllegalArgumentException if the factory builds a teacher with a different username
+     */
+    public Teacher teacher(String username, Supplier<Teacher> factory) {
+        return teachers.computeIfAbsent(username, u -> checked(u, factory.get()));
+    }
+
+    /**
+     * Registers a user unless one with the same username and role is already
+     * known, and returns whichever instance is canonical.
+     * @param user the user to register
+     * @return the canonical instance, which is {@code user} itself if it was new
+     * @throws IllegalArgumentException if the user is neither a student nor a teacher
+     */
+    @SuppressWarnings("unchecked")
+    public <U extends User> U canonical(U user) {
+        if (user instanceof Student s) {
+            Student existing = students.putIfAbsent(s.getUsername(), s);
+            return existing == null ? user : (U) existing;
+        }
+        if (user instanceof Teacher t) {
+            Teacher existing = teachers.putIfAbsent(t.getUsername(), t);
+            return existing == null ? user : (U) existing;
+        }
+        throw new IllegalArgumentException("Unknown user type: " + user);
+    }
+
+    /**
+     * Looks up the canonical student for a username.
+     * @param username the username
+     * @return the student, or null if none is known
+     */
+    public Student findStudent(String username) {
+        return username == null ? null : students.get(username);
+    }
+
+    /**
+     * Looks up the canonical teacher for a username.
+     * @param username the username
+     * @return the teacher, or null if none is known
+     */
+    public Teacher findTeacher(String username) {
+        return username == null ? null : teachers.get(username);
+    }
+
+    /**
+     * Gets every canonical student.
+     * @return a new list of the students
+     */
+    public List<Student> getStudents() {
+        return new ArrayList<>(students.values());
+    }
+
+    /**
+     * Gets every canonical teacher.
+     * @return a new list of the teachers
+     */
+    public List<Teacher> getTeachers() {
+        return new ArrayList<>(teachers.values());
+    }
+
+    /**
+     * Makes sure a factory built the user it was asked for.
+     * @param username the requested username
+     * @param user the user the factory built
+     * @return the user
+     */
+    private static <U extends User> U checked(String username, U user) {
+        if (user == null || !username.equals(user.getUsername())) {
+            throw new IllegalArgumentException("Factory for " + username + " built "
+                + (user == null ? "null" : user.getUsername()));
+        }
+        return user;
+    }
+}
@@ -14,11 +14,17 @@ import util.SecurityUtil;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 public class UserManager {
     private List<User> users;
+    private final Map<String, User> usersByName = new HashMap<>();
+    private final Map<String, User> usersByFoldedName = new HashMap<>(); // lower-cased keys
     private final String userFilePath;
+    private final UserIdentityMap identities;
     private List<Course> courses = new ArrayList<>();
 
     
@@ -28,7 +34,19 @@ public class UserManager {
      * @param userFilePath the file path for storing user data
      */
     public UserManager(String userFilePath) {
+        this(userFilePath, new UserIdentityMap());
+    }
+
+    /**
+     * Constructor for a UserManager that shares its users with an identity map,
+     * such as the model's, so loaded and registered users are the canonical instances.
+     *
+     * @param userFilePath the file path for storing user data
+     * @param identities the map holding the canonical instance of each user
+     */
+    public UserManager(String userFilePath, UserIdentityMap identities) {
         this.userFilePath = userFilePath;
+        this.identities = identities;
         this.users = new ArrayList<>();
         loadUsersFromFile();
     }
@@ -51,7 +69,9 @@ public class UserManager {
 		if (!SecurityUtil.isValidPassword(password)) {
 			throw new IllegalArgumentException("Password must have 8+ chars with: " + "1 digit, 1 lowercase, 1 uppercase, 1 special character");
 		}
-		if (findUserByUsername(username) != null) {
+		// Also check the identity map, which holds users imported outside this manager
+		if (findUserByUsername(username) != null
+				|| identities.findStudent(username) != null || identities.findTeacher(username) != null) {
 			throw new IllegalArgumentException("Username already exists");
 		}
 		
@@ -63,8 +83,10 @@ public class UserManager {
 		case "teacher" -> new Teacher(username, firstName, lastName, passwordHash);default -> throw new IllegalArgumentException("Invalid role: " + role);
 		};
 		
-        // Add user to list and save to file
+        // Add user to list and indexes, then save to file
+		newUser = identities.canonical(newUser);
 		users.add(newUser);
+		index(newUser);
 		saveUsersToFile();
 		}
 
@@ -90,11 +112,38 @@ public class UserManager {
      */
     public void loadUsersFromFile() {
         try {
-            users = FileUtil.loadUsers(userFilePath); // Parse users from file
+            users = FileUtil.loadUsers(userFilePath, identities); // Parse users from file
         } catch (IOException e) {
             System.err.println("Error loading users: " + e.getMessage());
             users = new ArrayList<>();
         }
+        // Rebuild the username indexes so they match the loaded list
+        usersByName.clear();
+        usersByFoldedName.clear();
+        for (User user : users) {
+            index(user);
+        }
+    }
+
+    /**
+     * Adds a user to the username indexes. The first user with a given name
+     * wins, matching a front-to-back scan of the list.
+     *
+     * @param user the user to index
+     */
+    private void index(User user) {
+        usersByName.putIfAbsent(user.getUsername(), user);
+        usersByFoldedName.putIfAbsent(fold(user.getUsername()), user);
+    }
+
+    /**
+     * Normalizes a username for case-insensitive lookup.
+     *
+     * @param username the username
+     * @return the lower-cased username
+     */
+    private static String fold(String username) {
+        return username.toLowerCase(Locale.ROOT);
     }
     
     /**
@@ -109,10 +158,16 @@ public class UserManager {
      * @return User object or null if not found
      */
     public User findUserByUsername(String username) {
-        return users.stream()
-            .filter(u -> u.getUsername().equals(username))
-            .findFirst()
-            .orElse(null);
+        return usersByName.get(username);
+    }
+
+    /**
+     * Finds user by username ignoring case (e.g. "JDoe" matches "jdoe")
+     * @param username the username to look up
+     * @return User object or null if not found
+     */
+    public User findUserByUsernameIgnoreCase(String username) {
+        return username == null ? null : usersByFoldedName.get(fold(username));
     }
     
     /**
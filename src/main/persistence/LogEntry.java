@@ -0,0 +1,261 @@
+/**
+ * Project Name: Gradebook
+ * File Name: LogEntry.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: One mutation recorded in the write-ahead log. Entries name courses,
+ *          users and assignments by course name, username and assignment title,
+ *          so they stay meaningful across restarts, and every entry sets state
+ *          rather than adjusting it, so replaying an entry twice is harmless.
+ */
+package persistence;
+
+import model.FinalGrade;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public sealed interface LogEntry {
+
+    /**
+     * A student or teacher was registered.
+     * @param teacher true for a teacher, false for a student
+     * @param username the username
+     * @param firstName first name
+     * @param lastName last name
+     * @param passwordHash stored password hash
+     */
+    record UserAdded(boolean teacher, String username, String firstName, String lastName,
+                     String passwordHash) implements LogEntry {}
+
+    /**
+     * A course was added.
+     * @param course the course name
+     * @param teachers usernames of the teachers teaching it
+     */
+    record CourseAdded(String course, List<String> teachers) implements LogEntry {}
+
+    /**
+     * A student was enrolled.
+     * @param course the course name
+     * @param username the student's username
+     */
+    record StudentEnrolled(String course, String username) implements LogEntry {}
+
+    /**
+     * A student was removed from a course.
+     * @param course the course name
+     * @param username the student's username
+     */
+    record StudentRemoved(String course, String username) implements LogEntry {}
+
+    /**
+     * An assignment was added.
+     * @param course the course name
+     * @param title the assignment title
+     * @param maxHundredths maximum points, in hundredths
+     */
+    record AssignmentAdded(String course, String title, int maxHundredths) implements LogEntry {}
+
+    /**
+     * An assignment was removed.
+     * @param course the course name
+     * @param title the assignment title
+     */
+    record AssignmentRemoved(String course, String title) implements LogEntry {}
+
+    /**
+     * A grade was set.
+     * @param course the course name
+     * @param assignment the assignment title
+     * @param username the student's username
+     * @param hundredths points earned, in hundredths
+     */
+    record GradeAssigned(String course, String assignment, String username, int hundredths) implements LogEntry {}
+
+    /**
+     * A final grade was set or cleared.
+     * @param course the course name
+     * @param username the student's username
+     * @param grade the final grade, or null if cleared
+     */
+    record FinalGradeAssigned(String course, String username, FinalGrade grade) implements LogEntry {}
+
+    /**
+     * A course switched grading mode.
+     * @param course the course name
+     * @param weighted true for weighted grading
+     */
+    record GradingModeChanged(String course, boolean weighted) implements LogEntry {}
+
+    /**
+     * A category was added or changed; carries its whole current state.
+     * @param course the course name
+     * @param name the category name
+     * @param weight the category weight
+     * @param dropLowestCount how many lowest grades are dropped
+     * @param assignments titles of the assignments in the category
+     */
+    record CategoryUpdated(String course, String name, double weight, int dropLowestCount,
+                           List<String> assignments) implements LogEntry {}
+
+    /**
+     * A category was removed.
+     * @param course the course name
+     * @param name the category name
+     */
+    record CategoryRemoved(String course, String name) implements LogEntry {}
+
+    /**
+     * Writes an entry as a type tag followed by its fields.
+     * @param entry the entry to write
+     * @param out where to write it
+     * @throws IOException if writing fails
+     */
+    static void write(LogEntry entry, DataOutput out) throws IOException {
+        if (entry instanceof UserAdded e) {
+            out.writeByte(1);
+            out.writeBoolean(e.teacher());
+            writeString(out, e.username());
+            writeString(out, e.firstName());
+            writeString(out, e.lastName());
+            writeString(out, e.passwordHash());
+        } else if (entry instanceof CourseAdded e) {
+            out.writeByte(2);
+            writeString(out, e.course());
+            writeStrings(out, e.teachers());
+        } else if (entry instanceof StudentEnrolled e) {
+            out.writeByte(3);
+            writeString(out, e.course());
+            writeString(out, e.username());
+        } else if (entry instanceof StudentRemoved e) {
+            out.writeByte(4);
+            writeString(out, e.course());
+            writeString(out, e.username());
+        } else if (entry instanceof AssignmentAdded e) {
+            out.writeByte(5);
+            writeString(out, e.course());
+            writeString(out, e.title());
+            out.writeInt(e.maxHundredths());
+        } else if (entry instanceof AssignmentRemoved e) {
+            out.writeByte(6);
+            writeString(out, e.course());
+            writeString(out, e.title());
+        } else if (entry instanceof GradeAssigned e) {
+            out.writeByte(7);
+            writeString(out, e.course());
+            writeString(out, e.assignment());
+            writeString(out, e.username());
+            out.writeInt(e.hundredths());
+        } else if (entry instanceof FinalGradeAssigned e) {
+            out.writeByte(8);
+            writeString(out, e.course());
+            writeString(out, e.username());
+            out.writeByte(e.grade() == null ? -1 : e.grade().ordinal());
+        } else if (entry instanceof GradingModeChanged e) {
+            out.writeByte(9);
+            writeString(out, e.course());
+            out.writeBoolean(e.weighted());
+        } else if (entry instanceof CategoryUpdated e) {
+            out.writeByte(10);
+            writeString(out, e.course());
+            writeString(out, e.name());
+            out.writeDouble(e.weight());
+            out.writeInt(e.dropLowestCount());
+            writeStrings(out, e.assignments());
+        } else if (entry instanceof CategoryRemoved e) {
+            out.writeByte(11);
+            writeString(out, e.course());
+            writeString(out, e.name());
+        }
+    }
+
+    /**
+     * Reads one entry written by {@link #write(LogEntry, DataOutput)}.
+     * @param in where to read from
+     * @return the entry
+     * @throws IOException if reading fails or the type tag is unknown
+     */
+    static LogEntry read(DataInput in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case 1 -> new UserAdded(in.readBoolean(), readString(in), readString(in), readString(in), readString(in));
+            case 2 -> new CourseAdded(readString(in), readStrings(in));
+            case 3 -> new StudentEnrolled(readString(in), readString(in));
+            case 4 -> new StudentRemoved(readString(in), readString(in));
+            case 5 -> new AssignmentAdded(readString(in), readString(in), in.readInt());
+            case 6 -> new AssignmentRemoved(readString(in), readString(in));
+            case 7 -> new GradeAssigned(readString(in), readString(in), readString(in), in.readInt());
+            case 8 -> {
+                String course = readString(in);
+                String username = readString(in);
+                byte grade = in.readByte();
+                if (grade < -1 || grade >= FinalGrade.values().length) {
+                    throw new IOException("Invalid final grade " + grade);
+                }
+                yield new FinalGradeAssigned(course, username, grade < 0 ? null : FinalGrade.values()[grade]);
+            }
+            case 9 -> new GradingModeChanged(readString(in), in.readBoolean());
+            case 10 -> new CategoryUpdated(readString(in), readString(in), in.readDouble(), in.readInt(), readStrings(in));
+            case 11 -> new CategoryRemoved(readString(in), readString(in));
+            default -> throw new IOException("Unknown log entry type " + type);
+        };
+    }
+
+    /**
+     * Writes a string that may be null.
+     * @param out where to write
+     * @param value the string
+     * @throws IOException if writing fails
+     */
+    private static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    /**
+     * Reads a string that may be null.
+     * @param in where to read from
+     * @return the string
+     * @throws IOException if reading fails
+     */
+    private static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * Writes a count followed by that many strings.
+     * @param out where to write
+     * @param values the strings
+     * @throws IOException if writing fails
+     */
+    private static void writeStrings(DataOutput out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    /**
+     * Reads a count followed by that many strings.
+     * @param in where to read from
+     * @return the strings
+     * @throws IOException if reading fails
+     */
+    private static List<String> readStrings(DataInput in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Invalid count " + count);
+        }
+        List<String> values = new ArrayList<>(Math.min(count, 1024));
+        for (int i = 0; i < count; i++) {
+            values.add(readString(in));
+        }
+        return Collections.unmodifiableList(values);
+    }
+}
@@ -0,0 +1,400 @@
+/**
+ * Project Name: Gradebook
+ * File Name: ModelJournal.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: Connects a GradebookModel to a WriteAheadLog. As an observer of the model
+ *          and every course, it turns each delivered batch of ChangeEvents into log
+ *          entries and commits them with a single fsync, either directly or through a
+ *          PersistenceService so the notifying thread never waits for the disk. On
+ *          startup it replays the log on top of the last snapshot, and a checkpoint
+ *          writes a fresh snapshot and drops the entries it covers.
+ */
+package persistence;
+
+import model.*;
+import model.Observer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public final class ModelJournal implements Observer {
+    private final GradebookModel model;
+    private final WriteAheadLog log;
+    private final PersistenceService writer;
+
+    /**
+     * Constructs a journal that commits each batch on the notifying thread.
+     * Call {@link #attach()} to start recording.
+     * @param model the model to record
+     * @param log the log to record into
+     */
+    public ModelJournal(GradebookModel model, WriteAheadLog log) {
+        this(model, log, null);
+    }
+
+    /**
+     * Constructs a journal. Call {@link #attach()} to start recording.
+     * @param model the model to record
+     * @param log the log to record into
+     * @param writer the service that commits batches in the background, or null
+     *               to commit on the notifying thread
+     */
+    public ModelJournal(GradebookModel model, WriteAheadLog log, PersistenceService writer) {
+        this.model = model;
+        this.log = log;
+        this.writer = writer;
+    }
+
+    /**
+     * Starts recording changes to the model and every course in it.
+     */
+    public void attach() {
+        model.addObserver(this);
+        for (Course course : model.getAllCourses()) {
+            course.addObserver(this);
+        }
+    }
+
+    /**
+     * Stops recording changes.
+     */
+    public void detach() {
+        model.removeObserver(this);
+        for (Course course : model.getAllCourses()) {
+            course.removeObserver(this);
+        }
+    }
+
+    /**
+     * Writes a snapshot of the model and drops the log entries it covers.
+     * Entries appended while the snapshot is written are kept.
+     * @param snapshotFile where to write the snapshot
+     * @throws IOException if the log or snapshot cannot be written
+     */
+    public void checkpoint(Path snapshotFile) throws IOException {
+        if (writer != null) {
+            writer.sync(); // Entries still queued belong before the mark
+        }
+        long mark = log.commit(); // Every change up to here happened before the snapshot starts
+        SnapshotWriter.write(model, snapshotFile);
+        log.discardBefore(mark);
+    }
+
+    /**
+     * Applies log entries to the model in order. Entries that no longer fit the
+     * model (e.g. a grade on an assignment removed later) are skipped.
+     * @param entries the entries to replay
+     * @return the number of entries applied
+     */
+    public int replay(List<LogEntry> entries) {
+        int applied = 0;
+        for (LogEntry entry : entries) {
+            try {
+                if (apply(entry)) {
+                    applied++;
+                }
+            } catch (IllegalArgumentException e) {
+                System.err.println("Skipping log entry " + entry + ": " + e.getMessage());
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Records a batch of typed changes and makes them durable with one fsync.
+     * With a background writer this only queues the entries and returns.
+     * @param changes the changes since the last notification, in order
+     */
+    @Override
+    public void update(List<ChangeEvent> changes) {
+        // Entries come from the values each event carries, not from the model now,
+        // so a batch delivered late still records what each change wrote
+        List<LogEntry> entries = new ArrayList<>();
+        for (ChangeEvent change : changes) {
+            entries.addAll(toEntries(change));
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (writer != null) {
+            writer.append(entries).whenComplete((ignored, failure) -> {
+                if (failure != null) {
+                    System.err.println("Failed to record changes: " + failure.getMessage());
+                }
+            });
+            return;
+        }
+        try {
+            for (LogEntry entry : entries) {
+                log.append(entry);
+            }
+            log.commit();
+        } catch (IOException e) {
+            System.err.println("Failed to record changes: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Untyped updates carry nothing to record; the next checkpoint captures them.
+     */
+    @Override
+    public void update() {
+    }
+
+    /**
+     * Translates one change into log entries from the values the event carries.
+     * @param change the change delivered by the model or a course
+     * @return the entries describing it, possibly none
+     */
+    private List<LogEntry> toEntries(ChangeEvent change) {
+        List<LogEntry> entries = new ArrayList<>();
+        if (change instanceof ChangeEvent.UserAdded u) {
+            entries.add(userEntry(u.user()));
+        } else if (change instanceof ChangeEvent.CourseAdded c) {
+            c.course().addObserver(this); // Record the new course's own changes from now on
+            courseEntries(c.course(), entries);
+        } else if (change instanceof ChangeEvent.GradeChanged g) {
+            entries.add(new LogEntry.GradeAssigned(g.course().getCourseName(),
+                g.assignment().getTitle(), g.student().getUsername(), g.pointsHundredths()));
+        } else if (change instanceof ChangeEvent.StudentEnrolled e) {
+            if (model.getStudentByUsername(e.student().getUsername()) != e.student()) {
+                entries.add(userEntry(e.student())); // Replay needs the student to exist
+            }
+            entries.add(new LogEntry.StudentEnrolled(e.course().getCourseName(), e.student().getUsername()));
+        } else if (change instanceof ChangeEvent.StudentRemoved r) {
+            entries.add(new LogEntry.StudentRemoved(r.course().getCourseName(), r.student().getUsername()));
+        } else if (change instanceof ChangeEvent.AssignmentAdded a) {
+            entries.add(new LogEntry.AssignmentAdded(a.course().getCourseName(),
+                a.assignment().getTitle(), a.assignment().getMaxHundredths()));
+        } else if (change instanceof ChangeEvent.AssignmentRemoved a) {
+            entries.add(new LogEntry.AssignmentRemoved(a.course().getCourseName(), a.assignment().getTitle()));
+        } else if (change instanceof ChangeEvent.CategoryChanged c) {
+            if (c.removed()) {
+                entries.add(new LogEntry.CategoryRemoved(c.course().getCourseName(), c.category().getName()));
+            } else {
+                entries.add(categoryEntry(c.course(), c.category(), c.dropLowestCount(), c.assignments()));
+            }
+        } else if (change instanceof ChangeEvent.FinalGradeAssigned f) {
+            entries.add(new LogEntry.FinalGradeAssigned(f.course().getCourseName(),
+                f.student().getUsername(), f.grade()));
+        } else if (change instanceof ChangeEvent.GradingModeChanged m) {
+            entries.add(new LogEntry.GradingModeChanged(m.course().getCourseName(), m.weighted()));
+        }
+        return entries;
+    }
+
+    /**
+     * Describes a whole course, so a course added with content already in it
+     * is recorded completely.
+     * @param course the course added
+     * @param entries receives the entries
+     */
+    private void courseEntries(Course course, List<LogEntry> entries) {
+        String name = course.getCourseName();
+        List<String> teachers = new ArrayList<>();
+        for (User user : model.getAllUsers()) {
+            if (user instanceof Teacher teacher && teacher.getTeachingCourses().contains(course)) {
+                teachers.add(teacher.getUsername());
+            }
+        }
+        entries.add(new LogEntry.CourseAdded(name, teachers));
+
+        course.getLock().readLock().lock();
+        try {
+            CourseSnapshot snapshot = course.getSnapshot();
+            if (snapshot.isWeightedGrading()) {
+                entries.add(new LogEntry.GradingModeChanged(name, true));
+            }
+            for (Assignment assignment : snapshot.getAssignments()) {
+                entries.add(new LogEntry.AssignmentAdded(name, assignment.getTitle(), assignment.getMaxHundredths()));
+            }
+            for (Category category : snapshot.getCategories()) {
+                entries.add(categoryEntry(course, category, category.getDropLowestCount(),
+                    category.getAssignments()));
+            }
+            for (Student student : snapshot.getStudents()) {
+                if (model.getStudentByUsername(student.getUsername()) != student) {
+                    entries.add(userEntry(student));
+                }
+                entries.add(new LogEntry.StudentEnrolled(name, student.getUsername()));
+            }
+            for (Assignment assignment : snapshot.getAssignments()) {
+                for (Map.Entry<Student, Grade> cell : assignment.getStudentGrades().entrySet()) {
+                    entries.add(new LogEntry.GradeAssigned(name, assignment.getTitle(),
+                        cell.getKey().getUsername(), cell.getValue().getPointsHundredths()));
+                }
+            }
+            for (Map.Entry<Student, FinalGrade> grade : snapshot.getFinalGrades().entrySet()) {
+                entries.add(new LogEntry.FinalGradeAssigned(name, grade.getKey().getUsername(), grade.getValue()));
+            }
+        } finally {
+            course.getLock().readLock().unlock();
+        }
+    }
+
+    /**
+     * Describes a category's whole state.
+     * @param course the course owning the category
+     * @param category the category
+     * @param dropLowestCount the category's drop rule
+     * @param assignments the category's assignments
+     * @return the entry
+     */
+    private static LogEntry categoryEntry(Course course, Category category, int dropLowestCount,
+                                          List<Assignment> assignments) {
+        List<String> titles = new ArrayList<>();
+        for (Assignment assignment : assignments) {
+            titles.add(assignment.getTitle());
+        }
+        return new LogEntry.CategoryUpdated(course.getCourseName(), category.getName(),
+            category.getWeight(), dropLowestCount, titles);
+    }
+
+    /**
+     * Describes a user.
+     * @param user the user
+     * @return the entry
+     */
+    private static LogEntry userEntry(User user) {
+        return new LogEntry.UserAdded(user instanceof Teacher, user.getUsername(),
+            user.getFirstName(), user.getLastName(), user.getPasswordHash());
+    }
+
+    /**
+     * Applies one entry to the model. Every entry sets state, so applying an
+     * entry the snapshot already reflects changes nothing.
+     * @param entry the entry to apply
+     * @return true if the entry's course, users and assignments were found
+     */
+    private boolean apply(LogEntry entry) {
+        if (entry instanceof LogEntry.UserAdded u) {
+            if (u.teacher()) {
+                model.addTeacher(new Teacher(u.username(), u.firstName(), u.lastName(), u.passwordHash()));
+            } else {
+                model.addStudent(new Student(u.firstName(), u.lastName(), u.username(), u.passwordHash()));
+            }
+            return true;
+        }
+        if (entry instanceof LogEntry.CourseAdded c) {
+            Course course = model.getCourseByName(c.course());
+            if (course == null) {
+                course = new Course(c.course(), model.getIdRegistry());
+                model.addCourse(course);
+            }
+            for (String username : c.teachers()) {
+                Teacher teacher = model.getTeacherByUsername(username);
+                if (teacher != null) {
+                    teacher.addCourse(course);
+                }
+            }
+            return true;
+        }
+
+        // Every other entry belongs to a course that must already exist
+        Course course = model.getCourseByName(courseOf(entry));
+        if (course == null) {
+            return false;
+        }
+        if (entry instanceof LogEntry.StudentEnrolled e) {
+            Student student = model.getStudentByUsername(e.username());
+            if (student == null) return false;
+            course.addStudent(student);
+        } else if (entry instanceof LogEntry.StudentRemoved r) {
+            Student student = model.getStudentByUsername(r.username());
+            if (student == null) return false;
+            if (course.getStudents().contains(student)) {
+                course.removeStudent(student);
+            }
+        } else if (entry instanceof LogEntry.AssignmentAdded a) {
+            if (findAssignment(course, a.title()) == null) {
+                course.addAssignment(new Assignment(a.title(), Score.toPoints(a.maxHundredths()), course));
+            }
+        } else if (entry instanceof LogEntry.AssignmentRemoved a) {
+            Assignment assignment = findAssignment(course, a.title());
+            if (assignment == null) return false;
+            course.removeAssignment(assignment);
+        } else if (entry instanceof LogEntry.GradeAssigned g) {
+            Assignment assignment = findAssignment(course, g.assignment());
+            Student student = model.getStudentByUsername(g.username());
+            if (assignment == null || student == null) return false;
+            assignment.assignGrade(student, Score.toPoints(g.hundredths()));
+        } else if (entry instanceof LogEntry.FinalGradeAssigned f) {
+            Student student = model.getStudentByUsername(f.username());
+            if (student == null) return false;
+            course.assignFinalGrade(student, f.grade());
+        } else if (entry instanceof LogEntry.GradingModeChanged m) {
+            course.setGradingMode(m.weighted());
+        } else if (entry instanceof LogEntry.CategoryUpdated c) {
+            applyCategory(course, c);
+        } else if (entry instanceof LogEntry.CategoryRemoved c) {
+            return course.removeCategory(c.name());
+        }
+        return true;
+    }
+
+    /**
+     * Creates or updates a category to match a logged state.
+     * @param course the course owning the category
+     * @param entry the logged category state
+     */
+    private static void applyCategory(Course course, LogEntry.CategoryUpdated entry) {
+        Category category = null;
+        for (Category existing : course.getCategories()) {
+            if (existing.getName().equals(entry.name())) {
+                category = existing;
+            }
+        }
+        boolean added = category == null;
+        if (added) {
+            category = new Category(entry.name(), entry.weight());
+        }
+        for (String title : entry.assignments()) {
+            Assignment assignment = findAssignment(course, title);
+            if (assignment != null && !category.getAssignments().contains(assignment)) {
+                category.addAssignment(assignment);
+            }
+        }
+        if (added && !course.addCategory(category)) {
+            throw new IllegalArgumentException("Category weights exceed 100%");
+        }
+        if (category.getDropLowestCount() != entry.dropLowestCount()) {
+            category.setDropLowestCount(entry.dropLowestCount(), course);
+        }
+    }
+
+    /**
+     * Gets the course name of an entry that belongs to one course.
+     * @param entry the entry
+     * @return the course name
+     */
+    private static String courseOf(LogEntry entry) {
+        if (entry instanceof LogEntry.StudentEnrolled e) return e.course();
+        if (entry instanceof LogEntry.StudentRemoved e) return e.course();
+        if (entry instanceof LogEntry.AssignmentAdded e) return e.course();
+        if (entry instanceof LogEntry.AssignmentRemoved e) return e.course();
+        if (entry instanceof LogEntry.GradeAssigned e) return e.course();
+        if (entry instanceof LogEntry.FinalGradeAssigned e) return e.course();
+        if (entry instanceof LogEntry.GradingModeChanged e) return e.course();
+        if (entry instanceof LogEntry.CategoryUpdated e) return e.course();
+        if (entry instanceof LogEntry.CategoryRemoved e) return e.course();
+        return null;
+    }
+
+    /**
+     * Finds an assignment by title; titles identify assignments in the log.
+     * @param course the course to search
+     * @param title the title
+     * @return the first assignment with that title, or null
+     */
+    private static Assignment findAssignment(Course course, String title) {
+        for (Assignment assignment : course.getAssignments()) {
+            if (assignment.getTitle().equals(title)) {
+                return assignment;
+            }
+        }
+        return null;
+    }
+}
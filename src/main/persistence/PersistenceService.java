@@ -0,0 +1,374 @@
+/**
+ * Project Name: Gradebook
+ * File Name: PersistenceService.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: Moves disk writes off the calling thread. Callers enqueue log entries or
+ *          whole-file rewrites on a bounded queue and get a future back at once; a
+ *          single writer thread drains the queue in batches, appends every entry in a
+ *          batch with one fsync, writes each rewritten file once (the latest content
+ *          wins), and then completes the futures so callers learn when their change
+ *          is durable.
+ */
+package persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public final class PersistenceService implements AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 4096;
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(5);
+
+    private final WriteAheadLog log;
+    private final BlockingQueue<Request> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Thread writer;
+    private final ReadWriteLock closeLock; // enqueuers share it; close takes it alone
+    private boolean closed; // guarded by closeLock
+    private long batchCount;
+
+    /**
+     * Constructs a service with the default queue capacity, batch size and flush interval.
+     * @param log the log that entries are appended to
+     */
+    public PersistenceService(WriteAheadLog log) {
+        this(log, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    /**
+     * Constructs a service and starts its writer thread.
+     * @param log the log that entries are appended to
+     * @param capacity how many requests may wait before callers block
+     * @param batchSize the most requests written together
+     * @param flushInterval how long the writer waits for more requests after the
+     *                      first one of a batch; zero writes whatever is queued at once
+     * @throws IllegalArgumentException if capacity or batch size is below 1
+     */
+    public PersistenceService(WriteAheadLog log, int capacity, int batchSize, Duration flushInterval) {
+        if (capacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Capacity and batch size must be at least 1");
+        }
+        this.log = Objects.requireNonNull(log, "log");
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = Math.max(0, flushInterval.toNanos());
+        this.closeLock = new ReentrantReadWriteLock();
+        this.writer = new Thread(this::run, "gradebook-persistence");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues log entries to be appended together. Returns at once unless the
+     * queue is full, in which case the caller waits for room.
+     * @param entries the entries to append, in order
+     * @return completes once the entries are durable, or exceptionally if writing fails
+     */
+    public CompletableFuture<Void> append(List<LogEntry> entries) {
+        return enqueue(new Append(List.copyOf(entries), new CompletableFuture<>()));
+    }
+
+    /**
+     * Queues a rewrite of a whole text file. If several rewrites of the same file
+     * are written in one batch, only the latest content reaches the disk.
+     * @param file the file to replace
+     * @param lines the new content, captured by the caller
+     * @return completes once the file is durable, or exceptionally if writing fails
+     */
+    public CompletableFuture<Void> rewrite(Path file, List<String> lines) {
+        return enqueue(new Rewrite(file.toAbsolutePath(), List.copyOf(lines), new CompletableFuture<>()));
+    }
+
+    /**
+     * Queues a marker that completes once everything queued before it is durable.
+     * @return completes after the earlier requests are written
+     */
+    public CompletableFuture<Void> flush() {
+        return enqueue(new Flush(new CompletableFuture<>()));
+    }
+
+    /**
+     * Waits until everything queued so far is durable.
+     * @throws IOException if an earlier request in the same batch failed to write,
+     *                     or the wait is interrupted
+     */
+    public void sync() throws IOException {
+        await(flush());
+    }
+
+    /**
+     * Gets how many batches the writer has written.
+     * @return batch count
+     */
+    public synchronized long getBatchCount() {
+        return batchCount;
+    }
+
+    /**
+     * Writes everything already queued, then stops the writer thread. Requests
+     * made after closing fail. Close waits for enqueues already in progress, so
+     * every request is either queued before the stop marker or rejected.
+     * @throws IOException if interrupted while waiting for the writer
+     */
+    @Override
+    public void close() throws IOException {
+        closeLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        try {
+            queue.put(new Stop());
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting for pending writes", e);
+        }
+    }
+
+    /**
+     * Waits for a durability future, unwrapping its failure.
+     * @param future the future returned by this service
+     * @throws IOException if the write failed or the wait is interrupted
+     */
+    public static void await(CompletableFuture<Void> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting for a write", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException io ? io : new IOException(cause);
+        }
+    }
+
+    /**
+     * Puts a request on the queue, waiting for room if it is full. The check and
+     * the put happen under the close lock, so close cannot slip between them.
+     * @param request the request
+     * @return the request's future
+     */
+    private CompletableFuture<Void> enqueue(Request request) {
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IOException("Persistence service is closed"));
+            }
+            queue.put(request); // The writer keeps draining, so a full queue still frees up
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            request.done().completeExceptionally(new IOException("Interrupted waiting for queue space", e));
+        } finally {
+            closeLock.readLock().unlock();
+        }
+        return request.done();
+    }
+
+    /**
+     * Writer loop: gathers a batch, writes it, repeats until told to stop.
+     */
+    private void run() {
+        List<Request> batch = new ArrayList<>(batchSize);
+        boolean stopping = false;
+        while (!stopping) {
+            batch.clear();
+            try {
+                stopping = gather(batch);
+            } catch (InterruptedException e) {
+                stopping = true; // Write what was gathered, then exit
+            }
+            if (!batch.isEmpty()) {
+                try {
+                    write(batch);
+                } catch (RuntimeException e) {
+                    // Keep the writer alive; callers still learn their write failed
+                    for (Request request : batch) {
+                        request.done().completeExceptionally(e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Blocks for the first request, then keeps taking requests until the batch is
+     * full, the flush interval has passed, or a flush or stop is seen.
+     * @param batch receives the requests
+     * @return true if a stop request was seen
+     * @throws InterruptedException if the writer thread is interrupted
+     */
+    private boolean gather(List<Request> batch) throws InterruptedException {
+        Request next = queue.take();
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (true) {
+            if (next instanceof Stop) {
+                queue.drainTo(batch); // Everything queued before close is still written
+                return true;
+            }
+            batch.add(next);
+            if (next instanceof Flush || batch.size() >= batchSize) {
+                return false;
+            }
+            next = queue.poll();
+            if (next == null) {
+                long wait = deadline - System.nanoTime();
+                if (wait <= 0) {
+                    return false;
+                }
+                next = queue.poll(wait, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes one batch: every entry with a single log commit, then the latest
+     * content of each rewritten file. Futures complete after their write.
+     * @param batch the requests, in queue order
+     */
+    private void write(List<Request> batch) {
+        // Appends share one fsync; rewrites of the same file collapse to the last one
+        List<Append> appends = new ArrayList<>();
+        Map<Path, Rewrite> rewrites = new LinkedHashMap<>();
+        Map<Path, List<CompletableFuture<Void>>> rewriteWaiters = new LinkedHashMap<>();
+        List<CompletableFuture<Void>> flushes = new ArrayList<>();
+        for (Request request : batch) {
+            if (request instanceof Append append) {
+                appends.add(append);
+            } else if (request instanceof Rewrite rewrite) {
+                rewrites.remove(rewrite.file()); // Keep the write in the position of its latest request
+                rewrites.put(rewrite.file(), rewrite);
+                rewriteWaiters.computeIfAbsent(rewrite.file(), f -> new ArrayList<>()).add(rewrite.done());
+            } else {
+                flushes.add(request.done());
+            }
+        }
+
+        // Counted before any future completes, so a caller woken by one sees this batch
+        synchronized (this) {
+            batchCount++;
+        }
+
+        IOException failure = null;
+        if (!appends.isEmpty()) {
+            IOException appendFailure = null;
+            try {
+                for (Append append : appends) {
+                    for (LogEntry entry : append.entries()) {
+                        log.append(entry);
+                    }
+                }
+                log.commit();
+            } catch (IOException e) {
+                appendFailure = e;
+                failure = e;
+            }
+            for (Append append : appends) {
+                complete(append.done(), appendFailure);
+            }
+        }
+        for (Rewrite rewrite : rewrites.values()) {
+            IOException rewriteFailure = null;
+            try {
+                replaceFile(rewrite.file(), rewrite.lines());
+            } catch (IOException e) {
+                rewriteFailure = e;
+                failure = e;
+            }
+            for (CompletableFuture<Void> waiter : rewriteWaiters.get(rewrite.file())) {
+                complete(waiter, rewriteFailure);
+            }
+        }
+        for (CompletableFuture<Void> flush : flushes) {
+            complete(flush, failure);
+        }
+    }
+
+    /**
+     * Completes a future normally or with a failure. Callbacks run on the writer thread.
+     * @param future the future
+     * @param failure the failure, or null
+     */
+    private static void complete(CompletableFuture<Void> future, IOException failure) {
+        if (failure == null) {
+            future.complete(null);
+        } else {
+            future.completeExceptionally(failure);
+        }
+    }
+
+    /**
+     * Replaces a file with new lines via a synced temporary file, so a crash
+     * leaves either the old or the new content.
+     * @param file the file to replace
+     * @param lines the new content
+     * @throws IOException if writing fails
+     */
+    private static void replaceFile(Path file, List<String> lines) throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (String line : lines) {
+            text.append(line).append(System.lineSeparator());
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(false);
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * A queued unit of work with the future that reports its durability.
+     */
+    private sealed interface Request permits Append, Rewrite, Flush, Stop {
+        CompletableFuture<Void> done();
+    }
+
+    private record Append(List<LogEntry> entries, CompletableFuture<Void> done) implements Request {}
+
+    private record Rewrite(Path file, List<String> lines, CompletableFuture<Void> done) implements Request {}
+
+    private record Flush(CompletableFuture<Void> done) implements Request {}
+
+    private record Stop() implements Request {
+        public CompletableFuture<Void> done() {
+            return new CompletableFuture<>();
+        }
+    }
+}
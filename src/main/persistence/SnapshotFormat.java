@@ -0,0 +1,43 @@
+/**
+ * Project Name: Gradebook
+ * File Name: SnapshotFormat.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: Constants shared by the snapshot writer and reader. A snapshot is one
+ *          big-endian file laid out as:
+ *
+ *          header    magic "GBSN", format version
+ *          users     count, then per user: kind, username, first, last, password hash
+ *          courses   count, then per course:
+ *                      name, weighted flag, assignments to drop
+ *                      assignments: count, then title, max hundredths, histogram width
+ *                      categories:  count, then name, weight, drop count, assignment indexes
+ *                      roster:      count, then user indexes
+ *                      grades:      per assignment, count, user indexes, then hundredths
+ *                      final grades: count, then user index and grade ordinal
+ *                      teachers:    count, then user indexes
+ *          trailer   CRC-32 of every byte before it
+ *
+ *          Strings are a byte length followed by UTF-8, with -1 for null. Grade
+ *          cells are stored as two parallel int arrays so they can be read in bulk.
+ */
+package persistence;
+
+final class SnapshotFormat {
+    /** "GBSN" in ASCII. */
+    static final int MAGIC = 0x4742534E;
+
+    /** Current format version, bumped whenever the layout changes. */
+    static final int VERSION = 1;
+
+    /** User kind tag for students. */
+    static final byte STUDENT = 0;
+
+    /** User kind tag for teachers. */
+    static final byte TEACHER = 1;
+
+    /** Bytes in the trailing checksum. */
+    static final int TRAILER_BYTES = Integer.BYTES;
+
+    private SnapshotFormat() {
+    }
+}
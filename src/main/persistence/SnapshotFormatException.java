@@ -0,0 +1,32 @@
+/**
+ * Project Name: Gradebook
+ * File Name: SnapshotFormatException.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: Thrown when a snapshot file is not a gradebook snapshot, was written by
+ *          an unsupported format version, is truncated or corrupt, or describes
+ *          state the model rejects.
+ */
+package persistence;
+
+import java.io.IOException;
+
+public class SnapshotFormatException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs the exception with a message.
+     * @param message what is wrong with the snapshot
+     */
+    public SnapshotFormatException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs the exception with a message and the underlying cause.
+     * @param message what is wrong with the snapshot
+     * @param cause the error that exposed the problem
+     */
+    public SnapshotFormatException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,337 @@
+/**
+ * Project Name: Gradebook
+ * File Name: SnapshotReader.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: Restores a GradebookModel from a binary snapshot written by SnapshotWriter.
+ *          The file is memory-mapped and checked against its CRC-32 trailer before
+ *          anything is built; grade cells are read as bulk int arrays and restored one
+ *          column at a time, so large terms load without per-grade work or events.
+ *          No user or course is added to the model unless the whole file parses.
+ */
+package persistence;
+
+import model.*;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+public final class SnapshotReader {
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    private final ByteBuffer buffer;
+    private final UserIdentityMap identities;
+    private final IdRegistry ids;
+    private User[] users;
+    private final List<Teaching> teaching = new ArrayList<>();
+
+    /**
+     * Constructs a reader over a mapped snapshot.
+     * @param buffer the whole snapshot file
+     * @param identities the model's identity map, used to reuse known users
+     * @param ids the model's ID registry, which restored courses draw from
+     */
+    private SnapshotReader(ByteBuffer buffer, UserIdentityMap identities, IdRegistry ids) {
+        this.buffer = buffer;
+        this.identities = identities;
+        this.ids = ids;
+    }
+
+    /**
+     * Loads a snapshot into a model. Users already known to the model keep
+     * their existing instances; courses replace any course with the same name.
+     * @param file the snapshot to read
+     * @param model the model to load into
+     * @throws SnapshotFormatException if the file is not a valid snapshot
+     * @throws IOException if the file cannot be read
+     */
+    public static void read(Path file, GradebookModel model) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new SnapshotFormatException("Snapshot too large to map: " + size + " bytes");
+            }
+            if (size < HEADER_BYTES + SnapshotFormat.TRAILER_BYTES) {
+                throw new SnapshotFormatException("Snapshot truncated: " + size + " bytes");
+            }
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        SnapshotReader reader = new SnapshotReader(buffer, model.getIdentityMap(), model.getIdRegistry());
+        List<Course> courses = reader.readModel();
+
+        // Everything parsed; only now does the model see the loaded state
+        for (User user : reader.users) {
+            if (user instanceof Student student) {
+                model.addStudent(student);
+            } else {
+                model.addTeacher((Teacher) user);
+            }
+        }
+        for (Teaching link : reader.teaching) {
+            link.teacher().addCourse(link.course());
+        }
+        for (Course course : courses) {
+            model.addCourse(course);
+        }
+    }
+
+    /**
+     * Checks the header and checksum, then reads the users and courses.
+     * @return the restored courses
+     * @throws SnapshotFormatException if the file is not a valid snapshot
+     */
+    private List<Course> readModel() throws SnapshotFormatException {
+        int bodyEnd = buffer.limit() - SnapshotFormat.TRAILER_BYTES;
+        if (buffer.getInt(0) != SnapshotFormat.MAGIC) {
+            throw new SnapshotFormatException("Not a gradebook snapshot");
+        }
+        int version = buffer.getInt(Integer.BYTES);
+        if (version != SnapshotFormat.VERSION) {
+            throw new SnapshotFormatException("Unsupported snapshot version " + version);
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.duplicate().position(0).limit(bodyEnd));
+        if ((int) checksum.getValue() != buffer.getInt(bodyEnd)) {
+            throw new SnapshotFormatException("Snapshot checksum mismatch");
+        }
+
+        // Reading past the body means a count or length was wrong
+        buffer.position(HEADER_BYTES).limit(bodyEnd);
+        try {
+            readUsers();
+            int courseCount = readCount();
+            List<Course> courses = new ArrayList<>(courseCount);
+            for (int c = 0; c < courseCount; c++) {
+                courses.add(readCourse());
+            }
+            if (buffer.hasRemaining()) {
+                throw error("Unexpected data after the last course");
+            }
+            return courses;
+        } catch (BufferUnderflowException e) {
+            throw new SnapshotFormatException("Snapshot ends in the middle of a record", e);
+        } catch (IllegalArgumentException e) {
+            throw new SnapshotFormatException("Snapshot rejected at offset " + buffer.position()
+                + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the user table, reusing the canonical instance of any known username.
+     * @throws SnapshotFormatException if a user record is invalid
+     */
+    private void readUsers() throws SnapshotFormatException {
+        users = new User[readCount()];
+        for (int i = 0; i < users.length; i++) {
+            byte kind = buffer.get();
+            String username = readString();
+            String firstName = readString();
+            String lastName = readString();
+            String passwordHash = readString();
+            if (kind == SnapshotFormat.STUDENT) {
+                Student known = identities.findStudent(username);
+                users[i] = known != null ? known : new Student(firstName, lastName, username, passwordHash);
+            } else if (kind == SnapshotFormat.TEACHER) {
+                Teacher known = identities.findTeacher(username);
+                users[i] = known != null ? known : new Teacher(username, firstName, lastName, passwordHash);
+            } else {
+                throw error("Unknown user kind " + kind);
+            }
+        }
+    }
+
+    /**
+     * Rebuilds one course inside a suspended scope, so it is built under its
+     * write lock and publishes a single snapshot.
+     * @return the restored course
+     * @throws SnapshotFormatException if the course record is invalid
+     */
+    private Course readCourse() throws SnapshotFormatException {
+        Course course = new Course(readString(), ids);
+        course.suspendNotifications();
+        try {
+            course.setGradingMode(buffer.get() != 0);
+            course.setAssignmentsToDrop(buffer.getInt());
+
+            Assignment[] assignments = new Assignment[readCount()];
+            for (int a = 0; a < assignments.length; a++) {
+                String title = readString();
+                int maxHundredths = buffer.getInt();
+                double bucketWidth = buffer.getDouble();
+                assignments[a] = new Assignment(title, Score.toPoints(maxHundredths), course);
+                course.addAssignment(assignments[a]);
+                if (bucketWidth != assignments[a].getHistogramBucketWidth()) {
+                    assignments[a].setHistogramBucketWidth(bucketWidth);
+                }
+            }
+
+            int categoryCount = readCount();
+            for (int c = 0; c < categoryCount; c++) {
+                Category category = new Category(readString(), buffer.getDouble());
+                int dropLowest = buffer.getInt();
+                int memberCount = readCount();
+                for (int m = 0; m < memberCount; m++) {
+                    category.addAssignment(assignments[readIndex(assignments.length, "assignment")]);
+                }
+                if (!course.addCategory(category)) {
+                    throw error("Category weights of " + course.getCourseName() + " exceed 100%");
+                }
+                if (dropLowest != 0) {
+                    category.setDropLowestCount(dropLowest, course);
+                }
+            }
+
+            // Enroll before restoring grades so the cells count toward statistics
+            Student[] roster = new Student[readCount()];
+            for (int s = 0; s < roster.length; s++) {
+                roster[s] = readStudent();
+            }
+            course.addStudents(Arrays.asList(roster));
+
+            for (Assignment assignment : assignments) {
+                int cellCount = readCount();
+                int[] userIndexes = readInts(cellCount);
+                int[] points = readInts(cellCount);
+                Student[] students = new Student[cellCount];
+                for (int i = 0; i < cellCount; i++) {
+                    students[i] = studentAt(userIndexes[i]);
+                }
+                assignment.restoreGrades(students, points, cellCount);
+            }
+
+            int finalCount = readCount();
+            FinalGrade[] letters = FinalGrade.values();
+            for (int f = 0; f < finalCount; f++) {
+                Student student = readStudent();
+                course.assignFinalGrade(student, letters[readIndex(buffer.get(), letters.length, "final grade")]);
+            }
+
+            int teacherCount = readCount();
+            for (int t = 0; t < teacherCount; t++) {
+                if (!(users[readIndex(users.length, "user")] instanceof Teacher teacher)) {
+                    throw error("Course teacher is not a teacher");
+                }
+                teaching.add(new Teaching(teacher, course)); // Linked once the whole file parses
+            }
+        } finally {
+            course.resumeNotifications();
+        }
+        return course;
+    }
+
+    /**
+     * Reads a user index that must name a student.
+     * @return the student
+     * @throws SnapshotFormatException if the index is out of range or not a student
+     */
+    private Student readStudent() throws SnapshotFormatException {
+        return studentAt(buffer.getInt());
+    }
+
+    /**
+     * Looks up a user index that must name a student.
+     * @param index the user index
+     * @return the student
+     * @throws SnapshotFormatException if the index is out of range or not a student
+     */
+    private Student studentAt(int index) throws SnapshotFormatException {
+        if (!(users[readIndex(index, users.length, "user")] instanceof Student student)) {
+            throw error("User " + index + " is not a student");
+        }
+        return student;
+    }
+
+    /**
+     * Reads a count, which must be non-negative.
+     * @return the count
+     * @throws SnapshotFormatException if the count is negative
+     */
+    private int readCount() throws SnapshotFormatException {
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining()) {
+            throw error("Invalid count " + count);
+        }
+        return count;
+    }
+
+    /**
+     * Reads an index and checks it against a table size.
+     * @param size the table size
+     * @param what what the index refers to, for the error message
+     * @return the index
+     * @throws SnapshotFormatException if the index is out of range
+     */
+    private int readIndex(int size, String what) throws SnapshotFormatException {
+        return readIndex(buffer.getInt(), size, what);
+    }
+
+    /**
+     * Checks an index already read against a table size.
+     * @param index the index
+     * @param size the table size
+     * @param what what the index refers to, for the error message
+     * @return the index
+     * @throws SnapshotFormatException if the index is out of range
+     */
+    private int readIndex(int index, int size, String what) throws SnapshotFormatException {
+        if (index < 0 || index >= size) {
+            throw error("Invalid " + what + " index " + index);
+        }
+        return index;
+    }
+
+    /**
+     * Reads an array of ints in one bulk copy.
+     * @param count how many to read
+     * @return the values
+     */
+    private int[] readInts(int count) {
+        int[] values = new int[count];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return values;
+    }
+
+    /**
+     * Reads a length-prefixed UTF-8 string, or null for length -1.
+     * @return the string
+     * @throws SnapshotFormatException if the length is invalid
+     */
+    private String readString() throws SnapshotFormatException {
+        int length = buffer.getInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0 || length > buffer.remaining()) {
+            throw error("Invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Builds an error that names where in the file the problem was found.
+     * @param message what is wrong
+     * @return the exception to throw
+     */
+    private SnapshotFormatException error(String message) {
+        return new SnapshotFormatException(message + " at offset " + buffer.position());
+    }
+
+    /**
+     * A teacher-to-course link read from the file.
+     */
+    private record Teaching(Teacher teacher, Course course) {}
+}
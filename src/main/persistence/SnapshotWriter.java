@@ -0,0 +1,321 @@
+/**
+ * Project Name: Gradebook
+ * File Name: SnapshotWriter.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: Writes the whole GradebookModel (users, courses, categories, assignments,
+ *          grade cells and final grades) to a binary snapshot in one sequential pass.
+ *          Each course is captured under its read lock so the file holds a consistent
+ *          state per course, and the file is written to a temporary sibling and moved
+ *          into place so a crash never leaves a half-written snapshot behind.
+ */
+package persistence;
+
+import model.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+public final class SnapshotWriter {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final CRC32 checksum;
+    private final Map<User, Integer> userIndex;
+
+    /**
+     * Constructs a writer over an open channel.
+     * @param channel the channel to write to, positioned at the start
+     */
+    private SnapshotWriter(FileChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.checksum = new CRC32();
+        this.userIndex = new LinkedHashMap<>();
+    }
+
+    /**
+     * Writes a snapshot of the model, replacing the file only once the new
+     * snapshot is complete and on disk.
+     * @param model the model to save
+     * @param file where to write the snapshot
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(GradebookModel model, Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            new SnapshotWriter(channel).writeModel(model);
+            channel.force(true); // Durable before it replaces the previous snapshot
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Captures every course, then writes the header, users, courses and checksum.
+     * @param model the model to save
+     * @throws IOException if writing fails
+     */
+    private void writeModel(GradebookModel model) throws IOException {
+        // Capture each course first so every user it references is in the user table
+        List<Course> courses = model.getAllCourses();
+        List<CourseImage> images = new ArrayList<>(courses.size());
+        for (User user : model.getAllUsers()) {
+            indexUser(user);
+        }
+        for (Course course : courses) {
+            images.add(capture(course));
+        }
+        Map<Course, List<Teacher>> teachersByCourse = new HashMap<>();
+        for (User user : userIndex.keySet()) {
+            if (user instanceof Teacher teacher) {
+                for (Course course : teacher.getTeachingCourses()) {
+                    teachersByCourse.computeIfAbsent(course, c -> new ArrayList<>()).add(teacher);
+                }
+            }
+        }
+
+        putInt(SnapshotFormat.MAGIC);
+        putInt(SnapshotFormat.VERSION);
+        writeUsers();
+        putInt(images.size());
+        for (CourseImage image : images) {
+            writeCourse(image, teachersByCourse.getOrDefault(image.course(), List.of()));
+        }
+
+        // The trailer covers every byte before it
+        flush();
+        buffer.putInt((int) checksum.getValue());
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Copies everything the file needs from one course while holding its read lock.
+     * @param course the course to capture
+     * @return the captured state
+     */
+    private CourseImage capture(Course course) {
+        course.getLock().readLock().lock();
+        try {
+            CourseSnapshot snapshot = course.getSnapshot(); // Current while the read lock is held
+            List<Assignment> assignments = snapshot.getAssignments();
+            double[] bucketWidths = new double[assignments.size()];
+            Student[][] cellStudents = new Student[assignments.size()][];
+            int[][] cellPoints = new int[assignments.size()][];
+            for (int a = 0; a < assignments.size(); a++) {
+                Assignment assignment = assignments.get(a);
+                bucketWidths[a] = assignment.getHistogramBucketWidth();
+                Map<Student, Grade> grades = assignment.getStudentGrades();
+                Student[] students = new Student[grades.size()];
+                int[] points = new int[grades.size()];
+                int i = 0;
+                for (Map.Entry<Student, Grade> cell : grades.entrySet()) {
+                    students[i] = cell.getKey();
+                    points[i] = cell.getValue().getPointsHundredths();
+                    indexUser(students[i]);
+                    i++;
+                }
+                cellStudents[a] = students;
+                cellPoints[a] = points;
+            }
+            for (Student student : snapshot.getStudents()) {
+                indexUser(student);
+            }
+            for (Student student : snapshot.getFinalGrades().keySet()) {
+                indexUser(student);
+            }
+            return new CourseImage(course, snapshot, course.getAssignmentsToDrop(),
+                bucketWidths, cellStudents, cellPoints);
+        } finally {
+            course.getLock().readLock().unlock();
+        }
+    }
+
+    /**
+     * Gives a user the next index in the user table if it does not have one yet.
+     * @param user the user to add
+     */
+    private void indexUser(User user) {
+        userIndex.putIfAbsent(user, userIndex.size());
+    }
+
+    /**
+     * Writes the user table in index order.
+     * @throws IOException if writing fails
+     */
+    private void writeUsers() throws IOException {
+        putInt(userIndex.size());
+        for (User user : userIndex.keySet()) {
+            putByte(user instanceof Teacher ? SnapshotFormat.TEACHER : SnapshotFormat.STUDENT);
+            putString(user.getUsername());
+            putString(user.getFirstName());
+            putString(user.getLastName());
+            putString(user.getPasswordHash());
+        }
+    }
+
+    /**
+     * Writes one captured course.
+     * @param image the captured course
+     * @param teachers the teachers teaching it
+     * @throws IOException if writing fails
+     */
+    private void writeCourse(CourseImage image, List<Teacher> teachers) throws IOException {
+        CourseSnapshot snapshot = image.snapshot();
+        putString(snapshot.getCourseName());
+        putByte((byte) (snapshot.isWeightedGrading() ? 1 : 0));
+        putInt(image.assignmentsToDrop());
+
+        // Assignments, remembering their positions for the category lists
+        List<Assignment> assignments = snapshot.getAssignments();
+        Map<Assignment, Integer> assignmentIndex = new HashMap<>();
+        putInt(assignments.size());
+        for (int a = 0; a < assignments.size(); a++) {
+            Assignment assignment = assignments.get(a);
+            assignmentIndex.put(assignment, a);
+            putString(assignment.getTitle());
+            putInt(assignment.getMaxHundredths());
+            putDouble(image.bucketWidths()[a]);
+        }
+
+        List<Category> categories = snapshot.getCategories();
+        putInt(categories.size());
+        for (Category category : categories) {
+            CourseSnapshot.CategoryRule rule = snapshot.getCategoryRule(category);
+            putString(category.getName());
+            putDouble(category.getWeight());
+            putInt(rule.dropLowestCount());
+            // A category may still list an assignment that is not part of the course; it has no index to write
+            List<Integer> members = new ArrayList<>(rule.assignments().size());
+            for (Assignment assignment : rule.assignments()) {
+                Integer index = assignmentIndex.get(assignment);
+                if (index != null) {
+                    members.add(index);
+                }
+            }
+            putInt(members.size());
+            for (int index : members) {
+                putInt(index);
+            }
+        }
+
+        List<Student> roster = snapshot.getStudents();
+        putInt(roster.size());
+        for (Student student : roster) {
+            putInt(userIndex.get(student));
+        }
+
+        // Grade cells column by column: all user indexes, then all points
+        for (int a = 0; a < assignments.size(); a++) {
+            Student[] students = image.cellStudents()[a];
+            int[] points = image.cellPoints()[a];
+            putInt(students.length);
+            for (Student student : students) {
+                putInt(userIndex.get(student));
+            }
+            for (int value : points) {
+                putInt(value);
+            }
+        }
+
+        Map<Student, FinalGrade> finalGrades = snapshot.getFinalGrades();
+        putInt(finalGrades.size());
+        for (Map.Entry<Student, FinalGrade> entry : finalGrades.entrySet()) {
+            putInt(userIndex.get(entry.getKey()));
+            putByte((byte) entry.getValue().ordinal());
+        }
+
+        putInt(teachers.size());
+        for (Teacher teacher : teachers) {
+            putInt(userIndex.get(teacher));
+        }
+    }
+
+    /**
+     * Makes room for a value, writing the buffer out if it is too full.
+     * @param bytes the size of the value about to be put
+     * @throws IOException if writing fails
+     */
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the buffered bytes to the channel and adds them to the checksum.
+     * @throws IOException if writing fails
+     */
+    private void flush() throws IOException {
+        buffer.flip();
+        checksum.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void putByte(byte value) throws IOException {
+        ensure(Byte.BYTES);
+        buffer.put(value);
+    }
+
+    private void putInt(int value) throws IOException {
+        ensure(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    private void putDouble(double value) throws IOException {
+        ensure(Double.BYTES);
+        buffer.putDouble(value);
+    }
+
+    /**
+     * Writes a length-prefixed UTF-8 string, or -1 for null. Strings longer than
+     * the buffer are written through it in pieces.
+     * @param value the string to write
+     * @throws IOException if writing fails
+     */
+    private void putString(String value) throws IOException {
+        if (value == null) {
+            putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putInt(bytes.length);
+        int offset = 0;
+        while (offset < bytes.length) {
+            ensure(1);
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    /**
+     * One course as captured under its read lock.
+     */
+    private record CourseImage(Course course, CourseSnapshot snapshot, int assignmentsToDrop,
+                               double[] bucketWidths, Student[][] cellStudents, int[][] cellPoints) {}
+}
@@ -0,0 +1,389 @@
+/**
+ * Project Name: Gradebook
+ * File Name: WriteAheadLog.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: Append-only log of gradebook mutations. Each entry is framed as
+ *          [payload length][CRC-32][payload], so a grade edit costs one small
+ *          append instead of rewriting a whole file. Appends are buffered in memory
+ *          and made durable by group commit: the first thread to sync writes and
+ *          fsyncs everything appended so far, and threads that arrive meanwhile wait
+ *          for that fsync instead of issuing their own. On open, the log is scanned,
+ *          a torn tail left by a crash is cut off, and the intact entries are kept
+ *          for replay on top of the last snapshot.
+ */
+package persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+public final class WriteAheadLog implements Closeable {
+    /** "GBWL" in ASCII. */
+    static final int MAGIC = 0x4742574C;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int FRAME_BYTES = 2 * Integer.BYTES;
+
+    private final Path file;
+    private final Object lock = new Object();
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private final DataOutputStream pendingOut = new DataOutputStream(pending);
+    private final ByteArrayOutputStream scratch = new ByteArrayOutputStream();
+    private final DataOutputStream scratchOut = new DataOutputStream(scratch);
+    private final CRC32 checksum = new CRC32();
+    private final List<LogEntry> recovered;
+
+    private FileChannel channel;
+    private long appended;    // sequence number of the last appended entry
+    private long durable;     // sequence number of the last entry known to be on disk
+    private long durableEnd;  // file offset just past the last durable entry
+    private boolean syncing;
+    private long syncCount;
+    private IOException failure;
+    private boolean closed;
+
+    /**
+     * Constructs a log over an open channel positioned at the end of the intact entries.
+     * @param file the log file
+     * @param channel the open channel
+     * @param recovered the intact entries found when opening
+     * @param end the offset just past the last intact entry
+     */
+    private WriteAheadLog(Path file, FileChannel channel, List<LogEntry> recovered, long end) {
+        this.file = file;
+        this.channel = channel;
+        this.recovered = Collections.unmodifiableList(recovered);
+        this.durableEnd = end;
+    }
+
+    /**
+     * Opens a log, creating it if needed. Intact entries are kept for replay and
+     * anything after the first damaged or incomplete entry is cut off.
+     * @param file the log file
+     * @return the open log, positioned for appending
+     * @throws IOException if the file cannot be opened or is not a gradebook log
+     */
+    public static WriteAheadLog open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            List<LogEntry> entries = new ArrayList<>();
+            long end = channel.size() < HEADER_BYTES ? writeHeader(channel) : scan(channel, entries);
+            if (end < channel.size()) {
+                channel.truncate(end); // Drop the torn tail so new entries follow intact ones
+                channel.force(false);
+            }
+            channel.position(end);
+            return new WriteAheadLog(file, channel, entries, end);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the intact entries found when the log was opened, oldest first.
+     * @return the entries to replay
+     */
+    public List<LogEntry> getRecoveredEntries() {
+        return recovered;
+    }
+
+    /**
+     * Buffers an entry. It is not durable until a sync covers its sequence number.
+     * @param entry the mutation to record
+     * @return the entry's sequence number
+     * @throws IOException if the log is closed or an earlier write failed
+     */
+    public long append(LogEntry entry) throws IOException {
+        synchronized (lock) {
+            checkUsable();
+            scratch.reset();
+            LogEntry.write(entry, scratchOut);
+            byte[] payload = scratch.toByteArray();
+            checksum.reset();
+            checksum.update(payload);
+            pendingOut.writeInt(payload.length);
+            pendingOut.writeInt((int) checksum.getValue());
+            pendingOut.write(payload);
+            return ++appended;
+        }
+    }
+
+    /**
+     * Makes every entry up to a sequence number durable. If another thread is
+     * already syncing, this waits for it and only syncs again if its entry was
+     * appended too late to be included.
+     * @param sequence the sequence number returned by {@link #append(LogEntry)}
+     * @throws IOException if writing or syncing fails
+     */
+    public void sync(long sequence) throws IOException {
+        byte[] batch;
+        long batchSequence;
+        synchronized (lock) {
+            while (true) {
+                if (failure != null) {
+                    throw new IOException("Write-ahead log failed earlier", failure);
+                }
+                if (durable >= sequence) {
+                    return;
+                }
+                if (!syncing) {
+                    break;
+                }
+                awaitSync();
+            }
+            // This thread leads the group: take everything appended so far
+            syncing = true;
+            batch = pending.toByteArray();
+            pending.reset();
+            batchSequence = appended;
+        }
+
+        boolean written = false;
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(batch);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            written = true;
+        } catch (IOException e) {
+            synchronized (lock) {
+                failure = e; // The batch is lost, so later syncs must not report success
+            }
+            throw e;
+        } finally {
+            synchronized (lock) {
+                if (written) {
+                    durable = batchSequence;
+                    durableEnd += batch.length;
+                    syncCount++;
+                }
+                syncing = false;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Makes everything appended so far durable.
+     * @return the file offset just past the last durable entry, usable as a
+     *         checkpoint mark for {@link #discardBefore(long)}
+     * @throws IOException if writing or syncing fails
+     */
+    public long commit() throws IOException {
+        long sequence;
+        synchronized (lock) {
+            sequence = appended;
+        }
+        sync(sequence);
+        synchronized (lock) {
+            return durableEnd;
+        }
+    }
+
+    /**
+     * Drops every entry before a checkpoint mark, once a snapshot covers them.
+     * Entries after the mark are kept. The shortened log is written to a temporary
+     * file and moved into place, so a crash leaves either the old or the new log.
+     * @param mark an offset returned by {@link #commit()}
+     * @throws IOException if the log cannot be rewritten
+     */
+    public void discardBefore(long mark) throws IOException {
+        synchronized (lock) {
+            while (syncing) {
+                awaitSync();
+            }
+            checkUsable();
+            if (mark <= HEADER_BYTES) {
+                return;
+            }
+            if (mark > durableEnd) {
+                throw new IllegalArgumentException("Mark " + mark + " is past the durable end " + durableEnd);
+            }
+
+            // Copy the kept tail into a fresh log
+            ByteBuffer tail = ByteBuffer.allocate(Math.toIntExact(durableEnd - mark));
+            while (tail.hasRemaining() && channel.read(tail, mark + tail.position()) >= 0) {
+                // keep reading until the tail is full
+            }
+            tail.flip();
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (FileChannel fresh = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                writeHeader(fresh);
+                while (tail.hasRemaining()) {
+                    fresh.write(tail);
+                }
+                fresh.force(false);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            // Continue appending to the new file
+            channel.close();
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            durableEnd = channel.size();
+            channel.position(durableEnd);
+        }
+    }
+
+    /**
+     * Gets the current size of the durable log, in bytes.
+     * @return file offset just past the last durable entry
+     */
+    public long size() {
+        synchronized (lock) {
+            return durableEnd;
+        }
+    }
+
+    /**
+     * Gets how many fsyncs the log has issued. With group commit this grows
+     * more slowly than the number of syncing threads.
+     * @return fsync count
+     */
+    public long getSyncCount() {
+        synchronized (lock) {
+            return syncCount;
+        }
+    }
+
+    /**
+     * Makes everything appended durable and closes the file.
+     * @throws IOException if the final sync or close fails
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+        }
+        try {
+            if (failure == null) {
+                commit();
+            }
+        } finally {
+            synchronized (lock) {
+                closed = true;
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Waits for the thread leading the current group commit. Caller holds the lock.
+     * @throws InterruptedIOException if interrupted while waiting
+     */
+    private void awaitSync() throws InterruptedIOException {
+        try {
+            lock.wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for the log to sync");
+        }
+    }
+
+    /**
+     * Fails fast if the log can no longer accept entries. Caller holds the lock.
+     * @throws IOException if the log is closed or an earlier write failed
+     */
+    private void checkUsable() throws IOException {
+        if (closed) {
+            throw new IOException("Write-ahead log is closed");
+        }
+        if (failure != null) {
+            throw new IOException("Write-ahead log failed earlier", failure);
+        }
+    }
+
+    /**
+     * Writes the file header to an empty or torn file and positions the
+     * channel after it.
+     * @param channel the channel to write to
+     * @return the offset where entries begin
+     * @throws IOException if writing fails
+     */
+    private static long writeHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).flip();
+        channel.truncate(0);
+        while (header.hasRemaining()) {
+            channel.write(header, HEADER_BYTES - header.remaining());
+        }
+        channel.force(false);
+        channel.position(HEADER_BYTES);
+        return HEADER_BYTES;
+    }
+
+    /**
+     * Reads the intact entries of an existing log.
+     * @param channel the channel to read
+     * @param entries receives the intact entries
+     * @return the offset just past the last intact entry
+     * @throws IOException if the file is not a gradebook log or cannot be read
+     */
+    private static long scan(FileChannel channel, List<LogEntry> entries) throws IOException {
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Write-ahead log too large: " + size + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) >= 0) {
+            // keep reading until the whole log is in memory
+        }
+        buffer.flip();
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a gradebook write-ahead log");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported write-ahead log version " + version);
+        }
+
+        CRC32 checksum = new CRC32();
+        while (buffer.remaining() >= FRAME_BYTES) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int expected = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                buffer.position(start);
+                break; // Incomplete entry: the crash happened mid-append
+            }
+            checksum.reset();
+            checksum.update(buffer.array(), buffer.position(), length);
+            if ((int) checksum.getValue() != expected) {
+                buffer.position(start);
+                break; // Damaged entry: nothing after it can be trusted
+            }
+            try {
+                entries.add(LogEntry.read(new DataInputStream(
+                    new ByteArrayInputStream(buffer.array(), buffer.position(), length))));
+            } catch (IOException e) {
+                buffer.position(start);
+                break;
+            }
+            buffer.position(buffer.position() + length);
+        }
+        return buffer.position();
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * Project Name: Gradebook
+ * File Name: CsvFormatException.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: Thrown when a CSV file breaks RFC 4180 quoting or is not valid UTF-8.
+ *          Carries the line and column where the problem was found.
+ */
+package util;
+
+import java.io.IOException;
+
+public class CsvFormatException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final int line;
+    private final int column;
+
+    /**
+     * Constructs the exception for a position in the file.
+     * @param message what is wrong
+     * @param line the 1-based line number
+     * @param column the 1-based column number
+     */
+    public CsvFormatException(String message, int line, int column) {
+        super("Line " + line + ", column " + column + ": " + message);
+        this.line = line;
+        this.column = column;
+    }
+
+    /**
+     * Gets the line where the problem was found.
+     * @return the 1-based line number
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Gets the column where the problem was found.
+     * @return the 1-based column number
+     */
+    public int getColumn() {
+        return column;
+    }
+}
@@ -0,0 +1,384 @@
+/**
+ * Project Name: Gradebook
+ * File Name: CsvReader.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: Streams records out of a CSV file following RFC 4180: fields are separated
+ *          by commas, records end at CRLF, LF or CR, and quoted fields may contain
+ *          commas, line breaks and doubled quotes. Bytes are decoded as UTF-8 through
+ *          fixed-size buffers and each record is unpacked into one reusable char array,
+ *          so memory stays constant however long the file is and callers only build
+ *          Strings for the fields they keep. Malformed input is reported with the
+ *          line and column where it was found.
+ */
+package util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public final class CsvReader implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    /**
+     * Receives each record of a file in turn.
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+        /**
+         * Handles one record. The reader's fields are only valid during the call.
+         * @param record the reader, positioned on the record
+         * @throws IOException to stop reading
+         */
+        void handle(CsvReader record) throws IOException;
+    }
+
+    private final ReadableByteChannel channel;
+    private final CharsetDecoder decoder;
+    private final ByteBuffer bytes;
+    private final CharBuffer chars;
+    private boolean endOfInput;
+    private boolean drained;
+
+    // The current record, with every field packed into one array
+    private char[] text = new char[256];
+    private int textLength;
+    private int[] fieldEnds = new int[16];
+    private int fieldCount;
+    private int recordLine;
+
+    // Position of the last character read
+    private int line = 1;
+    private int column;
+    private char previous;
+    private boolean skipLineFeed;
+
+    /**
+     * Constructs a reader over a channel of UTF-8 text.
+     * @param channel the channel to read; closed by {@link #close()}
+     */
+    public CsvReader(ReadableByteChannel channel) {
+        this.channel = channel;
+        this.decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT);
+        this.bytes = ByteBuffer.allocate(BUFFER_SIZE).flip();
+        this.chars = CharBuffer.allocate(BUFFER_SIZE).flip();
+    }
+
+    /**
+     * Opens a reader over a file.
+     * @param file the file to read
+     * @return the reader
+     * @throws IOException if the file cannot be opened
+     */
+    public static CsvReader open(Path file) throws IOException {
+        return new CsvReader(FileChannel.open(file, StandardOpenOption.READ));
+    }
+
+    /**
+     * Reads a whole file, handing each record to a callback.
+     * @param file the file to read
+     * @param handler receives each record
+     * @throws CsvFormatException if the file is not valid CSV
+     * @throws IOException if the file cannot be read or the handler fails
+     */
+    public static void read(Path file, RecordHandler handler) throws IOException {
+        try (CsvReader reader = open(file)) {
+            reader.forEach(handler);
+        }
+    }
+
+    /**
+     * Hands every remaining record to a callback.
+     * @param handler receives each record
+     * @throws CsvFormatException if the input is not valid CSV
+     * @throws IOException if reading or the handler fails
+     */
+    public void forEach(RecordHandler handler) throws IOException {
+        while (next()) {
+            handler.handle(this);
+        }
+    }
+
+    /**
+     * Advances to the next record. Fields of the previous record are no longer valid.
+     * @return false at the end of the input
+     * @throws CsvFormatException if the record is not valid CSV
+     * @throws IOException if reading fails
+     */
+    public boolean next() throws IOException {
+        textLength = 0;
+        fieldCount = 0;
+        int c = read();
+        if (skipLineFeed) {
+            skipLineFeed = false;
+            if (c == '\n') {
+                c = read(); // Second half of a CRLF that ended the last record
+            }
+        }
+        if (c < 0) {
+            return false;
+        }
+        recordLine = line;
+
+        while (true) {
+            if (c == '"') {
+                c = readQuoted();
+            } else {
+                // A quote inside an unquoted field is kept as text, as files saved before quoting have them
+                while (c >= 0 && c != ',' && c != '\n' && c != '\r') {
+                    append((char) c);
+                    c = read();
+                }
+            }
+            endField();
+            if (c != ',') {
+                break;
+            }
+            c = read();
+        }
+        skipLineFeed = c == '\r';
+        return true;
+    }
+
+    /**
+     * Gets the number of fields in the current record. A blank line has one empty field.
+     * @return field count
+     */
+    public int size() {
+        return fieldCount;
+    }
+
+    /**
+     * Gets the line on which the current record starts.
+     * @return the 1-based line number
+     */
+    public int getLine() {
+        return recordLine;
+    }
+
+    /**
+     * Views a field without copying it. The view is only valid until {@link #next()}.
+     * @param index the field index
+     * @return the field's characters, quotes removed
+     */
+    public CharSequence field(int index) {
+        int start = fieldStart(index);
+        return CharBuffer.wrap(text, start, fieldEnds[index] - start);
+    }
+
+    /**
+     * Gets a field as a String.
+     * @param index the field index
+     * @return the field, quotes removed
+     */
+    public String get(int index) {
+        int start = fieldStart(index);
+        return new String(text, start, fieldEnds[index] - start);
+    }
+
+    /**
+     * Gets a field as a String without surrounding whitespace, copying only the
+     * trimmed characters.
+     * @param index the field index
+     * @return the trimmed field
+     */
+    public String trimmed(int index) {
+        int start = fieldStart(index);
+        int end = fieldEnds[index];
+        while (start < end && text[start] <= ' ') start++;
+        while (end > start && text[end - 1] <= ' ') end--;
+        return new String(text, start, end - start);
+    }
+
+    /**
+     * Compares a field, ignoring case and surrounding whitespace, without
+     * building a String.
+     * @param index the field index
+     * @param expected the value to compare with
+     * @return true if they match
+     */
+    public boolean fieldEqualsIgnoreCase(int index, String expected) {
+        int start = fieldStart(index);
+        int end = fieldEnds[index];
+        while (start < end && text[start] <= ' ') start++;
+        while (end > start && text[end - 1] <= ' ') end--;
+        if (end - start != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            char a = text[start + i];
+            char b = expected.charAt(i);
+            if (a != b && Character.toLowerCase(a) != Character.toLowerCase(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the current record is a blank or whitespace-only line.
+     * @return true if blank
+     */
+    public boolean isBlank() {
+        if (fieldCount != 1) {
+            return false;
+        }
+        for (int i = 0; i < textLength; i++) {
+            if (text[i] > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Closes the underlying channel.
+     * @throws IOException if closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads the rest of a quoted field after its opening quote.
+     * @return the character after the closing quote, or -1 at the end of input
+     * @throws CsvFormatException if the field is never closed or is followed by text
+     */
+    private int readQuoted() throws IOException {
+        int openLine = line;
+        int openColumn = column;
+        while (true) {
+            int c = read();
+            if (c < 0) {
+                throw new CsvFormatException("Quoted field is never closed", openLine, openColumn);
+            }
+            if (c == '"') {
+                c = read();
+                if (c != '"') {
+                    if (c >= 0 && c != ',' && c != '\n' && c != '\r') {
+                        throw error("Expected ',' or end of line after closing quote");
+                    }
+                    return c;
+                }
+            }
+            append((char) c); // Includes line breaks and the second quote of a pair
+        }
+    }
+
+    /**
+     * Reads one character, tracking its line and column.
+     * @return the character, or -1 at the end of input
+     * @throws CsvFormatException if the bytes are not valid UTF-8
+     * @throws IOException if reading fails
+     */
+    private int read() throws IOException {
+        if (!chars.hasRemaining() && !fill()) {
+            return -1;
+        }
+        char c = chars.get();
+        // A line ends after LF, or after CR unless LF follows
+        if (previous == '\n' || (previous == '\r' && c != '\n')) {
+            line++;
+            column = 0;
+        }
+        column++;
+        previous = c;
+        if (c == BYTE_ORDER_MARK && line == 1 && column == 1) {
+            column = 0;
+            previous = 0;
+            return read(); // Spreadsheet exports often start with a byte order mark
+        }
+        return c;
+    }
+
+    /**
+     * Decodes the next block of characters, reading more bytes as needed.
+     * @return false if the input is exhausted
+     * @throws CsvFormatException if the bytes are not valid UTF-8
+     * @throws IOException if reading fails
+     */
+    private boolean fill() throws IOException {
+        if (drained) {
+            return false;
+        }
+        chars.clear();
+        while (true) {
+            CoderResult result = decoder.decode(bytes, chars, endOfInput);
+            if (result.isError()) {
+                throw new CsvFormatException("Invalid UTF-8 text", line, column + chars.position() + 1);
+            }
+            if (chars.position() > 0) {
+                break;
+            }
+            if (endOfInput) {
+                decoder.flush(chars);
+                drained = true;
+                break;
+            }
+            bytes.compact();
+            int count = channel.read(bytes);
+            bytes.flip();
+            if (count < 0) {
+                endOfInput = true;
+            }
+        }
+        chars.flip();
+        return chars.hasRemaining();
+    }
+
+    /**
+     * Adds a character to the field being read, growing the record buffer if needed.
+     * @param c the character
+     */
+    private void append(char c) {
+        if (textLength == text.length) {
+            text = Arrays.copyOf(text, text.length * 2);
+        }
+        text[textLength++] = c;
+    }
+
+    /**
+     * Ends the field being read.
+     */
+    private void endField() {
+        if (fieldCount == fieldEnds.length) {
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldEnds.length * 2);
+        }
+        fieldEnds[fieldCount++] = textLength;
+    }
+
+    /**
+     * Gets where a field starts in the record buffer.
+     * @param index the field index
+     * @return the start offset
+     * @throws IndexOutOfBoundsException if there is no such field
+     */
+    private int fieldStart(int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new IndexOutOfBoundsException("Field " + index + " of " + fieldCount);
+        }
+        return index == 0 ? 0 : fieldEnds[index - 1];
+    }
+
+    /**
+     * Builds an error at the last character read.
+     * @param message what is wrong
+     * @return the exception to throw
+     */
+    private CsvFormatException error(String message) {
+        return new CsvFormatException(message, line, column);
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Project Name: Gradebook
+ * File Name: CsvWriter.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: Formats records for the CSV files read by CsvReader. A field that
+ *          contains a comma, a double quote or a line break is wrapped in quotes
+ *          with its quotes doubled, as RFC 4180 requires; other fields are written
+ *          as they are, so plain files look the same as before.
+ */
+package util;
+
+public final class CsvWriter {
+
+    /**
+     * Prevents instantiation; all methods are static.
+     */
+    private CsvWriter() {
+    }
+
+    /**
+     * Formats fields as one CSV record, without a line ending.
+     * @param fields the fields, in order
+     * @return the record
+     */
+    public static String record(String... fields) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            appendField(line, fields[i]);
+        }
+        return line.toString();
+    }
+
+    /**
+     * Formats fields as one CSV record, without a line ending.
+     * @param fields the fields, in order
+     * @return the record
+     */
+    public static String record(Iterable<String> fields) {
+        StringBuilder line = new StringBuilder();
+        boolean first = true;
+        for (String field : fields) {
+            if (!first) {
+                line.append(',');
+            }
+            appendField(line, field);
+            first = false;
+        }
+        return line.toString();
+    }
+
+    /**
+     * Appends one field, quoting it only if it needs quotes.
+     * @param line the record being built
+     * @param field the field; null is written as empty
+     */
+    private static void appendField(StringBuilder line, String field) {
+        if (field == null) {
+            return;
+        }
+        if (!needsQuotes(field)) {
+            line.append(field);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '"') {
+                line.append('"'); // A quote inside a quoted field is doubled
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    /**
+     * Checks whether a field would be misread without quotes.
+     * @param field the field
+     * @return true if it holds a comma, quote or line break
+     */
+    private static boolean needsQuotes(String field) {
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
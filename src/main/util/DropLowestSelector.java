@@ -0,0 +1,137 @@
+/**
+ * Project Name: Gradebook
+ * File Name: DropLowestSelector.java
+ * Course: CSC 335 Spring 2025
+ * Purpose: Picks the k lowest values to drop from a row of primitive percentages using
+ *          a bounded max-heap of size k, so no list is built and nothing is fully sorted.
+ *          Ties go to the earlier index, matching a stable ascending sort.
+ */
+package util;
+
+import java.util.Arrays;
+
+public final class DropLowestSelector {
+
+    private DropLowestSelector() {
+    }
+
+    /**
+     * The outcome of a drop: which indices were dropped and the sum of what was kept.
+     *
+     * @param droppedIndices dropped positions, in ascending index order
+     * @param keptSum sum of the values that were not dropped
+     * @param keptCount number of values kept
+     */
+    public record Selection(int[] droppedIndices, double keptSum, int keptCount) {
+
+        /**
+         * Checks whether a position was dropped.
+         * @param index the position in the original row
+         * @return true if the value at that position was dropped
+         */
+        public boolean isDropped(int index) {
+            return Arrays.binarySearch(droppedIndices, index) >= 0;
+        }
+    }
+
+    /**
+     * Selects the lowest values to drop from the first size entries of values.
+     * @param values the row of values (e.g. percentages)
+     * @param size how many entries of the array are in use
+     * @param dropCount how many of the lowest values to drop
+     * @return the dropped indices and the kept sum
+     */
+    public static Selection select(double[] values, int size, int dropCount) {
+        int k = Math.max(0, Math.min(dropCount, size));
+        if (k == size) {
+            return new Selection(range(size), 0.0, 0);
+        }
+
+        // Max-heap holding the k lowest seen so far; the root is the first to be evicted
+        int[] heap = new int[k];
+        int heapSize = 0;
+        for (int i = 0; i < size && k > 0; i++) {
+            if (heapSize < k) {
+                heap[heapSize] = i;
+                siftUp(values, heap, heapSize++);
+            } else if (lower(values, i, heap[0])) {
+                heap[0] = i;
+                siftDown(values, heap, k);
+            }
+        }
+        Arrays.sort(heap); // k is tiny; order by position for the walk below
+
+        // Sum the kept values, skipping the dropped positions in order
+        double keptSum = 0.0;
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            if (next < k && heap[next] == i) {
+                next++;
+                continue;
+            }
+            keptSum += values[i];
+        }
+        return new Selection(heap, keptSum, size - k);
+    }
+
+    /**
+     * Orders by value, then by position, so equal values drop the earlier one first.
+     * @param values the row of values
+     * @param a first position
+     * @param b second position
+     * @return true if the value at a should be dropped before the value at b
+     */
+    private static boolean lower(double[] values, int a, int b) {
+        int cmp = Double.compare(values[a], values[b]);
+        return cmp < 0 || (cmp == 0 && a < b);
+    }
+
+    /**
+     * Restores the heap after appending at pos.
+     */
+    private static void siftUp(double[] values, int[] heap, int pos) {
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (!lower(values, heap[parent], heap[pos])) break;
+            swap(heap, parent, pos);
+            pos = parent;
+        }
+    }
+
+    /**
+     * Restores the heap after replacing the root.
+     */
+    private static void siftDown(double[] values, int[] heap, int size) {
+        int pos = 0;
+        while (true) {
+            int largest = pos;
+            int left = 2 * pos + 1;
+            int right = left + 1;
+            if (left < size && lower(values, heap[largest], heap[left])) largest = left;
+            if (right < size && lower(values, heap[largest], heap[right])) largest = right;
+            if (largest == pos) return;
+            swap(heap, pos, largest);
+            pos = largest;
+        }
+    }
+
+    /**
+     * Swaps two heap entries.
+     */
+    private static void swap(int[] heap, int a, int b) {
+        int tmp = heap[a];
+        heap[a] = heap[b];
+        heap[b] = tmp;
+    }
+
+    /**
+     * Builds the positions 0..size-1, used when everything is dropped.
+     */
+    private static int[] range(int size) {
+        int[] all = new int[size];
+        for (int i = 0; i < size; i++) {
+            all[i] = i;
+        }
+        return all;
+    }
+}
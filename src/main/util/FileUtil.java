@@ -9,14 +9,51 @@ Purpose: Provides file I/O operations for the Gradebook system including user da
 package util;
 
 import model.*;
+import persistence.PersistenceService;
 
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class FileUtil {
+    /** Student imports hash and resolve this many rows at a time, as the file streams in. */
+    static final int HASH_BLOCK = 4096;
+    /** Rows up to this count, and every leaf of a parallel split, are hashed sequentially. */
+    static final int HASH_THRESHOLD = 256;
+
+    private static volatile PersistenceService backgroundWriter;
+
+    /**
+     * Receives progress while students are imported. Rows are resolved in blocks
+     * while the file is still streaming in, so the total is unknown until the last
+     * block: earlier calls report {@link #UNKNOWN_TOTAL}, and a file that fits in
+     * one block reports its real total from the first call.
+     */
+    @FunctionalInterface
+    public interface ImportProgress {
+        /** The total reported while the rest of the file has not been read yet. */
+        int UNKNOWN_TOTAL = -1;
+
+        /**
+         * Reports that another student has been resolved.
+         * @param done students resolved so far
+         * @param total students in the file, or {@link #UNKNOWN_TOTAL} while the
+         *              rest of the file is still being read
+         */
+        void update(int done, int total);
+    }
+
+    /**
+     * Sets the service that performs saves off the calling thread. Saves capture
+     * their content immediately and return without waiting for the disk; null
+     * makes saves write synchronously again.
+     * @param writer the background writer, or null
+     */
+    public static void setBackgroundWriter(PersistenceService writer) {
+        backgroundWriter = writer;
+    }
 
 	/**
      * Saves a list of users to a text file in CSV format
@@ -25,11 +62,13 @@ public class FileUtil {
      * @throws IOException if file operations fail
      */
 	public static void saveUsers(List<User> users, String filePath) {
-	    try (PrintWriter writer = new PrintWriter(new FileWriter(filePath))) {
-	        for (User user : users) {
-                // Save user as a comma-separated line
-	            writer.println(user.toFileString());
-	        }
+	    // Save each user as a comma-separated line
+	    List<String> lines = new ArrayList<>(users.size());
+	    for (User user : users) {
+	        lines.add(user.toFileString());
+	    }
+	    try {
+	        save(filePath, lines);
 	    } catch (IOException e) {
 	        System.err.println("Failed to save users: " + e.getMessage());
 	    }
@@ -43,34 +82,44 @@ public class FileUtil {
      * @throws IOException if file operations fail
      */
     public static List<User> loadUsers(String filePath) throws IOException {
+        return loadUsers(filePath, new UserIdentityMap());
+    }
+
+    /**
+     * Loads users from a text file, resolving each username through an identity map
+     * so users that are already known come back as their existing instances
+     * @param filePath Source file path
+     * @param identities Map holding the canonical instance of each user
+     * @return List of canonical User objects, one per line
+     * @throws IOException if file operations fail
+     */
+    public static List<User> loadUsers(String filePath, UserIdentityMap identities) throws IOException {
         List<User> users = new ArrayList<>();
-        List<String> lines = Files.readAllLines(Paths.get(filePath));
-        
-        // Process each line in the file
-        for (String line : lines) {
-            if (line.trim().isEmpty()) continue; // Skip empty lines
-            
-            String[] parts = line.split(",");
-            if (parts.length != 4) continue; // Skip empty lines
+
+        // Stream the file one record at a time
+        CsvReader.read(Paths.get(filePath), record -> {
+            if (record.isBlank() || record.size() != 4) return; // Skip empty or incomplete lines
 
             // Extract and clean fields
-            String username = parts[0].trim();
-            String fullName = parts[1].trim();
-            String passwordHash = parts[2].trim();
-            String role = parts[3].trim().toLowerCase();
+            String username = record.trimmed(0);
+            String fullName = record.trimmed(1);
+            String passwordHash = record.trimmed(2);
 
             // Split full name into first and last
-            String[] nameParts = fullName.split(" ");
-            String firstName = nameParts[0];
-            String lastName = nameParts.length > 1 ? nameParts[1] : "";
-
-            // Creating appropriate user type
-            if (role.equals("student")) {
-                users.add(new Student(firstName, lastName, username, passwordHash));
-            } else if (role.equals("teacher")) {
-                users.add(new Teacher(firstName, lastName, username, passwordHash));
+            int space = fullName.indexOf(' ');
+            int end = space < 0 ? -1 : fullName.indexOf(' ', space + 1);
+            String firstName = space < 0 ? fullName : fullName.substring(0, space);
+            String lastName = space < 0 ? "" : fullName.substring(space + 1, end < 0 ? fullName.length() : end);
+
+            // Resolve the canonical user, creating it only if the username is new
+            if (record.fieldEqualsIgnoreCase(3, "student")) {
+                users.add(identities.student(username,
+                    () -> new Student(firstName, lastName, username, passwordHash)));
+            } else if (record.fieldEqualsIgnoreCase(3, "teacher")) {
+                users.add(identities.teacher(username,
+                    () -> new Teacher(username, firstName, lastName, passwordHash)));
             }
-        }
+        });
         return users;
     }
 
@@ -81,22 +130,55 @@ public class FileUtil {
      * @throws IOException if file operations fail
      */
     public static List<Student> parseStudentCSV(String filePath) throws IOException {
-        List<Student> students = new ArrayList<>();
-        for (String line : Files.readAllLines(Paths.get(filePath))) {
-            if (line.trim().isEmpty()) continue; // Skip empty lines
-            
-            String[] parts = line.split(",");
-            if (parts.length != 4) continue; // Skip incomplete entries
-
-            // Create student with hashed password
-            students.add(new Student(
-                parts[0].trim(),
-                parts[1].trim(),
-                parts[2].trim(),
-                SecurityUtil.hashPassword(parts[3].trim())
-            ));
-        }
-        return students;
+        return parseStudentCSV(filePath, new UserIdentityMap());
+    }
+
+    /**
+     * Imports students from a CSV file, resolving each username through an identity map.
+     * Students that are already known keep their existing instance and password.
+     * @param filePath Path to CSV file (format: firstName,lastName,username,password)
+     * @param identities Map holding the canonical instance of each user
+     * @return List of canonical Student objects, one per line
+     * @throws IOException if file operations fail
+     */
+    public static List<Student> parseStudentCSV(String filePath, UserIdentityMap identities) throws IOException {
+        return parseStudentCSV(filePath, identities, null);
+    }
+
+    /**
+     * Imports students from a CSV file, hashing the passwords of new students in
+     * parallel. The returned list follows the file order regardless of which hash
+     * finishes first.
+     * @param filePath Path to CSV file (format: firstName,lastName,username,password)
+     * @param identities Map holding the canonical instance of each user
+     * @param progress Told after each student is resolved, on the calling thread; may be null
+     * @return List of canonical Student objects, one per line
+     * @throws IOException if file operations fail
+     */
+    public static List<Student> parseStudentCSV(String filePath, UserIdentityMap identities,
+                                                ImportProgress progress) throws IOException {
+        return parseStudentCSV(filePath, identities, progress, HASH_THRESHOLD);
+    }
+
+    /**
+     * Imports students, hashing each block of rows on the common ForkJoin pool in
+     * chunks of at most threshold passwords. Blocks are hashed and resolved while
+     * the file is read, so only one block of rows is held at a time.
+     * @param filePath Path to CSV file (format: firstName,lastName,username,password)
+     * @param identities Map holding the canonical instance of each user
+     * @param progress Told after each student is resolved; may be null
+     * @param threshold Largest number of rows hashed sequentially
+     * @return List of canonical Student objects, one per line
+     * @throws IOException if file operations fail
+     */
+    static List<Student> parseStudentCSV(String filePath, UserIdentityMap identities,
+                                         ImportProgress progress, int threshold) throws IOException {
+        StudentImport importer = new StudentImport(identities, progress, threshold);
+        CsvReader.read(Paths.get(filePath), record -> {
+            if (record.isBlank() || record.size() != 4) return; // Skip empty or incomplete entries
+            importer.add(record.trimmed(0), record.trimmed(1), record.trimmed(2), record.trimmed(3));
+        });
+        return importer.finish();
     }
 
     /**
@@ -120,44 +202,210 @@ public class FileUtil {
     }
     
     /**
-     * Saves course data to file in CSV format.
+     * Saves course data to file in CSV format, quoting fields where needed.
      * Format: CourseName,student1,student2,...
      * @param courses List of courses to save
      * @param filePath Output file
      * @throws IOException if file operations fail
      */
     public static void saveCourses(List<Course> courses, String filePath) throws IOException {
-        List<String> lines = courses.stream()
-            .map(c -> c.getCourseName() + "," + String.join(",", 
-                c.getStudents().stream()
-                    .map(Student::getUsername)
-                    .toList()))
-            .toList();
-        Files.write(Paths.get(filePath), lines);
+        List<String> lines = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            List<String> fields = new ArrayList<>();
+            fields.add(course.getCourseName());
+            for (Student student : course.getSnapshot().getStudents()) {
+                fields.add(student.getUsername());
+            }
+            if (fields.size() == 1) {
+                fields.add(""); // Keeps the trailing comma of a course with no students
+            }
+            lines.add(CsvWriter.record(fields));
+        }
+        save(filePath, lines);
+    }
+
+    /**
+     * Writes a whole file, on the background writer if one is set. Background
+     * failures are reported on standard error once the write completes.
+     * @param filePath Destination file
+     * @param lines Content captured by the caller
+     * @throws IOException if a synchronous write fails
+     */
+    private static void save(String filePath, List<String> lines) throws IOException {
+        PersistenceService writer = backgroundWriter;
+        if (writer == null) {
+            Files.write(Paths.get(filePath), lines);
+            return;
+        }
+        writer.rewrite(Paths.get(filePath), lines).whenComplete((ignored, failure) -> {
+            if (failure != null) {
+                System.err.println("Failed to save " + filePath + ": " + failure.getMessage());
+            }
+        });
     }
     
     /**
-     * Loads course data from a CSV file.
-     * Each line contains course name and enrolled student usernames.
+     * Loads course data from a CSV file, one record at a time.
+     * Each line contains course name and enrolled student usernames; blank lines are skipped.
      * @param filePath Path to saved courses
      * @param userManager User manager to match usernames to Student objects
      * @return List of Course objects with student associations
      * @throws IOException if file operations fail
      */
     public static List<Course> loadCourses(String filePath, UserManager userManager) throws IOException {
-        return Files.readAllLines(Paths.get(filePath)).stream()
-            .map(line -> {
-                String[] parts = line.split(",");
-                Course course = new Course(parts[0]); // First token is course name
-                Arrays.stream(parts).skip(1) // Remaining tokens are usernames
-                    .forEach(username -> {
-                        User user = userManager.findUserByUsername(username);
-                        if (user instanceof Student) {
-                            course.addStudent((Student) user);
-                        }
-                    });
-                return course;
-            })
-            .toList();
+        List<Course> courses = new ArrayList<>();
+        CsvReader.read(Paths.get(filePath), record -> {
+            if (record.isBlank()) return;
+            Course course = new Course(record.get(0)); // First field is course name
+            List<Student> roster = new ArrayList<>();
+            for (int i = 1; i < record.size(); i++) { // Remaining fields are usernames
+                if (record.field(i).length() == 0) continue; // Course with no students
+                User user = userManager.findUserByUsername(record.get(i));
+                if (user instanceof Student) {
+                    roster.add((Student) user);
+                }
+            }
+            course.addStudents(roster); // Enroll the whole roster at once
+            courses.add(course);
+        });
+        return courses;
+    }
+
+    /**
+     * One row of a student import.
+     * @param hashAhead true if the row is the first for a username not yet known,
+     *                  so its password is hashed before students are resolved
+     */
+    private record StudentRow(String firstName, String lastName, String username, String password,
+                              boolean hashAhead) {}
+
+    /**
+     * Collects import rows into blocks and resolves each full block before the
+     * next row is kept. The last block is resolved once the file has been read,
+     * which is when the total row count becomes known.
+     */
+    private static final class StudentImport {
+        private final UserIdentityMap identities;
+        private final ImportProgress progress;
+        private final int threshold;
+        private final boolean parallel = ForkJoinPool.getCommonPoolParallelism() > 1;
+        private final List<StudentRow> block = new ArrayList<>();
+        private final Set<String> pending = new HashSet<>(); // new usernames already seen, across blocks
+        private final List<Student> students = new ArrayList<>();
+
+        /**
+         * Constructs an import with no rows.
+         * @param identities Map holding the canonical instance of each user
+         * @param progress Told after each student is resolved; may be null
+         * @param threshold Largest number of rows hashed sequentially
+         */
+        StudentImport(UserIdentityMap identities, ImportProgress progress, int threshold) {
+            this.identities = identities;
+            this.progress = progress;
+            this.threshold = threshold;
+        }
+
+        /**
+         * Adds a row, first resolving the current block if it is full.
+         * @param firstName the first name
+         * @param lastName the last name
+         * @param username the username
+         * @param password the plain text password
+         */
+        void add(String firstName, String lastName, String username, String password) {
+            if (block.size() == HASH_BLOCK) {
+                resolveBlock(ImportProgress.UNKNOWN_TOTAL); // More rows follow, so the total is not known yet
+            }
+            // Only the first row for a new username needs a hash
+            boolean isNew = identities.findStudent(username) == null && pending.add(username);
+            block.add(new StudentRow(firstName, lastName, username, password, isNew));
+        }
+
+        /**
+         * Resolves the last block.
+         * @return the canonical students, one per row in file order
+         */
+        List<Student> finish() {
+            resolveBlock(students.size() + block.size());
+            return students;
+        }
+
+        /**
+         * Hashes the block's new passwords, then resolves its rows in file order.
+         * @param total the row count reported to the progress callback
+         */
+        private void resolveBlock(int total) {
+            // Hash across the pool, or here if the block is small or the pool has one worker
+            String[] hashes = new String[block.size()];
+            boolean split = parallel && block.size() > threshold;
+            HashTask task = new HashTask(block, hashes, 0, block.size(), split ? Math.max(1, threshold) : block.size());
+            if (split) {
+                ForkJoinPool.commonPool().invoke(task);
+            } else {
+                task.compute();
+            }
+
+            // Resolve in file order, so the first row for a username wins as before
+            for (int i = 0; i < block.size(); i++) {
+                StudentRow row = block.get(i);
+                String hash = hashes[i];
+                students.add(identities.student(row.username(), () -> new Student(
+                    row.firstName(),
+                    row.lastName(),
+                    row.username(),
+                    hash != null ? hash : SecurityUtil.hashPassword(row.password())
+                )));
+                if (progress != null) {
+                    progress.update(students.size(), total);
+                }
+            }
+            block.clear();
+        }
+    }
+
+    /**
+     * Hashes the new passwords in a range of import rows, splitting large ranges
+     * in half so the pool's workers share them.
+     */
+    private static final class HashTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<StudentRow> rows;
+        private final String[] hashes;
+        private final int start;
+        private final int end;
+        private final int threshold;
+
+        /**
+         * Constructs a task over rows [start, end).
+         * @param rows the import rows
+         * @param hashes receives each hash at its row's index
+         * @param start first row
+         * @param end one past the last row
+         * @param threshold largest range hashed without splitting
+         */
+        HashTask(List<StudentRow> rows, String[] hashes, int start, int end, int threshold) {
+            this.rows = rows;
+            this.hashes = hashes;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= threshold) {
+                for (int i = start; i < end; i++) {
+                    StudentRow row = rows.get(i);
+                    if (row.hashAhead()) {
+                        hashes[i] = SecurityUtil.hashPassword(row.password());
+                    }
+                }
+                return;
+            }
+            int mid = (start + end) >>> 1;
+            invokeAll(new HashTask(rows, hashes, start, mid, threshold),
+                new HashTask(rows, hashes, mid, end, threshold));
+        }
     }
-}
\ No newline at end of file
+}
@@ -14,7 +14,7 @@ import model.Category;
 import model.Student;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 
@@ -50,20 +50,20 @@ public class GradeCalculator {
         if (grades == null || grades.isEmpty()) {
             return 0.0;
         }
-        List<Double> values = new ArrayList<>();
-        for (Grade grade : grades) {
-        	// Extract percentage values
-            values.add(grade.getPercentage());
+        double[] values = new double[grades.size()];
+        for (int i = 0; i < values.length; i++) {
+        	// Extract percentage values into a primitive array (no boxing)
+            values[i] = grades.get(i).getPercentage();
         }
-        Collections.sort(values); // Sort in ascending order
-        int size = values.size();
+        Arrays.sort(values); // Sort in ascending order
+        int size = values.length;
         
         // Return middle value or average of two middles
         if (size % 2 == 1) {
-            return values.get(size / 2);
+            return values[size / 2];
         } else {
-            double lower = values.get(size / 2 - 1);
-            double upper = values.get(size / 2);
+            double lower = values[size / 2 - 1];
+            double upper = values[size / 2];
             return (lower + upper) / 2.0;
         }
     }
@@ -136,7 +136,7 @@ public class GradeCalculator {
      * Drops the lowest-scoring grades from a list based on the drop count.
      * @param grades List of Grade objects
      * @param dropCount Number of lowest grades to drop
-     * @return List of remaining grades after drops
+     * @return List of remaining grades after drops, in ascending order of percentage
      */
     public static List<Grade> dropLowestGrades(List<Grade> grades, int dropCount) {
         if (grades == null) {
@@ -146,19 +146,24 @@ public class GradeCalculator {
         	// Return all grades if nothing to drop
             return new ArrayList<>(grades);
         }
-        List<Grade> sorted = new ArrayList<>(grades);
-        // Sort grades in ascending order of percentage
-        Collections.sort(sorted, new Comparator<Grade>() {
-            @Override
-            public int compare(Grade g1, Grade g2) {
-                return Double.compare(g1.getPercentage(), g2.getPercentage());
-            }
-        });
         // If dropping all or more, return empty list
-        if (dropCount >= sorted.size()) {
+        if (dropCount >= grades.size()) {
             return new ArrayList<>();
         }
-        // Return list after dropping the lowest scores
-        return new ArrayList<>(sorted.subList(dropCount, sorted.size()));
+        // Select the lowest percentages with a bounded heap instead of sorting every grade
+        double[] percentages = new double[grades.size()];
+        for (int i = 0; i < percentages.length; i++) {
+            percentages[i] = grades.get(i).getPercentage();
+        }
+        DropLowestSelector.Selection selection = DropLowestSelector.select(percentages, percentages.length, dropCount);
+        List<Grade> kept = new ArrayList<>(selection.keptCount());
+        for (int i = 0; i < percentages.length; i++) {
+            if (!selection.isDropped(i)) {
+                kept.add(grades.get(i));
+            }
+        }
+        // Callers get the kept grades lowest first, as before; the sort is stable so ties keep their order
+        kept.sort(Comparator.comparingDouble(Grade::getPercentage));
+        return kept;
     }
 }
@@ -30,6 +30,7 @@ public class AssignmentManagementView implements Observer {
     private final TableView<AssignmentRow> assignmentTable;
     private final ComboBox<String> categorySelector;
     private Course selectedCourse;
+    private final Map<Assignment, Integer> rowIndex = new HashMap<>();
 
     /**
      * Constructor that initializes the assignment management view for teachers.
@@ -206,20 +207,21 @@ public class AssignmentManagementView implements Observer {
             String catName = dropCategorySelector.getValue();
             int dropCount = dropSpinner.getValue();
 
-            // Find matching category and set drop count
-            selectedCourse.getCategories().stream()
-                .filter(cat -> cat.getName().equals(catName))
-                .findFirst()
-                .ifPresent(cat -> cat.setDropLowestCount(dropCount, selectedCourse));
-
-            // Recalculate final grades and notify observers
-            for (Student s : selectedCourse.getStudents()) {
-                double avg = selectedCourse.calculateStudentAverage(s);
-                FinalGrade updated = FinalGrade.getLetterGrade(avg);
-                selectedCourse.assignFinalGrade(s, updated);
+            // Hold notifications so observers see one update for the whole rule change
+            selectedCourse.suspendNotifications();
+            try {
+                // Find matching category and set drop count
+                selectedCourse.getCategories().stream()
+                    .filter(cat -> cat.getName().equals(catName))
+                    .findFirst()
+                    .ifPresent(cat -> cat.setDropLowestCount(dropCount, selectedCourse));
+
+                // Recalculate final grades from one statistics pass over the roster
+                selectedCourse.finalizeGrades(GradingScale.STANDARD);
+            } finally {
+                // Notify UI observers (like tables or GPA labels) of the changes
+                selectedCourse.resumeNotifications();
             }
-            // Notify UI observers (like tables or GPA labels) of the changes
-            selectedCourse.notifyObservers();
 
             // Show confirmation message
             Alert alert = new Alert(Alert.AlertType.INFORMATION);
@@ -245,53 +247,45 @@ public class AssignmentManagementView implements Observer {
     private void updateAssignmentTable() {
         if (selectedCourse == null) return; // Exit if no course is selected
         List<AssignmentRow> rows = new ArrayList<>();
+        rowIndex.clear();
         
         // Iterate through all assignments in the selected course
         for (Assignment a : selectedCourse.getAssignments()) {
-            // Find the category this assignment belongs to
-            String category = selectedCourse.getCategories().stream()
-                .filter(cat -> cat.getAssignments().contains(a))
-                .map(Category::getName)
-                .findFirst().orElse("None");
-
-            // Count how many students have received grades for this assignment
-            long graded = selectedCourse.getStudents().stream()
-                .map(a::getGrade)
-                .filter(Objects::nonNull)
-                .count();
-
-            // Collect list of all numeric grades (points received) for this assignment
-            List<Double> grades = selectedCourse.getStudents().stream()
-                .map(a::getGrade)
-                .filter(Objects::nonNull)
-                .map(Grade::getPointsReceived)
-                .sorted()
-                .toList();
-
-            // Calculate average score
-            double average = grades.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
-            
-            // Calculate median score
-            double median = 0.0;
-            int n = grades.size();
-            if (n > 0) {
-                median = (n % 2 == 1) ? grades.get(n / 2) : (grades.get(n / 2 - 1) + grades.get(n / 2)) / 2.0;
-            }
-
-            // Add a row to the table with all collected values
-            rows.add(new AssignmentRow(
-                a.getTitle(),
-                category,
-                String.valueOf((int) a.getMaxPoints()),
-                graded + "/" + selectedCourse.getStudents().size(),
-                String.format("%.1f", average),
-                String.format("%.1f", median)
-            ));
+            // Remember where each assignment's row lives so single changes can be patched
+            rowIndex.put(a, rows.size());
+            rows.add(buildRow(a));
         }
         // Update the table with new rows
         assignmentTable.setItems(FXCollections.observableArrayList(rows));
     }
 
+    /**
+     * Builds the table row for one assignment.
+     *
+     * @param a the assignment to display
+     * @return the row with category, graded count, average and median
+     */
+    private AssignmentRow buildRow(Assignment a) {
+        // Find the category this assignment belongs to
+        Category owner = selectedCourse.getCategoryOf(a);
+        String category = owner != null ? owner.getName() : "None";
+
+        // Graded count, average and median come from the assignment's sorted score index
+        int graded = a.getScoreCount();
+        double average = a.getAverageScore();
+        double median = a.getMedianScore();
+
+        // Build the row with all collected values
+        return new AssignmentRow(
+            a.getTitle(),
+            category,
+            String.valueOf((int) a.getMaxPoints()),
+            graded + "/" + selectedCourse.getStudents().size(),
+            String.format("%.1f", average),
+            String.format("%.1f", median)
+        );
+    }
+
     /**
      * Updates the category dropdown selector with categories from the selected course.
      */
@@ -356,4 +350,42 @@ public class AssignmentManagementView implements Observer {
     public void update() {
         updateAssignmentTable();
     }
+
+    /**
+     * Patches only the rows of assignments that received grades; structural
+     * changes to the selected course rebuild the table.
+     *
+     * @param changes the coalesced model changes
+     */
+    @Override
+    public void update(List<ChangeEvent> changes) {
+        if (selectedCourse == null) return;
+        Set<Assignment> touched = new LinkedHashSet<>();
+        for (ChangeEvent change : changes) {
+            if (change instanceof ChangeEvent.Invalidated) {
+                updateAssignmentTable();
+                return;
+            }
+            if (change.course() != selectedCourse
+                    || change instanceof ChangeEvent.FinalGradeAssigned
+                    || change instanceof ChangeEvent.GradingModeChanged
+                    || change instanceof ChangeEvent.CourseAdded) {
+                continue; // Nothing shown in this table depends on these
+            }
+            if (change instanceof ChangeEvent.GradeChanged g) {
+                touched.add(g.assignment());
+            } else {
+                updateAssignmentTable();
+                return;
+            }
+        }
+        for (Assignment a : touched) {
+            Integer index = rowIndex.get(a);
+            if (index == null) {
+                updateAssignmentTable(); // Not shown yet, rebuild instead
+                return;
+            }
+            assignmentTable.getItems().set(index, buildRow(a));
+        }
+    }
 }
\ No newline at end of file
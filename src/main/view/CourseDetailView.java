@@ -73,7 +73,7 @@ public class CourseDetailView implements Observer {
         addCourseBtn.setOnAction(e -> {
             String name = courseNameField.getText().trim();
             if (!name.isEmpty() && model.getCourseByName(name) == null) {
-                Course course = new Course(name); // Create new course object
+                Course course = new Course(name, model.getIdRegistry()); // Create new course object
 
                 // Open dialog to define assignment categories for the course
                 Dialog<Void> dialog = new Dialog<>();
@@ -158,6 +158,21 @@ public class CourseDetailView implements Observer {
         this.scene = new Scene(content, 650, 600);
     }
 
+    /**
+     * Refreshes the course lists only if a change concerns one of this teacher's courses.
+     *
+     * @param changes the coalesced model changes
+     */
+    @Override
+    public void update(List<ChangeEvent> changes) {
+        for (ChangeEvent change : changes) {
+            if (change.course() == null || teacher.getCourses().contains(change.course())) {
+                refreshCourseLists();
+                return;
+            }
+        }
+    }
+
     /**
      * Called when model data is updated.
      */
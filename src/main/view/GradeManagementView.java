@@ -25,6 +25,7 @@ public class GradeManagementView implements model.Observer {
     private final Scene scene;
     private Course selectedCourse;
     private final TableView<StudentRow> studentTable;
+    private final Map<Student, Integer> rowIndex = new HashMap<>();
 
     /**
      * Constructs the GradeManagementView and sets up the UI layout and behavior.
@@ -100,13 +101,8 @@ public class GradeManagementView implements model.Observer {
         Button calculateGradesBtn = new Button("Assign Final Grades");
         calculateGradesBtn.setOnAction(e -> {
             if (selectedCourse == null) return;
-            for (Student s : selectedCourse.getStudents()) {
-                // Get the true instance from the model to ensure GPA gets updated correctly
-                Student modelStudent = model.getStudentByUsername(s.getUsername());
-                double avg = selectedCourse.calculateStudentAverage(modelStudent);
-                FinalGrade letter = getLetterGrade(avg);
-                selectedCourse.assignFinalGrade(modelStudent, letter);
-            }
+            // One averaging pass and one coalesced notification for the whole roster
+            selectedCourse.finalizeGrades(GradingScale.STANDARD);
             updateStudentTable(); // Refresh display after update
         });
 
@@ -132,20 +128,6 @@ public class GradeManagementView implements model.Observer {
         model.addObserver(this);
     }
 
-    /**
-     * Maps numeric average to FinalGrade enum.
-     *
-     * @param avg average percentage score
-     * @return corresponding FinalGrade
-     */
-    private FinalGrade getLetterGrade(double avg) {
-        if (avg >= 90) return FinalGrade.A;
-        if (avg >= 80) return FinalGrade.B;
-        if (avg >= 70) return FinalGrade.C;
-        if (avg >= 60) return FinalGrade.D;
-        return FinalGrade.E;
-    }
-
     /**
      * Updates the student table with current averages and final grades.
      */
@@ -154,31 +136,39 @@ public class GradeManagementView implements model.Observer {
         if (selectedCourse == null) return;
         
         List<StudentRow> rows = new ArrayList<>();
+        rowIndex.clear();
         
         // Iterate over each student in the selected course
         for (Student s : selectedCourse.getStudents()) {
-            // Always fetch the authoritative Student from the model
-            Student modelStudent = selectedCourse.getStudents().stream()
-                .filter(st -> st.getUsername().equals(s.getUsername()))
-                .findFirst().orElse(s);  // fallback just in case
-
-            // Calculate the average percentage grade for this student
-            double avg = selectedCourse.calculateStudentAverage(modelStudent);
-           
-            // Fetch the student's final letter grade for this course, if it has been assigned
-            FinalGrade finalGrade = selectedCourse.getFinalGrade(modelStudent);
-           
-            // Create a new row for the student table, formatting the average and grade
-            rows.add(new StudentRow(
-                modelStudent.getFirstName() + " " + modelStudent.getLastName(),
-                String.format("%.2f", avg),
-                finalGrade != null ? finalGrade.toString() : "Not Assigned"
-            ));
+            // Remember where each student's row lives so single changes can be patched
+            rowIndex.put(s, rows.size());
+            rows.add(buildRow(s));
         }
         // Refresh the table by setting new row data
         studentTable.setItems(FXCollections.observableArrayList(rows));
     }
 
+    /**
+     * Builds the table row for one student.
+     *
+     * @param student the student to display
+     * @return the row with name, average and final grade
+     */
+    private StudentRow buildRow(Student student) {
+        // Calculate the average percentage grade for this student
+        double avg = selectedCourse.calculateStudentAverage(student);
+
+        // Fetch the student's final letter grade for this course, if it has been assigned
+        FinalGrade finalGrade = selectedCourse.getFinalGrade(student);
+
+        // Create a new row for the student table, formatting the average and grade
+        return new StudentRow(
+            student.getFirstName() + " " + student.getLastName(),
+            String.format("%.2f", avg),
+            finalGrade != null ? finalGrade.toString() : "Not Assigned"
+        );
+    }
+
     /**
      * Returns the JavaFX Scene representing this view.
      *
@@ -193,6 +183,39 @@ public class GradeManagementView implements model.Observer {
         updateStudentTable();
     }
 
+    /**
+     * Patches only the rows of students whose grades changed; any other change
+     * to the selected course rebuilds the table.
+     *
+     * @param changes the coalesced model changes
+     */
+    @Override
+    public void update(List<ChangeEvent> changes) {
+        if (selectedCourse == null) return;
+        Set<Student> touched = new LinkedHashSet<>();
+        for (ChangeEvent change : changes) {
+            if (change.course() != selectedCourse && !(change instanceof ChangeEvent.Invalidated)) {
+                continue; // Another course (or a new course) does not affect this table
+            }
+            if (change instanceof ChangeEvent.GradeChanged g) {
+                touched.add(g.student());
+            } else if (change instanceof ChangeEvent.FinalGradeAssigned f) {
+                touched.add(f.student());
+            } else {
+                updateStudentTable();
+                return;
+            }
+        }
+        for (Student s : touched) {
+            Integer index = rowIndex.get(s);
+            if (index == null) {
+                updateStudentTable(); // Not shown yet, rebuild instead
+                return;
+            }
+            studentTable.getItems().set(index, buildRow(s));
+        }
+    }
+
     public record StudentRow(String name, String average, String finalGrade) {
         public javafx.beans.property.SimpleStringProperty nameProperty() {
             return new javafx.beans.property.SimpleStringProperty(name);
@@ -101,12 +101,9 @@ public class GradePopupView {
         // Submit button applies all pending grade changes
         Button submitBtn = new Button("✅ Submit Grades");
         submitBtn.setOnAction(e -> {
-            // Loop through each pending grade and apply it to the assignment
-            for (Map.Entry<Student, Double> entry : tempGrades.entrySet()) {
-                assignment.assignGrade(entry.getKey(), entry.getValue());
-            }
+            // Apply all pending grades as one batch (single update in AssignmentManagementView)
+            assignment.assignGrades(tempGrades);
             tempGrades.clear(); // Clear temporary storage after commit
-            course.notifyObservers(); // Trigger update in AssignmentManagementView
             popup.close();
         });
 
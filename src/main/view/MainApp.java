@@ -4,16 +4,39 @@
  * Course: CSC 335 Spring 2025
  *
  * Purpose:
- * The entry point for the Gradebook application. Initializes the GradebookModel and launches
- * the JavaFX application by creating the main view.
+ * The entry point for the Gradebook application. Initializes the GradebookModel, restoring
+ * the last saved snapshot and replaying the change log written since, launches the JavaFX
+ * application by creating the main view, records every change in the log while running,
+ * and checkpoints a new snapshot when the application exits. Log commits and file saves
+ * run on a background writer so the application thread never waits for the disk.
  */
 package view;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.stage.Stage;
 import model.GradebookModel;
+import persistence.ModelJournal;
+import persistence.PersistenceService;
+import persistence.SnapshotReader;
+import persistence.SnapshotWriter;
+import persistence.WriteAheadLog;
+import util.FileUtil;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 
 public class MainApp extends Application {
+    private static final Path SNAPSHOT_FILE = Paths.get("gradebook.snapshot");
+    private static final Path LOG_FILE = Paths.get("gradebook.wal");
+
+    private GradebookModel model;
+    private WriteAheadLog log;
+    private PersistenceService persistence;
+    private ModelJournal journal;
 
 	/**
      * The main entry point for all JavaFX applications.
@@ -23,10 +46,67 @@ public class MainApp extends Application {
      */
     @Override
     public void start(Stage primaryStage) {
-        GradebookModel model = new GradebookModel();
+        model = new GradebookModel();
+        // Coalesce model and course notifications into at most one update per frame
+        model.getNotificationDispatcher().setDeliveryExecutor(Platform::runLater);
+        // Restore users, courses and grades from the previous session
+        if (Files.exists(SNAPSHOT_FILE)) {
+            try {
+                SnapshotReader.read(SNAPSHOT_FILE, model);
+            } catch (IOException e) {
+                System.err.println("Failed to load gradebook: " + e.getMessage());
+                setAsideUnreadableSnapshot(); // Never overwrite it with an empty gradebook
+            }
+        }
+        // Replay changes made after that snapshot, then record new ones as they happen
+        try {
+            log = WriteAheadLog.open(LOG_FILE);
+            persistence = new PersistenceService(log);
+            FileUtil.setBackgroundWriter(persistence);
+            journal = new ModelJournal(model, log, persistence);
+            journal.replay(log.getRecoveredEntries());
+            journal.attach();
+        } catch (IOException e) {
+            System.err.println("Failed to open change log: " + e.getMessage());
+        }
         new MainView(primaryStage, model);
     }
 
+    /**
+     * Saves the whole gradebook when the application exits, folding the change
+     * log into a new snapshot.
+     */
+    @Override
+    public void stop() {
+        try {
+            if (journal != null) {
+                try {
+                    journal.checkpoint(SNAPSHOT_FILE);
+                } finally {
+                    FileUtil.setBackgroundWriter(null);
+                    persistence.close(); // Finishes any queued file saves
+                    log.close();
+                }
+            } else {
+                SnapshotWriter.write(model, SNAPSHOT_FILE);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to save gradebook: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Moves a snapshot that failed to load out of the way, keeping it for inspection.
+     */
+    private static void setAsideUnreadableSnapshot() {
+        try {
+            Files.move(SNAPSHOT_FILE, SNAPSHOT_FILE.resolveSibling(SNAPSHOT_FILE.getFileName() + ".unreadable"),
+                StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.err.println("Failed to set aside gradebook: " + e.getMessage());
+        }
+    }
+
     /**
      * Launches the application from the command line.
      *
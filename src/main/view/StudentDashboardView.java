@@ -62,6 +62,25 @@ public class StudentDashboardView implements model.Observer {
         this.scene = new Scene(layout, 600, 700);
     }
 
+    /**
+     * Rebuilds the dashboard only if a change touches one of this student's courses
+     * or the student themself.
+     *
+     * @param changes the coalesced model changes
+     */
+    @Override
+    public void update(List<ChangeEvent> changes) {
+        for (ChangeEvent change : changes) {
+            Course course = change.course();
+            boolean removedThisStudent = change instanceof ChangeEvent.StudentRemoved r
+                && r.student().equals(student);
+            if (course == null || removedThisStudent || course.getStudents().contains(student)) {
+                update();
+                return;
+            }
+        }
+    }
+
     /**
      * Rebuilds the student dashboard whenever the model is updated.
      */
@@ -123,13 +142,15 @@ public class StudentDashboardView implements model.Observer {
         } else {
             boolean anyAssignments = false;
             for (Course course : enrolledCourses) {
+                // Read one consistent snapshot per course
+                CourseSnapshot snapshot = course.getSnapshot();
                 // Skip courses with no assignments
-                if (course.getAssignments().isEmpty()) continue;
+                if (snapshot.getAssignments().isEmpty()) continue;
                 anyAssignments = true;
                 assignmentsBox.getChildren().add(new Label("• " + course.getCourseName() + ":"));
                 // For each assignment, show title, grade received, and whether it's graded
-                for (Assignment a : course.getAssignments()) {
-                    Grade g = a.getGrade(student);
+                for (Assignment a : snapshot.getAssignments()) {
+                    Grade g = snapshot.getGrade(a, student);
                     String status = (g != null) ? "Graded" : "Ungraded";
                     double score = (g != null) ? g.getPointsReceived() : 0;
                     // Display line with assignment name, score (if any), and grading status
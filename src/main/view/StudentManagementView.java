@@ -110,21 +110,16 @@ public class StudentManagementView implements Observer {
         importBtn.setOnAction(e -> {
             if (selectedCourse == null) return;
             try {
-                // Get usernames of currently enrolled students
-                Set<String> existingUsernames = selectedCourse.getStudents().stream()
-                        .map(Student::getUsername)
-                        .collect(Collectors.toSet());
-                // Load all users, filter to new students not yet enrolled
-                List<Student> students = FileUtil.loadUsers("users.txt").stream()
+                // Load all users as the model's canonical instances, so students
+                // who are already enrolled are the same objects as on the roster
+                List<Student> students = FileUtil.loadUsers("users.txt", model.getIdentityMap()).stream()
                         .filter(u -> u instanceof Student)
                         .map(u -> (Student) u)
-                        .filter(s -> !existingUsernames.contains(s.getUsername()))
                         .toList();
 
-                // Enroll each new student into the course
-                for (Student s : students) {
-                    selectedCourse.addStudent(s);
-                }
+                // Enroll every new student in one pass, skipping those already enrolled
+                // and notifying observers once
+                selectedCourse.addStudents(students);
                 // Refresh the student list view
                 refreshStudentList();
             } catch (IOException ex) {
@@ -138,8 +133,8 @@ public class StudentManagementView implements Observer {
 
             List<Student> allStudents;
             try {
-                // Load all registered users, filter to only students
-                allStudents = FileUtil.loadUsers("users.txt").stream()
+                // Load all registered users as canonical instances, filter to only students
+                allStudents = FileUtil.loadUsers("users.txt", model.getIdentityMap()).stream()
                         .filter(u -> u instanceof Student)
                         .map(u -> (Student) u)
                         .filter(s -> !selectedCourse.getStudents().contains(s)) // Only those not yet enrolled
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -51,6 +52,23 @@ class TeacherControllerTest {
         assertEquals(9, a.getGrade(student).getPointsReceived());
     }
 
+    @Test
+    void testAssignGrades() {
+        Assignment a = new Assignment("HW1", 10, course);
+        controller.addAssignment(course, a);
+        controller.assignGrades(course, a, Map.of(student, 6.0));
+        assertEquals(6, a.getGrade(student).getPointsReceived());
+    }
+
+    @Test
+    void testAssignGradesRejectsAssignmentFromOtherCourse() {
+        Course other = new Course("OTHER101");
+        Assignment a = new Assignment("HW1", 10, other);
+        other.addAssignment(a);
+        assertThrows(IllegalArgumentException.class,
+            () -> controller.assignGrades(course, a, Map.of(student, 6.0)));
+    }
+
     @Test
     void testAssignFinalGrade() {
         controller.assignFinalGrade(course, student, FinalGrade.B);
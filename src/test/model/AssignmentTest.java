@@ -2,6 +2,7 @@ package model;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -80,11 +81,16 @@ class AssignmentTest {
     }
 
     @Test
-    void testGetStudentGradesReturnsCopy() {
+    void testGetStudentGradesIsReadOnlyView() {
         assignment.assignGrade(student1, 10);
-        Map<Student, Grade> copy = assignment.getStudentGrades();
-        copy.clear(); // Should not affect internal map
+        Map<Student, Grade> view = assignment.getStudentGrades();
+        assertThrows(UnsupportedOperationException.class, view::clear); // Cannot change internal grades
         assertFalse(assignment.getStudentGrades().isEmpty());
+
+        assignment.assignGrade(student2, 4); // The view reflects later grades
+        assertEquals(2, view.size());
+        assertEquals(4.0, view.get(student2).getPointsReceived());
+        assertSame(view, assignment.getStudentGrades());
     }
 
     @Test
@@ -93,4 +99,93 @@ class AssignmentTest {
             new Assignment("HW2", 20, null);
         });
     }
+
+    @Test
+    void testAssignGradesStoresAll() {
+        Map<Student, Double> scores = new HashMap<>();
+        scores.put(student1, 7.0);
+        scores.put(student2, 10.0);
+        assignment.assignGrades(scores);
+        assertEquals(7.0, assignment.getGrade(student1).getPointsReceived());
+        assertTrue(assignment.isFullyGraded(course.getStudents()));
+    }
+
+    @Test
+    void testAssignGradesIsAllOrNothing() {
+        Map<Student, Double> scores = new HashMap<>();
+        scores.put(student1, 7.0);
+        scores.put(student2, -1.0);
+        assertThrows(IllegalArgumentException.class, () -> assignment.assignGrades(scores));
+        assertFalse(assignment.isGraded(student1));
+    }
+
+    @Test
+    void testScoreStatisticsFollowRegrades() {
+        assignment.assignGrade(student1, 4);
+        assignment.assignGrade(student2, 8);
+        assertEquals(2, assignment.getScoreCount());
+        assertEquals(6.0, assignment.getMedianScore());
+        assertEquals(6.0, assignment.getAverageScore());
+
+        assignment.assignGrade(student1, 10);
+        assertEquals(9.0, assignment.getMedianScore());
+        assertEquals(10.0, assignment.getPercentileScore(100));
+        assertEquals(8.0, assignment.getPercentileScore(0));
+    }
+
+    @Test
+    void testScoreStatisticsOnlyCountEnrolledStudents() {
+        Student outsider = new Student("Cara", "Diaz", "cara", "pass");
+        assignment.assignGrade(student1, 6);
+        assignment.assignGrade(outsider, 2);
+        assertEquals(1, assignment.getScoreCount());
+
+        course.addStudent(outsider); // earlier grade now counts
+        assertEquals(2, assignment.getScoreCount());
+        assertEquals(4.0, assignment.getMedianScore());
+
+        course.removeStudent(student1);
+        assertEquals(1, assignment.getScoreCount());
+        assertEquals(2.0, assignment.getMedianScore());
+    }
+
+    @Test
+    void testHistogramAndPercentiles() {
+        Student student3 = new Student("Cara", "Diaz", "cara", "pass");
+        course.addStudent(student3);
+        assignment.assignGrade(student1, 5);
+        assignment.assignGrade(student2, 9);
+        assignment.assignGrade(student3, 9);
+
+        int[] buckets = assignment.getHistogram();
+        assertEquals(5.0, assignment.getHistogramBucketWidth());
+        assertEquals(1, buckets[10]); // 50%
+        assertEquals(2, buckets[18]); // 90%
+
+        assertEquals(100.0 / 6, assignment.percentileOf(student1), 1e-9);
+        assertEquals(100.0 * 2 / 3, assignment.percentileOf(student2), 1e-9);
+        assertEquals(9.0, assignment.quantile(0.5));
+        assertEquals(5.0, assignment.quantile(0.0));
+
+        assignment.assignGrade(student1, 10);
+        assignment.setHistogramBucketWidth(50);
+        assertArrayEquals(new int[] {0, 3}, assignment.getHistogram());
+    }
+
+    @Test
+    void testRestoreGradesWritesCellsAndStatistics() {
+        Student outsider = new Student("Cara", "Diaz", "cara", "pass");
+        assignment.restoreGrades(new Student[] {student1, student2, outsider}, new int[] {850, 600, 1000}, 3);
+        assertEquals(8.5, assignment.getGrade(student1).getPointsReceived());
+        assertEquals(10.0, assignment.getGrade(outsider).getPointsReceived());
+        assertEquals(2, assignment.getScoreCount()); // only enrolled students count
+        assertEquals(7.25, assignment.getMedianScore());
+    }
+
+    @Test
+    void testRestoreGradesRejectsWholeBatch() {
+        assertThrows(IllegalArgumentException.class,
+            () -> assignment.restoreGrades(new Student[] {student1, student2}, new int[] {500, 1100}, 2));
+        assertFalse(assignment.isGraded(student1));
+    }
 }
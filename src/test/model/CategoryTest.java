@@ -88,6 +88,34 @@ class CategoryTest {
         assertFalse(category.isDropped(a1, ghost));
     }
 
+    @Test
+    void testIsDropped_FollowsRegrade() {
+        category.setDropLowestCount(1, dummyCourse);
+        assertTrue(category.isDropped(a3, student));
+
+        a3.assignGrade(student, 10);  // a3 now 100%, a2 (90%) is lowest
+        assertFalse(category.isDropped(a3, student));
+        assertTrue(category.isDropped(a2, student));
+
+        student.addGrade(a2, new Grade(10, 10)); // ties drop the earliest
+        assertTrue(category.isDropped(a1, student));
+    }
+
+    @Test
+    void testIsDropped_FollowsDropCountAndMembership() {
+        category.setDropLowestCount(1, dummyCourse);
+        assertFalse(category.isDropped(a2, student));
+
+        category.setDropLowestCount(2, dummyCourse);
+        assertTrue(category.isDropped(a2, student));
+
+        Assignment a4 = new Assignment("HW4", 10, dummyCourse);
+        a4.assignGrade(student, 1);
+        category.addAssignment(a4);
+        assertTrue(category.isDropped(a4, student));
+        assertFalse(category.isDropped(a2, student));
+    }
+
     @Test
     void testGetName() {
         assertEquals("Homework", category.getName());
@@ -107,4 +135,13 @@ class CategoryTest {
         assertTrue(assignments.contains(a2));
         assertTrue(assignments.contains(a3));
     }
+
+    @Test
+    void testGetAssignments_IsReadOnlyView() {
+        List<Assignment> view = category.getAssignments();
+        assertThrows(UnsupportedOperationException.class, () -> view.remove(a1));
+        Assignment a4 = new Assignment("HW4", 10, dummyCourse);
+        category.addAssignment(a4);
+        assertTrue(view.contains(a4));
+    }
 }
@@ -0,0 +1,163 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ChangeEventTest {
+
+    private Course course;
+    private Assignment hw;
+    private Student ann;
+    private Student ben;
+    private RecordingObserver observer;
+
+    @BeforeEach
+    void setup() {
+        course = new Course("CSC335");
+        hw = new Assignment("HW1", 10, course);
+        course.addAssignment(hw);
+        ann = new Student("Ann", "Lee", "ann", "pw");
+        ben = new Student("Ben", "Ray", "ben", "pw");
+        course.addStudent(ann);
+        course.addStudent(ben);
+        observer = new RecordingObserver();
+        course.addObserver(observer);
+    }
+
+    @Test
+    void testGradeChangeIsTyped() {
+        hw.assignGrade(ann, 8);
+        assertEquals(1, observer.deliveries.size());
+        assertEquals(List.of(new ChangeEvent.GradeChanged(course, hw, ann, 800)), observer.deliveries.get(0));
+    }
+
+    @Test
+    void testBatchDeliversEveryChangeOnce() {
+        hw.assignGrades(Map.of(ann, 8.0, ben, 9.0));
+        assertEquals(1, observer.deliveries.size());
+        List<ChangeEvent> changes = observer.deliveries.get(0);
+        assertEquals(2, changes.size());
+        assertTrue(changes.contains(new ChangeEvent.GradeChanged(course, hw, ann, 800)));
+        assertTrue(changes.contains(new ChangeEvent.GradeChanged(course, hw, ben, 900)));
+    }
+
+    @Test
+    void testIdenticalChangesCoalesce() {
+        course.suspendNotifications();
+        hw.assignGrade(ann, 5);
+        hw.assignGrade(ann, 5);
+        course.resumeNotifications();
+        assertEquals(List.of(new ChangeEvent.GradeChanged(course, hw, ann, 500)), observer.deliveries.get(0));
+    }
+
+    @Test
+    void testRegradesKeepEachValueInOrder() {
+        course.suspendNotifications();
+        hw.assignGrade(ann, 5);
+        hw.assignGrade(ann, 6);
+        hw.assignGrade(ann, 5);
+        course.resumeNotifications();
+        assertEquals(List.of(
+            new ChangeEvent.GradeChanged(course, hw, ann, 500),
+            new ChangeEvent.GradeChanged(course, hw, ann, 600),
+            new ChangeEvent.GradeChanged(course, hw, ann, 500)), observer.deliveries.get(0));
+    }
+
+    @Test
+    void testRepeatedStructuralChangesKeepTheirOrder() {
+        Student cam = new Student("Cam", "Diaz", "cam", "pw");
+        course.suspendNotifications();
+        course.addStudent(cam);
+        course.removeStudent(cam);
+        course.addStudent(cam);
+        course.assignFinalGrade(ann, FinalGrade.A);
+        course.assignFinalGrade(ann, FinalGrade.B);
+        course.assignFinalGrade(ann, FinalGrade.A);
+        course.resumeNotifications();
+
+        assertEquals(List.of(
+            new ChangeEvent.StudentEnrolled(course, cam),
+            new ChangeEvent.StudentRemoved(course, cam),
+            new ChangeEvent.StudentEnrolled(course, cam),
+            new ChangeEvent.FinalGradeAssigned(course, ann, FinalGrade.A),
+            new ChangeEvent.FinalGradeAssigned(course, ann, FinalGrade.B),
+            new ChangeEvent.FinalGradeAssigned(course, ann, FinalGrade.A)), observer.deliveries.get(0));
+        assertTrue(course.getStudents().contains(cam));
+    }
+
+    @Test
+    void testConsecutiveDuplicateIsDropped() {
+        course.suspendNotifications();
+        course.assignFinalGrade(ann, FinalGrade.C);
+        course.assignFinalGrade(ann, FinalGrade.C);
+        course.resumeNotifications();
+        assertEquals(List.of(new ChangeEvent.FinalGradeAssigned(course, ann, FinalGrade.C)), observer.deliveries.get(0));
+    }
+
+    @Test
+    void testStructuralChangesAreTyped() {
+        Student cam = new Student("Cam", "Diaz", "cam", "pw");
+        course.addStudent(cam);
+        course.removeStudent(cam);
+        course.assignFinalGrade(ann, FinalGrade.A);
+        course.setGradingMode(true);
+
+        assertEquals(new ChangeEvent.StudentEnrolled(course, cam), observer.deliveries.get(0).get(0));
+        assertEquals(new ChangeEvent.StudentRemoved(course, cam), observer.deliveries.get(1).get(0));
+        assertEquals(new ChangeEvent.FinalGradeAssigned(course, ann, FinalGrade.A), observer.deliveries.get(2).get(0));
+        assertEquals(new ChangeEvent.GradingModeChanged(course, true), observer.deliveries.get(3).get(0));
+    }
+
+    @Test
+    void testModelAnnouncesNewCourse() {
+        GradebookModel model = new GradebookModel();
+        RecordingObserver modelObserver = new RecordingObserver();
+        model.addObserver(modelObserver);
+        Course other = new Course("CSC352");
+        model.addCourse(other);
+        assertTrue(modelObserver.deliveries.get(0).contains(new ChangeEvent.CourseAdded(other)));
+    }
+
+    @Test
+    void testModelAnnouncesNewUserOnce() {
+        GradebookModel model = new GradebookModel();
+        RecordingObserver modelObserver = new RecordingObserver();
+        model.addObserver(modelObserver);
+        model.addStudent(ann);
+        model.addStudent(new Student("Ann", "Lee", "ann", "pw")); // same username, not new
+        assertEquals(List.of(List.of(new ChangeEvent.UserAdded(ann))), modelObserver.deliveries);
+        assertNull(modelObserver.deliveries.get(0).get(0).course());
+    }
+
+    @Test
+    void testPlainObserverStillUpdated() {
+        int[] count = {0};
+        course.addObserver(() -> count[0]++);
+        hw.assignGrade(ann, 7);
+        assertEquals(1, count[0]);
+    }
+
+    @Test
+    void testUntypedNotifyIsInvalidated() {
+        course.notifyObservers();
+        assertEquals(List.of(new ChangeEvent.Invalidated()), observer.deliveries.get(0));
+        assertNull(observer.deliveries.get(0).get(0).course());
+    }
+
+    static class RecordingObserver implements Observer {
+        final List<List<ChangeEvent>> deliveries = new ArrayList<>();
+        public void update() {
+            fail("Typed observers should not receive untyped updates");
+        }
+        @Override
+        public void update(List<ChangeEvent> changes) {
+            deliveries.add(changes);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CourseSnapshotTest {
+
+    private Course course;
+    private Assignment hw1;
+    private Assignment hw2;
+    private Student ann;
+    private Student ben;
+
+    @BeforeEach
+    void setup() {
+        course = new Course("CSC335");
+        hw1 = new Assignment("HW1", 10, course);
+        hw2 = new Assignment("HW2", 10, course);
+        course.addAssignment(hw1);
+        course.addAssignment(hw2);
+        ann = new Student("Ann", "Lee", "ann", "pw");
+        ben = new Student("Ben", "Ray", "ben", "pw");
+        course.addStudent(ann);
+        course.addStudent(ben);
+    }
+
+    @Test
+    void testNewCourseHasEmptySnapshot() {
+        CourseSnapshot snapshot = new Course("Empty").getSnapshot();
+        assertEquals(0, snapshot.getVersion());
+        assertTrue(snapshot.getStudents().isEmpty());
+        assertTrue(snapshot.getAssignments().isEmpty());
+        assertNull(snapshot.getGrade(hw1, ann));
+    }
+
+    @Test
+    void testEachChangePublishesNextVersion() {
+        long before = course.getSnapshot().getVersion();
+        hw1.assignGrade(ann, 8);
+        CourseSnapshot after = course.getSnapshot();
+        assertEquals(before + 1, after.getVersion());
+        assertEquals(8.0, after.getGrade(hw1, ann).getPointsReceived());
+        assertNull(after.getGrade(hw1, ben));
+    }
+
+    @Test
+    void testOldSnapshotIsUnchanged() {
+        hw1.assignGrade(ann, 8);
+        CourseSnapshot old = course.getSnapshot();
+        hw1.assignGrade(ann, 3);
+        assertEquals(8.0, old.getGrade(hw1, ann).getPointsReceived());
+        assertEquals(3.0, course.getSnapshot().getGrade(hw1, ann).getPointsReceived());
+    }
+
+    @Test
+    void testDirectGradeEntryIsPublished() {
+        ann.addGrade(hw2, new Grade(6, 10));
+        assertEquals(6.0, course.getSnapshot().getGrade(hw2, ann).getPointsReceived());
+    }
+
+    @Test
+    void testBatchIsPublishedWhole() {
+        CourseSnapshot before = course.getSnapshot();
+        course.suspendNotifications();
+        hw1.assignGrade(ann, 9);
+        hw1.assignGrade(ben, 7);
+        // Readers keep the pre-batch state while the scope is open
+        assertSame(before, course.getSnapshot());
+        course.resumeNotifications();
+
+        CourseSnapshot after = course.getSnapshot();
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        assertEquals(9.0, after.getGrade(hw1, ann).getPointsReceived());
+        assertEquals(7.0, after.getGrade(hw1, ben).getPointsReceived());
+    }
+
+    @Test
+    void testGradeBatchCommitsAsOneVersion() {
+        long before = course.getSnapshot().getVersion();
+        course.beginGradeBatch()
+            .add(hw1, ann, 5)
+            .add(hw2, ben, 4)
+            .commit();
+        CourseSnapshot after = course.getSnapshot();
+        assertEquals(before + 1, after.getVersion());
+        assertEquals(5.0, after.getGrade(hw1, ann).getPointsReceived());
+        assertEquals(4.0, after.getGrade(hw2, ben).getPointsReceived());
+    }
+
+    @Test
+    void testRosterAndFinalGradesAreReflected() {
+        Student cat = new Student("Cat", "Moe", "cat", "pw");
+        course.addStudent(cat);
+        course.assignFinalGrade(ann, FinalGrade.A);
+        CourseSnapshot snapshot = course.getSnapshot();
+        assertEquals(List.of(ann, ben, cat), snapshot.getStudents());
+        assertEquals(FinalGrade.A, snapshot.getFinalGrade(ann));
+
+        course.removeStudent(cat);
+        assertEquals(List.of(ann, ben), course.getSnapshot().getStudents());
+        assertEquals(3, snapshot.getStudents().size());
+    }
+
+    @Test
+    void testCategoryRulesAndGradingMode() {
+        Category exams = new Category("Exams", 0.5);
+        exams.addAssignment(hw1);
+        course.addCategory(exams);
+        exams.setDropLowestCount(1, course);
+        course.setGradingMode(true);
+
+        CourseSnapshot snapshot = course.getSnapshot();
+        assertTrue(snapshot.isWeightedGrading());
+        assertEquals(List.of(hw1), snapshot.getCategoryRule(exams).assignments());
+        assertEquals(1, snapshot.getCategoryRule(exams).dropLowestCount());
+
+        exams.setDropLowestCount(0, course);
+        assertEquals(1, snapshot.getCategoryRule(exams).dropLowestCount());
+        assertEquals(0, course.getSnapshot().getCategoryRule(exams).dropLowestCount());
+    }
+
+    @Test
+    void testUntouchedPartsAreShared() {
+        hw1.assignGrade(ann, 8);
+        hw2.assignGrade(ann, 6);
+        CourseSnapshot first = course.getSnapshot();
+        hw1.assignGrade(ben, 2);
+        CourseSnapshot second = course.getSnapshot();
+        assertSame(first.getStudents(), second.getStudents());
+        assertSame(first.getFinalGrades(), second.getFinalGrades());
+        assertEquals(6.0, second.getGrade(hw2, ann).getPointsReceived());
+    }
+}
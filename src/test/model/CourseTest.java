@@ -6,6 +6,12 @@ import org.junit.jupiter.api.Test;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -196,4 +202,343 @@ class CourseTest {
         assertEquals(90.0, totalPoints, 0.01);
     }
 
+    @Test
+    void testRunningTotals_UpdateAfterRegrade() {
+        Category hw = new Category("Homework", 1.0);
+        course.addCategory(hw);
+        hw.addAssignment(a1);
+        hw.addAssignment(a2);
+        // (8 + 18) / (10 + 20)
+        assertEquals(26.0 / 30.0 * 100.0, course.calculateStudentAverage(student1), 0.01);
+
+        a1.assignGrade(student1, 2);
+        assertEquals(20.0 / 30.0 * 100.0, course.calculateStudentAverage(student1), 0.01);
+        // Other student's totals are untouched
+        assertEquals(19.0 / 30.0 * 100.0, course.calculateStudentAverage(student2), 0.01);
+    }
+
+    @Test
+    void testRunningTotals_DropCountChange() {
+        Category hw = new Category("Homework", 1.0);
+        course.addCategory(hw);
+        hw.addAssignment(a1);
+        hw.addAssignment(a2);
+        assertEquals(26.0 / 30.0 * 100.0, course.calculateStudentAverage(student1), 0.01);
+
+        hw.setDropLowestCount(1, course); // Drops HW1 (80%) for student1
+        assertEquals(90.0, course.calculateStudentAverage(student1), 0.01);
+
+        hw.setDropLowestCount(0, course);
+        assertEquals(26.0 / 30.0 * 100.0, course.calculateStudentAverage(student1), 0.01);
+    }
+
+    @Test
+    void testRunningTotals_RemoveAssignmentExcludesGrades() {
+        Category hw = new Category("Homework", 1.0);
+        course.addCategory(hw);
+        hw.addAssignment(a1);
+        hw.addAssignment(a2);
+        course.calculateStudentAverage(student2); // Warm the cache
+
+        course.removeAssignment(a2);
+        assertFalse(hw.getAssignments().contains(a2));
+        assertEquals(90.0, course.calculateStudentAverage(student2), 0.01);
+    }
+
+    @Test
+    void testRunningTotals_WeightedCategoriesAddedAndRemoved() {
+        course.setGradingMode(true);
+        Category hw = new Category("Homework", 0.5);
+        Category exams = new Category("Exams", 0.5);
+        hw.addAssignment(a1);
+        exams.addAssignment(a2);
+        course.addCategory(hw);
+        assertEquals(80.0 * 0.5, course.calculateStudentAverage(student1), 0.01);
+
+        course.addCategory(exams);
+        assertEquals(80.0 * 0.5 + 90.0 * 0.5, course.calculateStudentAverage(student1), 0.01);
+
+        course.removeCategory("Homework");
+        assertEquals(90.0 * 0.5, course.calculateStudentAverage(student1), 0.01);
+    }
+
+    @Test
+    void testRunningTotals_RemoveStudentResetsTotals() {
+        Category hw = new Category("Homework", 1.0);
+        course.addCategory(hw);
+        hw.addAssignment(a1);
+        assertEquals(80.0, course.calculateStudentAverage(student1), 0.01);
+
+        course.removeStudent(student1);
+        a1.assignGrade(student1, 10);
+        assertEquals(100.0, course.calculateStudentAverage(student1), 0.01);
+    }
+
+
+    @Test
+    void testRemoveStudent_NotEnrolledIsIgnored() {
+        Student stranger = new Student("Sam", "Lee", "sam_l", "pass");
+        int[] updates = {0};
+        course.addObserver(() -> updates[0]++);
+        long version = course.getSnapshot().getVersion();
+
+        course.removeStudent(stranger);
+        assertEquals(0, updates[0]);
+        assertEquals(version, course.getSnapshot().getVersion());
+        assertEquals(2, course.getStudents().size());
+    }
+
+    @Test
+    void testObserversRunAfterWriteLockIsReleased() throws Exception {
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        List<Boolean> lockFree = new ArrayList<>();
+        try {
+            // Another thread can only take the write lock if delivery happens outside it
+            course.addObserver(() -> {
+                try {
+                    lockFree.add(other.submit(() -> {
+                        boolean acquired = course.getLock().writeLock().tryLock();
+                        if (acquired) {
+                            course.getLock().writeLock().unlock();
+                        }
+                        return acquired;
+                    }).get(5, TimeUnit.SECONDS));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            course.removeStudent(student1);
+            a1.assignGrade(student2, 10);
+        } finally {
+            other.shutdownNow();
+        }
+        assertEquals(List.of(true, true), lockFree);
+    }
+
+    @Test
+    void testPlainNotifyRunsAfterWriteLockIsReleased() {
+        boolean[] writeLocked = {true};
+        course.addObserver(() -> writeLocked[0] = ((ReentrantReadWriteLock) course.getLock()).isWriteLockedByCurrentThread());
+        course.notifyObservers();
+        assertFalse(writeLocked[0]);
+        assertNotNull(course.getSnapshot()); // Published before delivery
+    }
+
+    @Test
+    void testReadersWaitForAnOpenWriteScope() throws Exception {
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            course.suspendNotifications();
+            Future<Integer> drop;
+            try {
+                drop = other.submit(course::getAssignmentsToDrop);
+                // The reader cannot finish while this thread holds the write lock
+                assertThrows(TimeoutException.class, () -> drop.get(100, TimeUnit.MILLISECONDS));
+                course.setAssignmentsToDrop(1);
+            } finally {
+                course.resumeNotifications();
+            }
+            assertEquals(1, drop.get(5, TimeUnit.SECONDS));
+        } finally {
+            other.shutdownNow();
+        }
+    }
+
+    @Test
+    void testAddStudents_BulkEnrollNotifiesOnce() {
+        int[] updates = {0};
+        course.addObserver(() -> updates[0]++);
+
+        List<Student> roster = new ArrayList<>();
+        roster.add(student1); // already enrolled, skipped
+        for (int i = 0; i < 2000; i++) {
+            roster.add(new Student("F" + i, "L" + i, "user" + i, "pw"));
+        }
+        roster.add(new Student("Dup", "Dup", "user0", "pw")); // same username as user0
+
+        course.addStudents(roster);
+        assertEquals(1, updates[0]);
+        assertEquals(2002, course.getStudents().size());
+        assertEquals("alina_k", course.getStudents().get(0).getUsername()); // insertion order kept
+        assertTrue(roster.get(1).getCourses().contains(course));
+    }
+
+    @Test
+    void testAddStudent_DuplicateIgnored() {
+        course.addStudent(new Student("Other", "Name", "alina_k", "pw"));
+        assertEquals(2, course.getStudents().size());
+        course.addAssignment(a1);
+        assertEquals(2, course.getAssignments().size());
+    }
+
+    @Test
+    void testCategoryIndex_FollowsCategoryChanges() {
+        Category hw = new Category("Homework", 0.5);
+        hw.addAssignment(a1); // before the category joins the course
+        assertNull(course.getCategoryOf(a1));
+
+        course.addCategory(hw);
+        assertSame(hw, course.getCategoryOf(a1));
+
+        Category exams = new Category("Exams", 0.5);
+        course.addCategory(exams);
+        exams.addAssignment(a2);
+        assertSame(exams, course.getCategoryOf(a2));
+        assertEquals(List.of(a2), course.getAssignmentsByCategory().get(exams));
+
+        course.removeAssignment(a2);
+        assertNull(course.getCategoryOf(a2));
+
+        course.removeCategory("Homework");
+        assertNull(course.getCategoryOf(a1));
+        assertFalse(course.getAssignmentsByCategory().containsKey(hw));
+    }
+
+    @Test
+    void testAssignmentsByCategory_IsReadOnly() {
+        Category hw = new Category("Homework", 0.5);
+        course.addCategory(hw);
+        hw.addAssignment(a1);
+        List<Assignment> view = course.getAssignmentsByCategory().get(hw);
+        assertThrows(UnsupportedOperationException.class, () -> view.add(a2));
+    }
+
+    @Test
+    void testGetters_ReturnReadOnlySnapshots() {
+        List<Student> roster = course.getStudents();
+        assertSame(roster, course.getStudents()); // no copy while unchanged
+        assertThrows(UnsupportedOperationException.class, () -> roster.add(student1));
+
+        Student student3 = new Student("Cara", "Diaz", "cara", "pass");
+        course.addStudent(student3);
+        assertEquals(2, roster.size()); // earlier snapshot is unaffected
+        assertEquals(3, course.getStudents().size());
+
+        assertThrows(UnsupportedOperationException.class, () -> course.getAssignments().clear());
+        assertThrows(UnsupportedOperationException.class, () -> course.getCategories().clear());
+    }
+
+    @Test
+    void testRemoveStudent_UnlinksCourse() {
+        course.removeStudent(student1);
+        assertFalse(student1.getCourses().contains(course));
+    }
+
+    @Test
+    void testParallelGradersKeepIndexesConsistent() throws Exception {
+        Course other = new Course("CSC345");
+        Assignment b1 = new Assignment("Lab1", 100, other);
+        other.addAssignment(b1);
+        Assignment c1 = new Assignment("Quiz", 100, course);
+        course.addAssignment(c1);
+        List<Student> shared = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Student s = new Student("F" + i, "L" + i, "user" + i, "pw");
+            shared.add(s);
+        }
+        course.addStudents(shared);
+        other.addStudents(shared);
+
+        // Four graders: two per course, each grading the same students in both
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<?>> jobs = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Assignment target = t % 2 == 0 ? c1 : b1;
+            int offset = t;
+            jobs.add(pool.submit(() -> {
+                for (int i = 0; i < shared.size(); i++) {
+                    target.assignGrade(shared.get(i), (i + offset) % 100);
+                    target.getCourse().calculateStudentAverage(shared.get(i));
+                }
+            }));
+        }
+        for (Future<?> job : jobs) {
+            job.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(200, c1.getScoreCount());
+        assertEquals(200, b1.getScoreCount());
+        for (Student s : shared) {
+            assertEquals(2, s.getCourses().size());
+            assertEquals(s.getGrade(c1).getPointsReceived(),
+                course.getSnapshot().getGrade(c1, s).getPointsReceived());
+        }
+    }
+
+    @Test
+    void testSuspendedScopeExcludesOtherWriters() throws Exception {
+        Thread writer = new Thread(() -> a1.assignGrade(student1, 1));
+        course.suspendNotifications();
+        try {
+            writer.start();
+            writer.join(200); // blocked on the course lock until the scope ends
+            assertTrue(writer.isAlive());
+            assertEquals(8.0, a1.getGrade(student1).getPointsReceived());
+        } finally {
+            course.resumeNotifications();
+        }
+        writer.join();
+        assertEquals(1.0, a1.getGrade(student1).getPointsReceived());
+    }
+
+    @Test
+    void testFinalizeGradesAssignsEveryStudentOnce() {
+        Category homework = new Category("Homework", 1.0);
+        homework.addAssignment(a1);
+        homework.addAssignment(a2);
+        course.addCategory(homework);
+        ChangeEventTest.RecordingObserver observer = new ChangeEventTest.RecordingObserver();
+        course.addObserver(observer);
+
+        FinalizeSummary summary = course.finalizeGrades(GradingScale.STANDARD);
+
+        assertEquals(1, observer.deliveries.size());
+        assertEquals(2, summary.changedCount());
+        assertEquals(2, summary.statistics().count());
+        for (Student s : List.of(student1, student2)) {
+            FinalGrade expected = FinalGrade.getLetterGrade(course.calculateStudentAverage(s));
+            assertEquals(expected, summary.gradeOf(s));
+            assertEquals(expected, course.getFinalGrade(s));
+            assertEquals(expected, s.getFinalGrade(course));
+            assertEquals(expected, course.getSnapshot().getFinalGrade(s));
+        }
+    }
+
+    @Test
+    void testFinalizeGradesSeesRosterChangesInSameScope() {
+        Student late = new Student("Lena", "Moss", "lena_m", "pass");
+        course.suspendNotifications();
+        FinalizeSummary summary;
+        try {
+            course.addStudent(late);
+            a1.assignGrade(late, 10);
+            course.removeStudent(student2);
+            summary = course.finalizeGrades(GradingScale.STANDARD);
+        } finally {
+            course.resumeNotifications();
+        }
+        assertEquals(2, summary.statistics().count());
+        assertTrue(summary.statistics().averages().containsKey(late));
+        assertFalse(summary.statistics().averages().containsKey(student2));
+        assertEquals(course.calculateStudentAverage(late), summary.statistics().averageOf(late), 1e-9);
+        assertEquals(List.of(student1, late), new ArrayList<>(summary.grades().keySet()));
+    }
+
+    @Test
+    void testFinalizeGradesReportsOnlyChanges() {
+        Category homework = new Category("Homework", 1.0);
+        homework.addAssignment(a1);
+        homework.addAssignment(a2);
+        course.addCategory(homework);
+        course.finalizeGrades(GradingScale.STANDARD);
+        a1.assignGrade(student2, 0);
+        FinalizeSummary again = course.finalizeGrades(average -> average >= 50 ? FinalGrade.A : FinalGrade.E);
+        assertEquals(FinalGrade.A, again.gradeOf(student1));
+        assertEquals(FinalGrade.E, again.gradeOf(student2));
+
+        FinalizeSummary unchanged = course.finalizeGrades(average -> average >= 50 ? FinalGrade.A : FinalGrade.E);
+        assertTrue(unchanged.changed().isEmpty());
+        assertEquals(2, unchanged.grades().size());
+    }
 }
@@ -0,0 +1,98 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GradeBatchTest {
+
+    private Course course;
+    private Assignment hw;
+    private Assignment exam;
+    private Student s1;
+    private Student s2;
+    private CountingObserver observer;
+
+    @BeforeEach
+    void setup() {
+        course = new Course("CSC335");
+        hw = new Assignment("HW1", 10, course);
+        exam = new Assignment("Exam", 100, course);
+        course.addAssignment(hw);
+        course.addAssignment(exam);
+        s1 = new Student("Ann", "Lee", "ann", "pw");
+        s2 = new Student("Ben", "Ray", "ben", "pw");
+        course.addStudent(s1);
+        course.addStudent(s2);
+        observer = new CountingObserver();
+        course.addObserver(observer);
+    }
+
+    @Test
+    void testCommitAppliesAllAndNotifiesOnce() {
+        course.beginGradeBatch()
+            .add(hw, s1, 8)
+            .add(hw, s2, 9)
+            .add(exam, s1, 95)
+            .commit();
+
+        assertEquals(8.0, hw.getGrade(s1).getPointsReceived());
+        assertEquals(9.0, hw.getGrade(s2).getPointsReceived());
+        assertEquals(95.0, exam.getGrade(s1).getPointsReceived());
+        assertEquals(1, observer.count);
+    }
+
+    @Test
+    void testInvalidEntryRejectsWholeBatch() {
+        GradeBatch batch = course.beginGradeBatch()
+            .add(hw, s1, 8)
+            .add(hw, s2, 11); // exceeds max
+        assertThrows(IllegalArgumentException.class, batch::commit);
+
+        assertFalse(hw.isGraded(s1));
+        assertFalse(hw.isGraded(s2));
+        assertEquals(0, observer.count);
+    }
+
+    @Test
+    void testAssignmentFromOtherCourseRejected() {
+        Course other = new Course("MATH101");
+        Assignment foreign = new Assignment("Quiz", 10, other);
+        GradeBatch batch = course.beginGradeBatch().add(foreign, s1, 5);
+        assertThrows(IllegalArgumentException.class, batch::commit);
+        assertFalse(foreign.isGraded(s1));
+    }
+
+    @Test
+    void testEmptyBatchDoesNotNotify() {
+        GradeBatch batch = course.beginGradeBatch();
+        assertEquals(0, batch.size());
+        batch.commit();
+        assertEquals(0, observer.count);
+    }
+
+    @Test
+    void testBatchCannotBeReused() {
+        GradeBatch batch = course.beginGradeBatch().add(hw, s1, 8);
+        batch.commit();
+        assertThrows(IllegalStateException.class, batch::commit);
+        assertThrows(IllegalStateException.class, () -> batch.add(hw, s2, 5));
+    }
+
+    @Test
+    void testBatchUpdatesRunningTotals() {
+        Category all = new Category("All", 1.0);
+        course.addCategory(all);
+        all.addAssignment(hw);
+        course.beginGradeBatch().add(hw, s1, 5).commit();
+        assertEquals(50.0, course.calculateStudentAverage(s1), 0.01);
+    }
+
+    static class CountingObserver implements Observer {
+        int count = 0;
+        public void update() {
+            count++;
+        }
+    }
+}
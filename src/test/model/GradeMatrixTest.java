@@ -0,0 +1,146 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GradeMatrixTest {
+
+    private Course course;
+    private Assignment hw;
+
+    @BeforeEach
+    void setup() {
+        course = new Course("CSC335");
+        hw = new Assignment("HW1", 10, course);
+        course.addAssignment(hw);
+    }
+
+    @Test
+    void testSlotsAreDenseAndStable() {
+        GradeMatrix matrix = course.getGradeMatrix();
+        Student a = new Student("Ann", "Lee", "ann", "pw");
+        Student b = new Student("Ben", "Ray", "ben", "pw");
+        assertEquals(-1, matrix.slotOf(a));
+        assertEquals(0, matrix.slotFor(a));
+        assertEquals(1, matrix.slotFor(b));
+        assertEquals(0, matrix.slotFor(a));
+        assertEquals(2, matrix.getSlotCount());
+        assertSame(b, matrix.studentAt(1));
+    }
+
+    @Test
+    void testSlotIndexFollowsRosterNotIdRange() {
+        // Students seen elsewhere in the model push the IDs far past this course's roster
+        IdRegistry ids = new IdRegistry();
+        for (int i = 0; i < 5000; i++) {
+            ids.studentId("elsewhere" + i);
+        }
+        GradeMatrix matrix = new Course("Sparse", ids).getGradeMatrix();
+        List<Student> roster = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Student s = new Student("F" + i, "L" + i, "sparse" + i, "pw");
+            roster.add(s);
+            assertEquals(i, matrix.slotFor(s));
+        }
+        GradeMatrix.SlotIndex copy = matrix.copySlotIndex();
+        matrix.slotFor(new Student("Late", "Comer", "late_comer", "pw"));
+        for (int i = 0; i < roster.size(); i++) {
+            assertEquals(i, matrix.slotOf(roster.get(i)));
+            assertEquals(i, copy.get(roster.get(i).findIdIn(ids)));
+        }
+        assertEquals(-1, copy.get(ids.findStudentId("late_comer")));
+        assertEquals(-1, matrix.slotOf(new Student("F0", "L0", "elsewhere0", "pw")));
+    }
+
+    @Test
+    void testColumnsGrowPastInitialCapacity() {
+        List<Student> roster = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            Student s = new Student("F" + i, "L" + i, "user" + i, "pw");
+            roster.add(s);
+            hw.assignGrade(s, i % 11);
+        }
+        // A column created after growth still lines up with the slots
+        Assignment late = new Assignment("HW2", 5, course);
+        late.assignGrade(roster.get(149), 4);
+
+        assertEquals(150, hw.getColumn().getGradedCount());
+        assertEquals(149 % 11, hw.getGrade(roster.get(149)).getPointsReceived());
+        assertEquals(4.0, late.getGrade(roster.get(149)).getPointsReceived());
+        assertNull(late.getGrade(roster.get(0)));
+    }
+
+    @Test
+    void testNextGradedWalksBitmap() {
+        Student[] students = new Student[70];
+        for (int i = 0; i < students.length; i++) {
+            students[i] = new Student("F" + i, "L" + i, "user" + i, "pw");
+            course.getGradeMatrix().slotFor(students[i]);
+        }
+        hw.assignGrade(students[3], 5);
+        hw.assignGrade(students[65], 7);
+
+        GradeMatrix.Column column = hw.getColumn();
+        assertEquals(3, column.nextGraded(0));
+        assertEquals(65, column.nextGraded(4));
+        assertEquals(-1, column.nextGraded(66));
+    }
+
+    @Test
+    void testStudentAndAssignmentShareOneCell() {
+        Student s = new Student("Ann", "Lee", "ann", "pw");
+        hw.assignGrade(s, 6);
+        assertEquals(6.0, s.getGrade(hw).getPointsReceived());
+
+        s.addGrade(hw, new Grade(9, 10));
+        assertEquals(9.0, hw.getGrade(s).getPointsReceived());
+
+        Map<Assignment, Grade> byAssignment = s.getGrades();
+        Map<Student, Grade> byStudent = hw.getStudentGrades();
+        assertEquals(1, byAssignment.size());
+        assertEquals(1, byStudent.size());
+        assertEquals(9.0, byAssignment.get(hw).getPointsReceived());
+    }
+
+    @Test
+    void testRemovedAssignmentLeavesStudentRow() {
+        Student s = new Student("Ann", "Lee", "ann", "pw");
+        Assignment quiz = new Assignment("Quiz", 5, course);
+        course.addAssignment(quiz);
+        hw.assignGrade(s, 6);
+        quiz.assignGrade(s, 4);
+        assertEquals(2, s.getGrades().size());
+
+        course.removeAssignment(quiz);
+        assertEquals(1, s.getGrades().size());
+        assertEquals(List.of(hw), new ArrayList<>(s.getGrades().keySet()));
+        assertNull(s.getGrades().get(quiz));
+        assertFalse(s.getGrades().containsKey(quiz));
+        assertEquals(4.0, quiz.getGrade(s).getPointsReceived()); // The cells themselves are kept
+
+        course.addAssignment(quiz);
+        assertEquals(2, s.getGrades().size());
+        assertEquals(4.0, s.getGrades().get(quiz).getPointsReceived());
+    }
+
+    @Test
+    void testRegradeDoesNotDoubleCount() {
+        Student s = new Student("Ann", "Lee", "ann", "pw");
+        hw.assignGrade(s, 6);
+        hw.assignGrade(s, 7);
+        assertEquals(1, hw.getColumn().getGradedCount());
+    }
+
+    @Test
+    void testNegativePointsRejected() {
+        Student s = new Student("Ann", "Lee", "ann", "pw");
+        assertThrows(IllegalArgumentException.class, () -> hw.assignGrade(s, -1));
+        assertFalse(hw.isGraded(s));
+    }
+}
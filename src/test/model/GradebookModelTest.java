@@ -28,6 +28,14 @@ class GradebookModelTest {
         assertEquals(student, model.getStudentByUsername("alina_k"));
     }
 
+    @Test
+    void testAddStudentKeepsCanonicalInstance() {
+        model.addStudent(student);
+        model.addStudent(new Student("Alina", "Kushareva", "alina_k", "other"));
+        assertSame(student, model.getStudentByUsername("alina_k"));
+        assertSame(student, model.getIdentityMap().findStudent("alina_k"));
+    }
+
     @Test
     void testStudentExistsAndDoesNotExist() {
         assertFalse(model.studentExists("ghost"));
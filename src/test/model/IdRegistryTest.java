@@ -0,0 +1,95 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class IdRegistryTest {
+
+    @Test
+    void testStudentIdsAreDenseAndStable() {
+        IdRegistry registry = new IdRegistry();
+        assertEquals(0, registry.studentId("ann"));
+        assertEquals(1, registry.studentId("ben"));
+        assertEquals(0, registry.studentId("ann"));
+        assertEquals(2, registry.getStudentIdCount());
+        assertEquals(1, registry.findStudentId("ben"));
+        assertEquals(-1, registry.findStudentId("cat"));
+        assertThrows(IllegalArgumentException.class, () -> registry.studentId(null));
+    }
+
+    @Test
+    void testEqualUsernamesShareAnId() {
+        IdRegistry registry = new IdRegistry();
+        Student a = new Student("Ann", "Lee", "ann", "pw");
+        Student b = new Student("Annie", "Lee", "ann", "other");
+        Student c = new Student("Ann", "Lee", "ANN", "pw");
+        assertEquals(-1, a.findIdIn(registry));
+        assertEquals(a.idIn(registry), b.idIn(registry));
+        assertEquals(a.idIn(registry), b.findIdIn(registry));
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertNotEquals(a.idIn(registry), c.idIn(registry));
+        assertNotEquals(a, c);
+    }
+
+    @Test
+    void testCoursesAndAssignmentsGetDistinctIds() {
+        GradebookModel model = new GradebookModel();
+        Course c1 = new Course("C1", model.getIdRegistry());
+        Course c2 = new Course("C2", model.getIdRegistry());
+        Assignment a1 = new Assignment("HW1", 10, c1);
+        Assignment a2 = new Assignment("HW1", 10, c2);
+        assertNotEquals(c1.getId(), c2.getId());
+        assertNotEquals(a1.getId(), a2.getId());
+        assertEquals(2, model.getIdRegistry().getAssignmentIdCount());
+    }
+
+    @Test
+    void testEachModelOwnsItsRegistry() {
+        GradebookModel first = new GradebookModel();
+        GradebookModel second = new GradebookModel();
+        assertSame(first.getIdRegistry(), first.getIdRegistry());
+        assertNotSame(first.getIdRegistry(), second.getIdRegistry());
+
+        // Building in one model hands out no IDs in the other
+        Course course = new Course("C1", first.getIdRegistry());
+        Student ann = new Student("Ann", "Lee", "ann", "pw");
+        Assignment hw = new Assignment("HW1", 10, course);
+        course.addAssignment(hw);
+        course.addStudent(ann);
+        hw.assignGrade(ann, 8);
+        assertEquals(1, first.getIdRegistry().getCourseIdCount());
+        assertEquals(1, first.getIdRegistry().getStudentIdCount());
+        assertEquals(0, second.getIdRegistry().getCourseIdCount());
+        assertEquals(0, second.getIdRegistry().getStudentIdCount());
+        assertEquals(0, second.getIdRegistry().getAssignmentIdCount());
+    }
+
+    @Test
+    void testStudentInTwoRegistriesKeepsEachId() {
+        IdRegistry first = new IdRegistry();
+        IdRegistry second = new IdRegistry();
+        second.studentId("someone_else");
+        Student ann = new Student("Ann", "Lee", "ann", "pw");
+        assertEquals(0, ann.idIn(first));
+        assertEquals(1, ann.idIn(second));
+        assertEquals(0, ann.idIn(first)); // The cached binding follows the registry
+    }
+
+    @Test
+    void testGradesResolveThroughIdsAcrossStudentObjects() {
+        Course course = new Course("CSC335");
+        Assignment hw = new Assignment("HW1", 10, course);
+        course.addAssignment(hw);
+        Student loaded = new Student("Ann", "Lee", "ann_lookup", "pw");
+        course.addStudent(loaded);
+        hw.assignGrade(loaded, 7);
+
+        // A second object for the same user (e.g. from another loader) sees the same grade
+        Student copy = new Student("Ann", "Lee", "ann_lookup", "pw");
+        assertEquals(7.0, hw.getGrade(copy).getPointsReceived());
+        assertEquals(7.0, course.getSnapshot().getGrade(hw, copy).getPointsReceived());
+        assertNull(course.getSnapshot().getGrade(new Assignment("X", 10, new Course("Other")), copy));
+    }
+}
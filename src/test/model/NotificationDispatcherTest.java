@@ -0,0 +1,155 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NotificationDispatcherTest {
+
+    private NotificationDispatcher dispatcher;
+    private CountingObserver observer;
+
+    @BeforeEach
+    void setup() {
+        dispatcher = new NotificationDispatcher();
+        observer = new CountingObserver();
+        dispatcher.addObserver(observer);
+    }
+
+    @Test
+    void testDeliversImmediatelyByDefault() {
+        dispatcher.markDirty();
+        dispatcher.markDirty();
+        assertEquals(2, observer.count);
+        assertFalse(dispatcher.isDirty());
+    }
+
+    @Test
+    void testObserverRegisteredOnce() {
+        dispatcher.addObserver(observer);
+        dispatcher.markDirty();
+        assertEquals(1, observer.count);
+    }
+
+    @Test
+    void testSuspendCoalescesIntoOneUpdate() {
+        dispatcher.suspendNotifications();
+        dispatcher.markDirty();
+        dispatcher.markDirty();
+        dispatcher.markDirty();
+        assertEquals(0, observer.count);
+        assertTrue(dispatcher.isDirty());
+
+        dispatcher.resumeNotifications();
+        assertEquals(1, observer.count);
+    }
+
+    @Test
+    void testNestedScopesDeliverAtOutermostResume() {
+        dispatcher.suspendNotifications();
+        dispatcher.suspendNotifications();
+        dispatcher.markDirty();
+        dispatcher.resumeNotifications();
+        assertEquals(0, observer.count);
+        dispatcher.resumeNotifications();
+        assertEquals(1, observer.count);
+    }
+
+    @Test
+    void testResumeWithoutChangesDeliversNothing() {
+        dispatcher.suspendNotifications();
+        dispatcher.resumeNotifications();
+        assertEquals(0, observer.count);
+    }
+
+    @Test
+    void testResumeWithoutSuspendThrows() {
+        assertThrows(IllegalStateException.class, dispatcher::resumeNotifications);
+    }
+
+    @Test
+    void testDeliveryExecutorQueuesOneFlushPerTurn() {
+        List<Runnable> queue = new ArrayList<>();
+        dispatcher.setDeliveryExecutor(queue::add);
+        dispatcher.markDirty();
+        dispatcher.markDirty();
+        dispatcher.markDirty();
+        assertEquals(1, queue.size());
+        assertEquals(0, observer.count);
+
+        queue.remove(0).run(); // Simulates the next frame
+        assertEquals(1, observer.count);
+
+        dispatcher.markDirty();
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    void testQuietPeriodDebounces() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        LatchObserver latched = new LatchObserver(latch);
+        dispatcher.removeObserver(observer);
+        dispatcher.addObserver(latched);
+        dispatcher.setQuietPeriod(Duration.ofMillis(30));
+
+        for (int i = 0; i < 5; i++) {
+            dispatcher.markDirty();
+        }
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        Thread.sleep(60);
+        assertEquals(1, latched.count);
+    }
+
+    @Test
+    void testCopySettingsFrom() {
+        List<Runnable> queue = new ArrayList<>();
+        NotificationDispatcher source = new NotificationDispatcher();
+        source.setDeliveryExecutor(queue::add);
+        dispatcher.copySettingsFrom(source);
+        dispatcher.markDirty();
+        assertEquals(1, queue.size());
+        assertEquals(0, observer.count);
+    }
+
+    @Test
+    void testCourseSuspendCoalescesFinalGrades() {
+        Course course = new Course("CSC335");
+        Student a = new Student("Ann", "Lee", "ann", "pw");
+        Student b = new Student("Ben", "Ray", "ben", "pw");
+        course.addStudent(a);
+        course.addStudent(b);
+        course.addObserver(observer);
+
+        course.suspendNotifications();
+        course.assignFinalGrade(a, FinalGrade.A);
+        course.assignFinalGrade(b, FinalGrade.B);
+        course.resumeNotifications();
+        assertEquals(1, observer.count);
+    }
+
+    static class CountingObserver implements Observer {
+        int count = 0;
+        public void update() {
+            count++;
+        }
+    }
+
+    static class LatchObserver implements Observer {
+        private final CountDownLatch latch;
+        volatile int count = 0;
+        LatchObserver(CountDownLatch latch) {
+            this.latch = latch;
+        }
+        public void update() {
+            count++;
+            latch.countDown();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class ScoreHistogramTest {
+
+    @Test
+    void testBucketsCoverFullRange() {
+        ScoreHistogram histogram = new ScoreHistogram(5);
+        assertEquals(20, histogram.getCounts().length);
+        histogram.add(0);
+        histogram.add(4.99);
+        histogram.add(5);
+        histogram.add(100);
+        int[] counts = histogram.getCounts();
+        assertEquals(2, counts[0]);
+        assertEquals(1, counts[1]);
+        assertEquals(1, counts[19]);
+    }
+
+    @Test
+    void testRemoveMovesCountBack() {
+        ScoreHistogram histogram = new ScoreHistogram(10);
+        histogram.add(85);
+        histogram.remove(85);
+        histogram.add(95);
+        int[] counts = histogram.getCounts();
+        assertEquals(0, counts[8]);
+        assertEquals(1, counts[9]);
+    }
+
+    @Test
+    void testUnevenWidthRoundsUpBucketCount() {
+        assertEquals(34, new ScoreHistogram(3).getCounts().length);
+    }
+
+    @Test
+    void testInvalidWidthRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ScoreHistogram(0));
+        assertThrows(IllegalArgumentException.class, () -> new ScoreHistogram(150));
+    }
+
+    @Test
+    void testCountsAreCopies() {
+        ScoreHistogram histogram = new ScoreHistogram(50);
+        histogram.getCounts()[0] = 99;
+        assertEquals(0, histogram.getCounts()[0]);
+    }
+}
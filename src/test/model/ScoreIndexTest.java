@@ -0,0 +1,98 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ScoreIndexTest {
+
+    @Test
+    void testEmptyIndex() {
+        ScoreIndex index = new ScoreIndex();
+        assertEquals(0, index.size());
+        assertEquals(0.0, index.median());
+        assertEquals(0.0, index.percentile(90));
+        assertEquals(0.0, index.mean());
+    }
+
+    @Test
+    void testMedianOddAndEven() {
+        ScoreIndex index = new ScoreIndex();
+        index.insert(70);
+        index.insert(90);
+        index.insert(80);
+        assertEquals(80.0, index.median());
+        index.insert(100);
+        assertEquals(85.0, index.median());
+    }
+
+    @Test
+    void testRemoveThenInsert() {
+        ScoreIndex index = new ScoreIndex();
+        index.insert(50);
+        index.insert(60);
+        index.insert(70);
+        index.remove(50);
+        index.insert(95);
+        assertEquals(70.0, index.median());
+        assertTrue(index.remove(95));
+        assertFalse(index.remove(95));
+        assertEquals(65.0, index.mean()); // A missed remove leaves the sum alone
+        assertEquals(65.0, index.median());
+    }
+
+    @Test
+    void testPercentileInterpolates() {
+        ScoreIndex index = new ScoreIndex();
+        for (int i = 0; i <= 10; i++) {
+            index.insert(i * 10);
+        }
+        assertEquals(0.0, index.percentile(0));
+        assertEquals(100.0, index.percentile(100));
+        assertEquals(25.0, index.percentile(25), 1e-9);
+        assertEquals(index.median(), index.percentile(50), 1e-9);
+    }
+
+    @Test
+    void testMatchesSortedReference() {
+        Random random = new Random(7);
+        ScoreIndex index = new ScoreIndex();
+        int[] current = new int[100];
+        for (int i = 0; i < current.length; i++) {
+            current[i] = random.nextInt(50);
+            index.insert(current[i]);
+        }
+        for (int step = 0; step < 500; step++) {
+            int i = random.nextInt(current.length);
+            int next = random.nextInt(50);
+            index.remove(current[i]);
+            index.insert(next);
+            current[i] = next;
+        }
+        int[] sorted = current.clone();
+        Arrays.sort(sorted);
+        assertEquals((sorted[49] + sorted[50]) / 2.0, index.median());
+        assertEquals(100, index.size());
+        assertEquals(Arrays.stream(sorted).sum() / 100.0, index.mean(), 1e-9);
+    }
+
+    @Test
+    void testInsertAllMatchesSingleInserts() {
+        ScoreIndex bulk = new ScoreIndex();
+        ScoreIndex single = new ScoreIndex();
+        bulk.insert(500);
+        single.insert(500);
+        int[] values = {900, 100, 700, 300, 0};
+        bulk.insertAll(values, 4);
+        for (int i = 0; i < 4; i++) {
+            single.insert(values[i]);
+        }
+        assertEquals(single.size(), bulk.size());
+        assertEquals(single.median(), bulk.median());
+        assertEquals(single.percentile(25), bulk.percentile(25));
+        assertEquals(single.mean(), bulk.mean());
+    }
+}
@@ -0,0 +1,69 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class ScoreTest {
+
+    @Test
+    void testToHundredthsRoundsToNearest() {
+        assertEquals(850, Score.toHundredths(8.5));
+        assertEquals(33, Score.toHundredths(0.333));
+        assertEquals(67, Score.toHundredths(0.666));
+        assertEquals(0, Score.toHundredths(0.0));
+    }
+
+    @Test
+    void testToHundredthsRejectsUnstorableValues() {
+        assertThrows(IllegalArgumentException.class, () -> Score.toHundredths(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> Score.toHundredths(1e12));
+    }
+
+    @Test
+    void testRoundTripIsExact() {
+        for (int h = 0; h <= 100_000; h += 7) {
+            assertEquals(h, Score.toHundredths(Score.toPoints(h)));
+        }
+    }
+
+    @Test
+    void testPercentage() {
+        assertEquals(90.0, Score.percentage(900, 1000));
+        assertEquals(0.0, Score.percentage(5, 0));
+        assertEquals(200.0 / 3.0, Score.percentage(200, 300), 1e-12);
+    }
+
+    @Test
+    void testCompareRatioIsExact() {
+        assertEquals(0, Score.compareRatio(1, 3, 2, 6));
+        assertTrue(Score.compareRatio(1, 3, 34, 100) < 0);
+        assertTrue(Score.compareRatio(Integer.MAX_VALUE, Integer.MAX_VALUE, 1, 2) > 0);
+    }
+
+    @Test
+    void testCourseAverageDoesNotDependOnOrder() {
+        // In doubles, (0.1 + 0.2) + 0.3 != 0.1 + (0.2 + 0.3); in hundredths the sums match
+        double[] points = {0.1, 0.2, 0.3, 7.77, 0.01, 3.33};
+        Student forward = gradedStudent("fwd", points);
+        double[] reversed = new double[points.length];
+        for (int i = 0; i < points.length; i++) {
+            reversed[i] = points[points.length - 1 - i];
+        }
+        Student backward = gradedStudent("bwd", reversed);
+        assertEquals(forward.getAverageForCourse(forward.getCourses().get(0)),
+            backward.getAverageForCourse(backward.getCourses().get(0)));
+    }
+
+    private static Student gradedStudent(String name, double[] points) {
+        Course course = new Course(name);
+        Student student = new Student("Ann", "Lee", name, "pw");
+        course.addStudent(student);
+        for (int i = 0; i < points.length; i++) {
+            Assignment a = new Assignment("A" + i, 10, course);
+            course.addAssignment(a);
+            a.assignGrade(student, points[i]);
+        }
+        return student;
+    }
+}
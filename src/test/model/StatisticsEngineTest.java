@@ -0,0 +1,84 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StatisticsEngineTest {
+
+    private Course course;
+    private Assignment exam;
+
+    @BeforeEach
+    void setup() {
+        course = new Course("CSC335");
+        exam = new Assignment("Exam", 100, course);
+        course.addAssignment(exam);
+        Category exams = new Category("Exams", 1.0);
+        course.addCategory(exams);
+        exams.addAssignment(exam);
+    }
+
+    private Student enroll(String username, double points) {
+        Student s = new Student("F", "L", username, "pw");
+        course.addStudent(s);
+        exam.assignGrade(s, points);
+        return s;
+    }
+
+    @Test
+    void testEmptyCourse() {
+        CourseStats stats = course.calculateStatistics();
+        assertEquals(0, stats.count());
+        assertEquals(0.0, stats.mean());
+        assertEquals(0.0, stats.median());
+        assertEquals(0, stats.countOf(FinalGrade.A));
+    }
+
+    @Test
+    void testSmallRoster() {
+        Student a = enroll("a", 95);
+        enroll("b", 85);
+        enroll("c", 75);
+        enroll("d", 55);
+
+        CourseStats stats = course.calculateStatistics();
+        assertEquals(4, stats.count());
+        assertEquals(77.5, stats.mean(), 1e-9);
+        assertEquals(80.0, stats.median(), 1e-9);
+        assertEquals(55.0, stats.min(), 1e-9);
+        assertEquals(95.0, stats.max(), 1e-9);
+        assertEquals(Math.sqrt(218.75), stats.standardDeviation(), 1e-9);
+        assertEquals(1, stats.countOf(FinalGrade.A));
+        assertEquals(0, stats.countOf(FinalGrade.D));
+        assertEquals(1, stats.countOf(FinalGrade.E));
+        assertEquals(95.0, stats.averageOf(a), 1e-9);
+    }
+
+    @Test
+    void testParallelMatchesSequential() {
+        for (int i = 0; i < 5000; i++) {
+            enroll("user" + i, (i * 37) % 101);
+        }
+        CourseStats sequential = StatisticsEngine.compute(course, Integer.MAX_VALUE);
+        CourseStats parallel = StatisticsEngine.compute(course, 64);
+
+        assertEquals(sequential.count(), parallel.count());
+        assertEquals(sequential.mean(), parallel.mean(), 1e-9);
+        assertEquals(sequential.median(), parallel.median(), 1e-9);
+        assertEquals(sequential.standardDeviation(), parallel.standardDeviation(), 1e-9);
+        assertEquals(sequential.min(), parallel.min());
+        assertEquals(sequential.max(), parallel.max());
+        assertEquals(sequential.letterDistribution(), parallel.letterDistribution());
+        assertEquals(sequential.averages(), parallel.averages());
+    }
+
+    @Test
+    void testClassAverageUsesStatistics() {
+        enroll("a", 60);
+        enroll("b", 90);
+        assertEquals(75.0, course.calculateClassAverage(), 1e-9);
+        assertEquals(75.0, course.calculateStatistics().median(), 1e-9);
+    }
+}
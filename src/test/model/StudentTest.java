@@ -69,6 +69,16 @@ class StudentTest {
         assertTrue(map.containsKey(assignment));
     }
 
+    @Test
+    void testGetGradesIsReadOnlyView() {
+        Map<Assignment, Grade> view = student.getGrades();
+        assertTrue(view.isEmpty());
+        student.addGrade(assignment, grade);
+        assertEquals(1, view.size());
+        assertEquals(grade.getPointsReceived(), view.get(assignment).getPointsReceived());
+        assertThrows(UnsupportedOperationException.class, () -> view.put(assignment, grade));
+    }
+
     @Test
     void testGetFinalGradesMap() {
         student.assignFinalGrade(course, FinalGrade.B);
@@ -4,7 +4,9 @@ import org.junit.jupiter.api.Test;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -75,12 +77,46 @@ class TeacherTest {
     void testCreateCourse_PersistsToFile() throws Exception {
         Path path = Path.of("courses.txt");
         Files.deleteIfExists(path);
-        teacher.createCourse("Biology 101");
+        teacher.createCourse("Biology 101", new GradebookModel());
         assertTrue(Files.exists(path));
         String content = Files.readString(path);
         assertTrue(content.contains("Biology 101"));
     }
 
+    @Test
+    void testCreateCourse_KeepsExistingCoursesInFile() throws Exception {
+        Path path = Path.of("courses.txt");
+        Files.deleteIfExists(path);
+        GradebookModel model = new GradebookModel();
+        teacher.addCourse(course1);
+        model.addCourse(course1);
+        teacher.createCourse("Biology 101", model);
+        teacher.createCourse("Chemistry 110", model);
+        assertEquals(Set.of("Math 101", "Biology 101", "Chemistry 110"), savedCourseNames(path));
+    }
+
+    @Test
+    void testCreateCourse_KeepsOtherTeachersCoursesInFile() throws Exception {
+        Path path = Path.of("courses.txt");
+        Files.deleteIfExists(path);
+        GradebookModel model = new GradebookModel();
+        Teacher other = new Teacher("jane_roe", "Jane", "Roe", "hashedPassword");
+        teacher.createCourse("Biology 101", model);
+        other.createCourse("Chemistry 110", model);
+        teacher.createCourse("Physics 201", model);
+        assertEquals(Set.of("Biology 101", "Chemistry 110", "Physics 201"), savedCourseNames(path));
+        assertEquals(1, other.getTeachingCourses().size());
+        assertEquals(3, model.getAllCourses().size());
+    }
+
+    private static Set<String> savedCourseNames(Path path) throws Exception {
+        Set<String> names = new HashSet<>();
+        for (String line : Files.readAllLines(path)) {
+            names.add(line.split(",")[0]);
+        }
+        return names;
+    }
+
     @Test
     void testEnrollStudent_AddsToCourse() {
         Student student = new Student("Jane", "Smith", "jane_s", "pass");
@@ -0,0 +1,48 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UserIdentityMapTest {
+
+    private UserIdentityMap identities;
+
+    @BeforeEach
+    void setUp() {
+        identities = new UserIdentityMap();
+    }
+
+    @Test
+    void testFactoryCalledOnlyForNewUsername() {
+        Student first = identities.student("ann", () -> new Student("Ann", "Lee", "ann", "pw"));
+        Student second = identities.student("ann", () -> fail("factory should not run"));
+        assertSame(first, second);
+        assertSame(first, identities.findStudent("ann"));
+    }
+
+    @Test
+    void testFirstRegisteredInstanceWins() {
+        Student original = new Student("Ann", "Lee", "ann", "pw");
+        Student copy = new Student("Ann", "Lee", "ann", "other");
+        assertSame(original, identities.canonical(original));
+        assertSame(original, identities.canonical(copy));
+        assertEquals(1, identities.getStudents().size());
+    }
+
+    @Test
+    void testStudentsAndTeachersAreSeparate() {
+        Teacher teacher = identities.teacher("ann", () -> new Teacher("ann", "Ann", "Lee", "pw"));
+        assertNull(identities.findStudent("ann"));
+        assertSame(teacher, identities.findTeacher("ann"));
+        assertEquals(1, identities.getTeachers().size());
+    }
+
+    @Test
+    void testFactoryMustBuildRequestedUsername() {
+        assertThrows(IllegalArgumentException.class,
+            () -> identities.student("ann", () -> new Student("Ben", "Ray", "ben", "pw")));
+        assertNull(identities.findStudent("ann"));
+    }
+}
@@ -3,6 +3,7 @@ package model;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import util.FileUtil;
 import util.SecurityUtil;
 
 import java.io.IOException;
@@ -40,6 +41,22 @@ class UserManagerTest {
         );
     }
 
+    @Test
+    void testRegisterUser_ImportedUsernameThrows(@TempDir Path tempDir) throws IOException {
+        Path csv = tempDir.resolve("roster.csv");
+        Files.write(csv, List.of("Ivy,Hart,ivyhart,Imp0rted!"));
+        UserIdentityMap identities = new UserIdentityMap();
+        Student imported = FileUtil.parseStudentCSV(csv.toString(), identities).get(0);
+        String importedHash = imported.getPasswordHash();
+
+        UserManager um = new UserManager(userFile.toString(), identities);
+        assertThrows(IllegalArgumentException.class, () ->
+            um.registerUser("ivyhart", "Ivy", "Hart", "NewP@ssw0rd", "student")
+        );
+        assertEquals(importedHash, imported.getPasswordHash());
+        assertNull(um.findUserByUsername("ivyhart"));
+    }
+
     @Test
     void testRegisterUser_InvalidUsernameThrows() {
         UserManager um = new UserManager(userFile.toString());
@@ -122,6 +139,27 @@ class UserManagerTest {
         assertEquals(0, um.getAllUsers().size());
     }
 
+    @Test
+    void testFindUserByUsernameIgnoreCase() {
+        UserManager um = new UserManager(userFile.toString());
+        um.registerUser("JohnDoe", "John", "Doe", "StrongP@ss1", "student");
+        assertNull(um.findUserByUsername("johndoe"));
+        assertEquals("JohnDoe", um.findUserByUsernameIgnoreCase("johndoe").getUsername());
+        assertNull(um.findUserByUsernameIgnoreCase("nobody"));
+        assertNull(um.findUserByUsernameIgnoreCase(null));
+    }
+
+    @Test
+    void testIndexRebuiltOnReload() {
+        UserManager um = new UserManager(userFile.toString());
+        um.registerUser("saved1", "First", "One", "StrongP@ss1", "student");
 
+        UserManager reloaded = new UserManager(userFile.toString());
+        assertNotNull(reloaded.findUserByUsername("saved1"));
 
-}
\ No newline at end of file
+        reloaded.registerUser("saved2", "Second", "Two", "StrongP@ss2", "student");
+        reloaded.loadUsersFromFile();
+        assertNotNull(reloaded.findUserByUsername("saved2"));
+        assertEquals(2, reloaded.getAllUsers().size());
+    }
+}
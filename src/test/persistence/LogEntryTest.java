@@ -0,0 +1,50 @@
+package persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import model.FinalGrade;
+
+class LogEntryTest {
+
+    private static LogEntry roundTrip(LogEntry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        LogEntry.write(entry, new DataOutputStream(bytes));
+        return LogEntry.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    @Test
+    void testEveryEntryTypeRoundTrips() throws IOException {
+        List<LogEntry> entries = List.of(
+            new LogEntry.UserAdded(false, "ann", "Ann", "Lee", "hash"),
+            new LogEntry.UserAdded(true, "tom", "Tom", "Teach", null),
+            new LogEntry.CourseAdded("CSC335", List.of("tom")),
+            new LogEntry.StudentEnrolled("CSC335", "ann"),
+            new LogEntry.StudentRemoved("CSC335", "ann"),
+            new LogEntry.AssignmentAdded("CSC335", "HW1", 1050),
+            new LogEntry.AssignmentRemoved("CSC335", "HW1"),
+            new LogEntry.GradeAssigned("CSC335", "HW1", "ann", 925),
+            new LogEntry.FinalGradeAssigned("CSC335", "ann", FinalGrade.B),
+            new LogEntry.FinalGradeAssigned("CSC335", "ann", null),
+            new LogEntry.GradingModeChanged("CSC335", true),
+            new LogEntry.CategoryUpdated("CSC335", "Homework", 0.4, 1, List.of("HW1", "HW2")),
+            new LogEntry.CategoryRemoved("CSC335", "Homework"));
+        for (LogEntry entry : entries) {
+            assertEquals(entry, roundTrip(entry));
+        }
+    }
+
+    @Test
+    void testUnknownTypeIsRejected() {
+        assertThrows(IOException.class,
+            () -> LogEntry.read(new DataInputStream(new ByteArrayInputStream(new byte[] {99}))));
+    }
+}
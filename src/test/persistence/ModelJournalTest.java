@@ -0,0 +1,275 @@
+package persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import model.*;
+
+class ModelJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path logFile;
+    private GradebookModel model;
+    private WriteAheadLog log;
+    private ModelJournal journal;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        logFile = tempDir.resolve("gradebook.wal");
+        model = new GradebookModel();
+        log = WriteAheadLog.open(logFile);
+        journal = new ModelJournal(model, log);
+        journal.attach();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        journal.detach();
+        log.close();
+    }
+
+    /**
+     * Builds a small course through the public model API, so every step is journaled.
+     */
+    private Course buildCourse() {
+        Student ann = new Student("Ann", "Lee", "wal_ann", "hash1");
+        Teacher tom = new Teacher("wal_tom", "Tom", "Teach", "hash2");
+        model.addStudent(ann);
+        model.addTeacher(tom);
+        Course course = new Course("WAL335");
+        tom.addCourse(course);
+        model.addCourse(course);
+
+        Assignment hw1 = new Assignment("HW1", 10, course);
+        Assignment hw2 = new Assignment("HW2", 10, course);
+        course.addAssignment(hw1);
+        course.addAssignment(hw2);
+        Category homework = new Category("Homework", 1.0);
+        course.addCategory(homework);
+        homework.addAssignment(hw1);
+        homework.addAssignment(hw2);
+        homework.setDropLowestCount(1, course);
+        course.setGradingMode(true);
+        course.addStudent(ann);
+        hw1.assignGrade(ann, 9.5);
+        hw2.assignGrade(ann, 6);
+        hw1.assignGrade(ann, 8.25);
+        course.assignFinalGrade(ann, FinalGrade.B);
+        return course;
+    }
+
+    /**
+     * Reopens the log and replays it into a fresh model, as startup does.
+     */
+    private GradebookModel recover() throws IOException {
+        journal.detach();
+        log.close();
+        GradebookModel recovered = new GradebookModel();
+        log = WriteAheadLog.open(logFile);
+        journal = new ModelJournal(recovered, log);
+        journal.replay(log.getRecoveredEntries());
+        return recovered;
+    }
+
+    private static Assignment find(Course course, String title) {
+        return course.getAssignments().stream()
+            .filter(a -> a.getTitle().equals(title)).findFirst().orElseThrow();
+    }
+
+    @Test
+    void testReplayRebuildsTheModel() throws IOException {
+        buildCourse();
+        GradebookModel recovered = recover();
+
+        Student ann = recovered.getStudentByUsername("wal_ann");
+        assertEquals("hash1", ann.getPasswordHash());
+        Course course = recovered.getCourseByName("WAL335");
+        assertEquals(List.of(course), recovered.getTeacherByUsername("wal_tom").getTeachingCourses());
+        assertEquals(List.of(ann), course.getStudents());
+        assertEquals(8.25, find(course, "HW1").getGrade(ann).getPointsReceived(), 1e-9);
+        assertEquals(6, find(course, "HW2").getGrade(ann).getPointsReceived(), 1e-9);
+        assertEquals(FinalGrade.B, course.getFinalGrade(ann));
+        assertTrue(course.getSnapshot().isWeightedGrading());
+        Category homework = course.getCategories().get(0);
+        assertEquals(2, homework.getAssignments().size());
+        assertEquals(1, homework.getDropLowestCount());
+    }
+
+    @Test
+    void testReplayAppliesRemovals() throws IOException {
+        Course course = buildCourse();
+        course.removeAssignment(find(course, "HW2"));
+        course.removeCategory("Homework");
+        course.removeStudent(model.getStudentByUsername("wal_ann"));
+        GradebookModel recovered = recover();
+
+        Course restored = recovered.getCourseByName("WAL335");
+        assertEquals(1, restored.getAssignments().size());
+        assertTrue(restored.getCategories().isEmpty());
+        assertTrue(restored.getStudents().isEmpty());
+    }
+
+    @Test
+    void testBatchedChangesShareOneSync() {
+        Course course = buildCourse();
+        Student ann = model.getStudentByUsername("wal_ann");
+        long syncs = log.getSyncCount();
+        course.suspendNotifications();
+        try {
+            find(course, "HW1").assignGrade(ann, 1);
+            find(course, "HW2").assignGrade(ann, 2);
+            course.assignFinalGrade(ann, FinalGrade.D);
+        } finally {
+            course.resumeNotifications();
+        }
+        assertEquals(syncs + 1, log.getSyncCount());
+    }
+
+    @Test
+    void testBackgroundWriterRecordsChanges() throws IOException {
+        journal.detach();
+        PersistenceService writer = new PersistenceService(log);
+        journal = new ModelJournal(model, log, writer);
+        journal.attach();
+        buildCourse();
+        writer.sync();
+        writer.close();
+        GradebookModel recovered = recover();
+
+        Course course = recovered.getCourseByName("WAL335");
+        Student ann = recovered.getStudentByUsername("wal_ann");
+        assertEquals(8.25, find(course, "HW1").getGrade(ann).getPointsReceived(), 1e-9);
+        assertEquals(FinalGrade.B, course.getFinalGrade(ann));
+    }
+
+    @Test
+    void testCheckpointShrinksTheLogAndKeepsLaterChanges() throws IOException {
+        Course course = buildCourse();
+        long before = log.size();
+        Path snapshot = tempDir.resolve("gradebook.snapshot");
+        journal.checkpoint(snapshot);
+        assertTrue(log.size() < before);
+        assertTrue(log.size() <= WriteAheadLog.HEADER_BYTES);
+
+        find(course, "HW2").assignGrade(model.getStudentByUsername("wal_ann"), 10);
+        journal.detach();
+        log.close();
+
+        // Startup order: snapshot first, then the entries written after it
+        GradebookModel recovered = new GradebookModel();
+        SnapshotReader.read(snapshot, recovered);
+        log = WriteAheadLog.open(logFile);
+        journal = new ModelJournal(recovered, log);
+        assertEquals(1, journal.replay(log.getRecoveredEntries()));
+
+        Course restored = recovered.getCourseByName("WAL335");
+        Student ann = recovered.getStudentByUsername("wal_ann");
+        assertEquals(10, find(restored, "HW2").getGrade(ann).getPointsReceived(), 1e-9);
+        assertEquals(8.25, find(restored, "HW1").getGrade(ann).getPointsReceived(), 1e-9);
+    }
+
+    @Test
+    void testReplayOverSnapshotIsIdempotent() throws IOException {
+        buildCourse();
+        Path snapshot = tempDir.resolve("gradebook.snapshot");
+        SnapshotWriter.write(model, snapshot); // Snapshot written but the log was never trimmed
+        journal.detach();
+        log.close();
+
+        GradebookModel recovered = new GradebookModel();
+        SnapshotReader.read(snapshot, recovered);
+        log = WriteAheadLog.open(logFile);
+        journal = new ModelJournal(recovered, log);
+        journal.replay(log.getRecoveredEntries());
+
+        Course restored = recovered.getCourseByName("WAL335");
+        assertEquals(2, restored.getAssignments().size());
+        assertEquals(1, restored.getCategories().size());
+        assertEquals(1, restored.getStudents().size());
+        assertEquals(1, recovered.getAllUsers().stream().filter(u -> u instanceof Student).count());
+    }
+
+    @Test
+    void testReplayKeepsReEnrolmentInOneBatch() throws IOException {
+        Course course = buildCourse();
+        Student ann = model.getStudentByUsername("wal_ann");
+        course.suspendNotifications();
+        try {
+            course.removeStudent(ann);
+            course.addStudent(ann);
+            course.removeStudent(ann);
+            course.addStudent(ann);
+        } finally {
+            course.resumeNotifications();
+        }
+        GradebookModel recovered = recover();
+
+        Course restored = recovered.getCourseByName("WAL335");
+        assertEquals(List.of(recovered.getStudentByUsername("wal_ann")), restored.getStudents());
+    }
+
+    @Test
+    void testReplayKeepsTheLastOfRepeatedFinalGrades() throws IOException {
+        Course course = buildCourse();
+        Student ann = model.getStudentByUsername("wal_ann");
+        course.suspendNotifications();
+        try {
+            course.assignFinalGrade(ann, FinalGrade.A);
+            course.assignFinalGrade(ann, FinalGrade.B);
+            course.assignFinalGrade(ann, FinalGrade.A);
+        } finally {
+            course.resumeNotifications();
+        }
+        GradebookModel recovered = recover();
+
+        Course restored = recovered.getCourseByName("WAL335");
+        assertEquals(FinalGrade.A, restored.getFinalGrade(recovered.getStudentByUsername("wal_ann")));
+    }
+
+    @Test
+    void testLateDeliveryRecordsTheValuesWritten() throws IOException {
+        Course course = buildCourse();
+        Student ann = model.getStudentByUsername("wal_ann");
+        Assignment hw2 = find(course, "HW2");
+        Category homework = course.getCategories().get(0);
+        List<Runnable> deferred = new ArrayList<>();
+        course.getNotificationDispatcher().setDeliveryExecutor(deferred::add);
+        hw2.assignGrade(ann, 5);
+        homework.setDropLowestCount(0, course);
+        hw2.assignGrade(ann, 6);
+        homework.setDropLowestCount(1, course);
+        deferred.forEach(Runnable::run); // The journal sees the batch only after every change
+
+        journal.detach();
+        log.close();
+        log = WriteAheadLog.open(logFile);
+        List<LogEntry> entries = log.getRecoveredEntries();
+        List<LogEntry> tail = entries.subList(entries.size() - 4, entries.size());
+        assertEquals(new LogEntry.GradeAssigned("WAL335", "HW2", "wal_ann", 500), tail.get(0));
+        assertEquals(0, ((LogEntry.CategoryUpdated) tail.get(1)).dropLowestCount());
+        assertEquals(new LogEntry.GradeAssigned("WAL335", "HW2", "wal_ann", 600), tail.get(2));
+        assertEquals(1, ((LogEntry.CategoryUpdated) tail.get(3)).dropLowestCount());
+        journal = new ModelJournal(model, log);
+    }
+
+    @Test
+    void testEntriesForMissingCoursesAreSkipped() {
+        int applied = journal.replay(List.of(
+            new LogEntry.GradeAssigned("NOPE", "HW1", "wal_ann", 100),
+            new LogEntry.CourseAdded("NEW101", List.of()),
+            new LogEntry.AssignmentRemoved("NEW101", "HW9")));
+        assertEquals(1, applied);
+        assertNotNull(model.getCourseByName("NEW101"));
+    }
+}
@@ -0,0 +1,178 @@
+package persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PersistenceServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path logFile;
+    private WriteAheadLog log;
+    private PersistenceService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        logFile = tempDir.resolve("gradebook.wal");
+        log = WriteAheadLog.open(logFile);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (service != null) {
+            service.close();
+        }
+        log.close();
+    }
+
+    private static LogEntry grade(int points) {
+        return new LogEntry.GradeAssigned("CSC335", "HW1", "ann", points);
+    }
+
+    @Test
+    void testAppendedEntriesAreDurableWhenFutureCompletes() throws Exception {
+        service = new PersistenceService(log);
+        CompletableFuture<Void> done = service.append(List.of(grade(100), grade(200)));
+        done.get(10, TimeUnit.SECONDS);
+        service.close();
+        log.close();
+        try (WriteAheadLog reopened = WriteAheadLog.open(logFile)) {
+            assertEquals(List.of(grade(100), grade(200)), reopened.getRecoveredEntries());
+        }
+    }
+
+    @Test
+    void testQueuedAppendsShareOneSync() throws Exception {
+        // A long interval keeps the writer gathering until the flush arrives
+        service = new PersistenceService(log, 1024, 1024, Duration.ofSeconds(10));
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(service.append(List.of(grade(i))));
+        }
+        service.sync();
+        for (CompletableFuture<Void> future : futures) {
+            assertTrue(future.isDone());
+            assertFalse(future.isCompletedExceptionally());
+        }
+        assertTrue(log.getSyncCount() < 100);
+        assertTrue(service.getBatchCount() < 100);
+    }
+
+    @Test
+    void testBatchSizeLimitsOneWrite() throws Exception {
+        service = new PersistenceService(log, 1024, 10, Duration.ofSeconds(10));
+        for (int i = 0; i < 25; i++) {
+            service.append(List.of(grade(i)));
+        }
+        service.sync();
+        assertTrue(service.getBatchCount() >= 3);
+    }
+
+    @Test
+    void testRewritesOfOneFileKeepLatestContent() throws Exception {
+        service = new PersistenceService(log, 1024, 1024, Duration.ofSeconds(10));
+        Path file = tempDir.resolve("users.txt");
+        CompletableFuture<Void> first = service.rewrite(file, List.of("first"));
+        CompletableFuture<Void> second = service.rewrite(file, List.of("second", "line"));
+        service.sync();
+        assertTrue(first.isDone() && second.isDone());
+        assertEquals(List.of("second", "line"), Files.readAllLines(file));
+        assertFalse(Files.exists(tempDir.resolve("users.txt.tmp")));
+    }
+
+    @Test
+    void testDurabilityCallbackRunsAfterWrite() throws Exception {
+        service = new PersistenceService(log);
+        Path file = tempDir.resolve("courses.txt");
+        List<String> seen = new ArrayList<>();
+        service.rewrite(file, List.of("CSC335,ann"))
+            .thenRun(() -> seen.add(readQuietly(file)))
+            .get(10, TimeUnit.SECONDS);
+        assertEquals(List.of("CSC335,ann"), seen);
+    }
+
+    private static String readQuietly(Path file) {
+        try {
+            return Files.readString(file).strip();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    @Test
+    void testFailedWriteCompletesExceptionally() throws Exception {
+        service = new PersistenceService(log);
+        Path file = tempDir.resolve("missing").resolve("users.txt");
+        CompletableFuture<Void> done = service.rewrite(file, List.of("x"));
+        assertThrows(IOException.class, () -> PersistenceService.await(done));
+        // The writer keeps going after a failure
+        service.append(List.of(grade(1))).get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testCloseWritesQueuedRequestsThenRejectsNewOnes() throws Exception {
+        service = new PersistenceService(log, 1024, 1024, Duration.ofSeconds(10));
+        CompletableFuture<Void> queued = service.append(List.of(grade(5)));
+        service.close();
+        assertTrue(queued.isDone());
+        assertFalse(queued.isCompletedExceptionally());
+        CompletableFuture<Void> late = service.append(List.of(grade(6)));
+        assertThrows(IOException.class, () -> PersistenceService.await(late));
+    }
+
+    @Test
+    void testRequestsRacingWithCloseAllComplete() throws Exception {
+        // A tiny queue keeps producers blocked in put while close runs
+        service = new PersistenceService(log, 2, 1, Duration.ZERO);
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        List<Future<List<CompletableFuture<Void>>>> results = new ArrayList<>();
+        try {
+            for (int p = 0; p < 4; p++) {
+                results.add(producers.submit(() -> {
+                    List<CompletableFuture<Void>> futures = new ArrayList<>();
+                    CompletableFuture<Void> last;
+                    do {
+                        last = service.append(List.of(grade(futures.size())));
+                        futures.add(last);
+                    } while (!last.isCompletedExceptionally());
+                    return futures;
+                }));
+            }
+            Thread.sleep(20);
+            service.close();
+            for (Future<List<CompletableFuture<Void>>> result : results) {
+                for (CompletableFuture<Void> future : result.get(10, TimeUnit.SECONDS)) {
+                    // Each request was either written or rejected; none is left waiting
+                    assertTrue(future.isDone());
+                }
+            }
+        } finally {
+            producers.shutdownNow();
+        }
+    }
+
+    @Test
+    void testInvalidConfigurationIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new PersistenceService(log, 0, 10, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class,
+            () -> new PersistenceService(log, 10, 0, Duration.ZERO));
+    }
+}
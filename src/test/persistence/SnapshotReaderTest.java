@@ -0,0 +1,159 @@
+package persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import model.*;
+
+class SnapshotReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private GradebookModel model;
+    private Student ann;
+    private Student ben;
+    private Teacher tom;
+    private Course course;
+    private Assignment hw1;
+    private Assignment exam;
+
+    @BeforeEach
+    void setUp() {
+        model = new GradebookModel();
+        ann = new Student("Ann", "Lee", "snap_ann", "hash1");
+        ben = new Student("Ben", "Ray", "snap_ben", "hash2");
+        tom = new Teacher("snap_tom", "Tom", "Teach", "hash3");
+        model.addStudent(ann);
+        model.addStudent(ben);
+        model.addTeacher(tom);
+
+        course = new Course("SNAP335");
+        hw1 = new Assignment("HW1", 10.5, course);
+        exam = new Assignment("Exam", 100, course);
+        course.addAssignment(hw1);
+        course.addAssignment(exam);
+        Category homework = new Category("Homework", 0.4);
+        homework.addAssignment(hw1);
+        Category exams = new Category("Exams", 0.6);
+        exams.addAssignment(exam);
+        course.addCategory(homework);
+        course.addCategory(exams);
+        homework.setDropLowestCount(1, course);
+        course.setGradingMode(true);
+        course.addStudent(ann);
+        course.addStudent(ben);
+        hw1.assignGrade(ann, 9.25);
+        hw1.assignGrade(ben, 7);
+        exam.assignGrade(ann, 88.5);
+        hw1.setHistogramBucketWidth(10);
+        course.assignFinalGrade(ann, FinalGrade.B);
+        tom.addCourse(course);
+        model.addCourse(course);
+    }
+
+    private GradebookModel roundTrip() throws IOException {
+        Path file = tempDir.resolve("gradebook.snapshot");
+        SnapshotWriter.write(model, file);
+        GradebookModel loaded = new GradebookModel();
+        SnapshotReader.read(file, loaded);
+        return loaded;
+    }
+
+    @Test
+    void testRoundTripRestoresUsers() throws IOException {
+        GradebookModel loaded = roundTrip();
+        Student student = loaded.getStudentByUsername("snap_ann");
+        assertEquals("Ann Lee", student.getFullName());
+        assertEquals("hash1", student.getPasswordHash());
+        Teacher teacher = loaded.getTeacherByUsername("snap_tom");
+        assertEquals("Tom", teacher.getFirstName());
+        assertEquals(List.of(loaded.getCourseByName("SNAP335")), teacher.getTeachingCourses());
+    }
+
+    @Test
+    void testRoundTripRestoresCourseStructure() throws IOException {
+        Course restored = roundTrip().getCourseByName("SNAP335");
+        CourseSnapshot snapshot = restored.getSnapshot();
+        assertTrue(snapshot.isWeightedGrading());
+        assertEquals(List.of("HW1", "Exam"), snapshot.getAssignments().stream().map(Assignment::getTitle).toList());
+        assertEquals(1050, snapshot.getAssignments().get(0).getMaxHundredths());
+        assertEquals(10.0, snapshot.getAssignments().get(0).getHistogramBucketWidth());
+
+        Category homework = snapshot.getCategories().get(0);
+        assertEquals("Homework", homework.getName());
+        assertEquals(0.4, homework.getWeight());
+        assertEquals(1, snapshot.getCategoryRule(homework).dropLowestCount());
+        assertEquals(List.of(snapshot.getAssignments().get(0)), snapshot.getCategoryRule(homework).assignments());
+    }
+
+    @Test
+    void testCategoryAssignmentOutsideCourseIsSkipped() throws IOException {
+        Assignment draft = new Assignment("Draft", 5, course); // Never added to the course
+        course.getCategories().get(0).addAssignment(draft);
+
+        CourseSnapshot snapshot = roundTrip().getCourseByName("SNAP335").getSnapshot();
+        Category homework = snapshot.getCategories().get(0);
+        assertEquals(List.of(snapshot.getAssignments().get(0)), snapshot.getCategoryRule(homework).assignments());
+        assertEquals(2, snapshot.getAssignments().size());
+    }
+
+    @Test
+    void testRoundTripRestoresGradesAndFinalGrades() throws IOException {
+        GradebookModel loaded = roundTrip();
+        Course restored = loaded.getCourseByName("SNAP335");
+        Student student = loaded.getStudentByUsername("snap_ann");
+        Assignment restoredHw = restored.getAssignments().get(0);
+        Assignment restoredExam = restored.getAssignments().get(1);
+
+        assertEquals(9.25, restoredHw.getGrade(student).getPointsReceived());
+        assertEquals(88.5, restoredExam.getGrade(student).getPointsReceived());
+        assertNull(restoredExam.getGrade(loaded.getStudentByUsername("snap_ben")));
+        assertEquals(2, restoredHw.getScoreCount());
+        assertEquals(FinalGrade.B, restored.getFinalGrade(student));
+        assertEquals(FinalGrade.B, student.getFinalGrade(restored));
+        assertEquals(course.calculateStudentAverage(ann), restored.calculateStudentAverage(student));
+    }
+
+    @Test
+    void testKnownUsersKeepTheirInstances() throws IOException {
+        Path file = tempDir.resolve("gradebook.snapshot");
+        SnapshotWriter.write(model, file);
+        GradebookModel target = new GradebookModel();
+        Student existing = new Student("Ann", "Lee", "snap_ann", "newer");
+        target.addStudent(existing);
+
+        SnapshotReader.read(file, target);
+        assertSame(existing, target.getStudentByUsername("snap_ann"));
+        assertTrue(target.getCourseByName("SNAP335").getStudents().contains(existing));
+    }
+
+    @Test
+    void testCorruptSnapshotIsRejected() throws IOException {
+        Path file = tempDir.resolve("gradebook.snapshot");
+        SnapshotWriter.write(model, file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(file, bytes);
+
+        GradebookModel target = new GradebookModel();
+        assertThrows(SnapshotFormatException.class, () -> SnapshotReader.read(file, target));
+        assertTrue(target.getAllCourses().isEmpty());
+        assertTrue(target.getAllUsers().isEmpty());
+    }
+
+    @Test
+    void testOtherFilesAreRejected() throws IOException {
+        Path file = tempDir.resolve("users.txt");
+        Files.write(file, List.of("jake_s,Jake Smith,pass456,student"));
+        assertThrows(SnapshotFormatException.class, () -> SnapshotReader.read(file, new GradebookModel()));
+    }
+}
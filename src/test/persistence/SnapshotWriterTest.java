@@ -0,0 +1,55 @@
+package persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import model.GradebookModel;
+import model.Student;
+
+class SnapshotWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testHeaderHasMagicAndVersion() throws IOException {
+        Path file = tempDir.resolve("gradebook.snapshot");
+        SnapshotWriter.write(new GradebookModel(), file);
+        ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(file));
+        assertEquals(SnapshotFormat.MAGIC, header.getInt());
+        assertEquals(SnapshotFormat.VERSION, header.getInt());
+    }
+
+    @Test
+    void testReplacesPreviousSnapshotWithoutLeavingTempFile() throws IOException {
+        Path file = tempDir.resolve("gradebook.snapshot");
+        SnapshotWriter.write(new GradebookModel(), file);
+        long emptySize = Files.size(file);
+
+        GradebookModel model = new GradebookModel();
+        model.addStudent(new Student("Ann", "Lee", "writer_ann", "hash"));
+        SnapshotWriter.write(model, file);
+
+        assertTrue(Files.size(file) > emptySize);
+        assertFalse(Files.exists(tempDir.resolve("gradebook.snapshot.tmp")));
+    }
+
+    @Test
+    void testWritesLargeGradebookAcrossBufferFlushes() throws IOException {
+        GradebookModel model = new GradebookModel();
+        model.addStudent(new Student("Ann", "Lee", "writer_" + "x".repeat(3_000_000), "hash"));
+        Path file = tempDir.resolve("gradebook.snapshot");
+        SnapshotWriter.write(model, file);
+
+        GradebookModel loaded = new GradebookModel();
+        SnapshotReader.read(file, loaded);
+        assertEquals(1, loaded.getAllUsers().size());
+    }
+}
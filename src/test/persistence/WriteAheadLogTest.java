@@ -0,0 +1,151 @@
+package persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WriteAheadLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static LogEntry grade(int points) {
+        return new LogEntry.GradeAssigned("CSC335", "HW1", "ann", points);
+    }
+
+    @Test
+    void testCommittedEntriesAreRecoveredInOrder() throws IOException {
+        Path file = tempDir.resolve("gradebook.wal");
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            assertTrue(log.getRecoveredEntries().isEmpty());
+            log.append(grade(100));
+            log.append(grade(200));
+            log.commit();
+        }
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            assertEquals(List.of(grade(100), grade(200)), log.getRecoveredEntries());
+        }
+    }
+
+    @Test
+    void testUncommittedEntriesAreNotOnDisk() throws IOException {
+        Path file = tempDir.resolve("gradebook.wal");
+        WriteAheadLog log = WriteAheadLog.open(file);
+        log.append(grade(100));
+        assertEquals(WriteAheadLog.HEADER_BYTES, Files.size(file));
+        log.close(); // Closing commits what was appended
+        assertTrue(Files.size(file) > WriteAheadLog.HEADER_BYTES);
+    }
+
+    @Test
+    void testTornTailIsCutOff() throws IOException {
+        Path file = tempDir.resolve("gradebook.wal");
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            log.append(grade(100));
+            log.append(grade(200));
+            log.commit();
+        }
+        // Simulate a crash part-way through writing the second entry
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            assertEquals(List.of(grade(100)), log.getRecoveredEntries());
+            log.append(grade(300));
+            log.commit();
+        }
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            assertEquals(List.of(grade(100), grade(300)), log.getRecoveredEntries());
+        }
+    }
+
+    @Test
+    void testCorruptEntryStopsRecovery() throws IOException {
+        Path file = tempDir.resolve("gradebook.wal");
+        long firstEnd;
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            log.append(grade(100));
+            firstEnd = log.commit();
+            log.append(grade(200));
+            log.append(grade(300));
+            log.commit();
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[(int) firstEnd + 12] ^= 0x7F; // inside the second entry's payload
+        Files.write(file, bytes);
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            assertEquals(List.of(grade(100)), log.getRecoveredEntries());
+            assertEquals(firstEnd, Files.size(file));
+        }
+    }
+
+    @Test
+    void testDiscardBeforeKeepsLaterEntries() throws IOException {
+        Path file = tempDir.resolve("gradebook.wal");
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            log.append(grade(100));
+            long mark = log.commit();
+            log.append(grade(200));
+            log.commit();
+            log.append(grade(300)); // appended but not yet synced
+            log.discardBefore(mark);
+            log.commit();
+        }
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            assertEquals(List.of(grade(200), grade(300)), log.getRecoveredEntries());
+        }
+        assertFalse(Files.exists(tempDir.resolve("gradebook.wal.tmp")));
+    }
+
+    @Test
+    void testConcurrentCommitsShareSyncs() throws Exception {
+        Path file = tempDir.resolve("gradebook.wal");
+        int threads = 8;
+        int perThread = 50;
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> jobs = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int base = t * perThread;
+                jobs.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        log.sync(log.append(grade(base + i)));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> job : jobs) {
+                job.get(30, TimeUnit.SECONDS);
+            }
+            pool.shutdown();
+            assertTrue(log.getSyncCount() <= threads * perThread);
+        }
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            assertEquals(threads * perThread, log.getRecoveredEntries().size());
+        }
+    }
+
+    @Test
+    void testOtherFilesAreRejected() throws IOException {
+        Path file = tempDir.resolve("users.txt");
+        Files.write(file, List.of("jake_s,Jake Smith,pass456,student"));
+        assertThrows(IOException.class, () -> WriteAheadLog.open(file));
+    }
+}
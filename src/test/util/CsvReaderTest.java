@@ -0,0 +1,170 @@
+package util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CsvReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static CsvReader reader(String text) {
+        return reader(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static CsvReader reader(byte[] bytes) {
+        return new CsvReader(Channels.newChannel(new ByteArrayInputStream(bytes)));
+    }
+
+    private static List<List<String>> readAll(String text) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvReader csv = reader(text)) {
+            csv.forEach(record -> {
+                List<String> fields = new ArrayList<>();
+                for (int i = 0; i < record.size(); i++) {
+                    fields.add(record.get(i));
+                }
+                records.add(fields);
+            });
+        }
+        return records;
+    }
+
+    @Test
+    void testPlainRecords() throws IOException {
+        assertEquals(List.of(List.of("a", "b", "c"), List.of("d", "", "f")), readAll("a,b,c\nd,,f\n"));
+    }
+
+    @Test
+    void testLastRecordWithoutLineBreak() throws IOException {
+        assertEquals(List.of(List.of("a"), List.of("b", "")), readAll("a\nb,"));
+    }
+
+    @Test
+    void testQuotedFields() throws IOException {
+        List<List<String>> records = readAll("\"Smith, Jane\",\"say \"\"hi\"\"\",\"two\nlines\"\nnext,\"\"\n");
+        assertEquals(List.of("Smith, Jane", "say \"hi\"", "two\nlines"), records.get(0));
+        assertEquals(List.of("next", ""), records.get(1));
+    }
+
+    @Test
+    void testLineEndings() throws IOException {
+        assertEquals(List.of(List.of("a"), List.of("b"), List.of("c")), readAll("a\r\nb\rc\r\n"));
+    }
+
+    @Test
+    void testRecordLinesCountQuotedLineBreaks() throws IOException {
+        try (CsvReader csv = reader("x,\"1\n2\n3\"\r\ny\n")) {
+            assertTrue(csv.next());
+            assertEquals(1, csv.getLine());
+            assertTrue(csv.next());
+            assertEquals(4, csv.getLine());
+            assertFalse(csv.next());
+        }
+    }
+
+    @Test
+    void testBlankLineIsOneEmptyField() throws IOException {
+        try (CsvReader csv = reader("a\n   \n\nb\n")) {
+            assertTrue(csv.next());
+            assertFalse(csv.isBlank());
+            assertTrue(csv.next());
+            assertTrue(csv.isBlank());
+            assertTrue(csv.next());
+            assertTrue(csv.isBlank());
+            assertEquals(1, csv.size());
+            assertTrue(csv.next());
+            assertEquals("b", csv.get(0));
+        }
+    }
+
+    @Test
+    void testTrimmedAndCaseInsensitiveCompare() throws IOException {
+        try (CsvReader csv = reader(" jake_s , Student \n")) {
+            assertTrue(csv.next());
+            assertEquals("jake_s", csv.trimmed(0));
+            assertEquals(" jake_s ", csv.field(0).toString());
+            assertTrue(csv.fieldEqualsIgnoreCase(1, "student"));
+            assertFalse(csv.fieldEqualsIgnoreCase(1, "teacher"));
+            assertThrows(IndexOutOfBoundsException.class, () -> csv.get(2));
+        }
+    }
+
+    @Test
+    void testBareQuoteInUnquotedFieldIsText() throws IOException {
+        assertEquals(List.of(List.of("Robert \"Bob\"", "x")), readAll("Robert \"Bob\",x\n"));
+    }
+
+    @Test
+    void testUnclosedQuoteReportsWhereItOpened() {
+        CsvFormatException e = assertThrows(CsvFormatException.class,
+            () -> readAll("a,b\nc,\"open\nmore\n"));
+        assertEquals(2, e.getLine());
+        assertEquals(3, e.getColumn());
+    }
+
+    @Test
+    void testTextAfterClosingQuoteIsRejected() {
+        CsvFormatException e = assertThrows(CsvFormatException.class,
+            () -> readAll("ok\n\"ab\"cd,e\n"));
+        assertEquals(2, e.getLine());
+        assertEquals(5, e.getColumn());
+        assertTrue(e.getMessage().startsWith("Line 2, column 5"));
+    }
+
+    @Test
+    void testInvalidUtf8IsRejected() {
+        byte[] bytes = {'a', ',', (byte) 0xC3, '\n'};
+        CsvFormatException e = assertThrows(CsvFormatException.class, () -> {
+            try (CsvReader csv = reader(bytes)) {
+                while (csv.next()) {
+                    // read to the end
+                }
+            }
+        });
+        assertEquals(1, e.getLine());
+    }
+
+    @Test
+    void testByteOrderMarkIsSkipped() throws IOException {
+        assertEquals(List.of(List.of("name", "x")), readAll("﻿name,x\n"));
+    }
+
+    @Test
+    void testLargeFileStreamsAcrossBuffers() throws IOException {
+        // Multi-byte characters and long records straddle the internal buffers
+        Path file = tempDir.resolve("roster.csv");
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            text.append("José").append(i).append(",\"Núñez, ").append(i).append("\",x\n");
+        }
+        String longField = "é".repeat(100_000);
+        text.append(longField).append(",end\n");
+        Files.writeString(file, text, StandardCharsets.UTF_8);
+
+        int[] count = {0};
+        CsvReader.read(file, record -> {
+            if (count[0] < 20_000) {
+                assertEquals("José" + count[0], record.get(0));
+                assertEquals("Núñez, " + count[0], record.get(1));
+                assertEquals(count[0] + 1, record.getLine());
+            } else {
+                assertEquals(longField, record.get(0));
+                assertEquals("end", record.get(1));
+            }
+            count[0]++;
+        });
+        assertEquals(20_001, count[0]);
+    }
+}
@@ -0,0 +1,46 @@
+package util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class CsvWriterTest {
+
+    private static List<String> readBack(String line) throws IOException {
+        List<String> fields = new ArrayList<>();
+        try (CsvReader csv = new CsvReader(Channels.newChannel(
+                new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8))))) {
+            assertTrue(csv.next());
+            for (int i = 0; i < csv.size(); i++) {
+                fields.add(csv.get(i));
+            }
+            assertFalse(csv.next());
+        }
+        return fields;
+    }
+
+    @Test
+    void testPlainFieldsAreNotQuoted() {
+        assertEquals("jake_s,Jake Smith,hash,student", CsvWriter.record("jake_s", "Jake Smith", "hash", "student"));
+        assertEquals("ENG202,", CsvWriter.record(List.of("ENG202", "")));
+    }
+
+    @Test
+    void testSpecialFieldsAreQuoted() {
+        assertEquals("\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\"", CsvWriter.record("a,b", "say \"hi\"", "two\nlines"));
+        assertEquals(",x", CsvWriter.record(null, "x"));
+    }
+
+    @Test
+    void testRecordsReadBackUnchanged() throws IOException {
+        List<String> fields = List.of("\"Al\"x", "Smith, Jr.", "", "line\r\nbreak", "plain");
+        assertEquals(fields, readBack(CsvWriter.record(fields)));
+    }
+}
@@ -0,0 +1,77 @@
+package util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class DropLowestSelectorTest {
+
+    @Test
+    void testNothingDropped() {
+        double[] values = {70, 80, 90};
+        DropLowestSelector.Selection s = DropLowestSelector.select(values, 3, 0);
+        assertEquals(0, s.droppedIndices().length);
+        assertEquals(240.0, s.keptSum(), 1e-9);
+        assertEquals(3, s.keptCount());
+    }
+
+    @Test
+    void testDropsLowestAndReportsPositions() {
+        double[] values = {90, 40, 75, 60, 100};
+        DropLowestSelector.Selection s = DropLowestSelector.select(values, 5, 2);
+        assertArrayEquals(new int[] {1, 3}, s.droppedIndices());
+        assertEquals(265.0, s.keptSum(), 1e-9);
+        assertEquals(3, s.keptCount());
+        assertTrue(s.isDropped(3));
+        assertFalse(s.isDropped(0));
+    }
+
+    @Test
+    void testTiesDropEarlierPosition() {
+        double[] values = {50, 80, 50, 50};
+        DropLowestSelector.Selection s = DropLowestSelector.select(values, 4, 2);
+        assertArrayEquals(new int[] {0, 2}, s.droppedIndices());
+    }
+
+    @Test
+    void testDropAllOrMore() {
+        double[] values = {10, 20};
+        DropLowestSelector.Selection s = DropLowestSelector.select(values, 2, 5);
+        assertArrayEquals(new int[] {0, 1}, s.droppedIndices());
+        assertEquals(0.0, s.keptSum());
+        assertEquals(0, s.keptCount());
+    }
+
+    @Test
+    void testOnlyUsedPrefixConsidered() {
+        double[] values = {60, 70, 0, 0};
+        DropLowestSelector.Selection s = DropLowestSelector.select(values, 2, 1);
+        assertArrayEquals(new int[] {0}, s.droppedIndices());
+        assertEquals(70.0, s.keptSum(), 1e-9);
+    }
+
+    @Test
+    void testMatchesStableSort() {
+        Random random = new Random(42);
+        for (int trial = 0; trial < 200; trial++) {
+            int size = 1 + random.nextInt(30);
+            int k = random.nextInt(size + 1);
+            double[] values = new double[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = random.nextInt(10) * 10; // plenty of ties
+            }
+            // Reference: stable sort of positions by value, take the first k
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) order[i] = i;
+            Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+            int[] expected = new int[k];
+            for (int i = 0; i < k; i++) expected[i] = order[i];
+            Arrays.sort(expected);
+
+            assertArrayEquals(expected, DropLowestSelector.select(values, size, k).droppedIndices());
+        }
+    }
+}
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -11,7 +12,10 @@ import org.junit.jupiter.api.io.TempDir;
 import model.Course;
 import model.Student;
 import model.User;
+import model.UserIdentityMap;
 import model.UserManager;
+import persistence.PersistenceService;
+import persistence.WriteAheadLog;
 
 class FileUtilTest {
 
@@ -27,6 +31,20 @@ class FileUtilTest {
         assertTrue(content.contains("Alina Kushareva"));
     }
 
+    @Test
+    void testSaveUsers_backgroundWriter() throws IOException {
+        try (WriteAheadLog log = WriteAheadLog.open(tempDir.resolve("gradebook.wal"));
+             PersistenceService writer = new PersistenceService(log)) {
+            FileUtil.setBackgroundWriter(writer);
+            Path file = tempDir.resolve("users.txt");
+            FileUtil.saveUsers(List.of(new Student("Alina", "Kushareva", "alina_k", "pass123")), file.toString());
+            writer.sync();
+            assertTrue(Files.readString(file).contains("Alina Kushareva"));
+        } finally {
+            FileUtil.setBackgroundWriter(null);
+        }
+    }
+
     @Test
     void testLoadUsers_fullName() throws IOException {
         Path file = tempDir.resolve("users.txt");
@@ -35,6 +53,26 @@ class FileUtilTest {
         assertEquals("Jake Smith", users.get(0).getFullName());
     }
 
+    @Test
+    void testLoadUsers_quotedFieldsAndBlankLines() throws IOException {
+        Path file = tempDir.resolve("users.txt");
+        Files.write(file, List.of("\"jake_s\",\"Jake Smith\",pass456,Student", "", "bad,line"));
+        List<User> users = FileUtil.loadUsers(file.toString());
+        assertEquals(1, users.size());
+        assertEquals("jake_s", users.get(0).getUsername());
+        assertEquals("Smith", users.get(0).getLastName());
+    }
+
+    @Test
+    void testLoadUsers_reportsMalformedLine() throws IOException {
+        Path file = tempDir.resolve("users.txt");
+        Files.write(file, List.of("jake_s,Jake Smith,pass456,student", "tom_t,\"Tom,hash,teacher"));
+        CsvFormatException e = assertThrows(CsvFormatException.class,
+            () -> FileUtil.loadUsers(file.toString()));
+        assertEquals(2, e.getLine());
+        assertEquals(7, e.getColumn());
+    }
+
     @Test
     void testParseStudentCSV_fullName() throws IOException {
         Path file = tempDir.resolve("students.csv");
@@ -43,6 +81,134 @@ class FileUtilTest {
         assertEquals("Alina Kushareva", students.get(0).getFullName());
     }
 
+    @Test
+    void testLoadUsers_reusesCanonicalInstances() throws IOException {
+        Path file = tempDir.resolve("users.txt");
+        Files.write(file, List.of("jake_s,Jake Smith,pass456,student", "tom_t,Tom Teacher,hash,teacher"));
+        UserIdentityMap identities = new UserIdentityMap();
+        List<User> first = FileUtil.loadUsers(file.toString(), identities);
+        List<User> second = FileUtil.loadUsers(file.toString(), identities);
+        assertSame(first.get(0), second.get(0));
+        assertSame(first.get(1), identities.findTeacher("tom_t"));
+    }
+
+    @Test
+    void testParseStudentCSV_resolvesExistingStudent() throws IOException {
+        Student existing = new Student("Alina", "Kushareva", "alina_k", "hash");
+        UserIdentityMap identities = new UserIdentityMap();
+        identities.canonical(existing);
+        Path file = tempDir.resolve("students.csv");
+        Files.write(file, List.of("Alina,Kushareva,alina_k,pass123", "Jake,Smith,jake_s,pass456"));
+        List<Student> students = FileUtil.parseStudentCSV(file.toString(), identities);
+        assertSame(existing, students.get(0));
+        assertSame(students.get(1), identities.findStudent("jake_s"));
+    }
+
+    @Test
+    void testParseStudentCSV_parallelKeepsFileOrder() throws IOException {
+        Path file = tempDir.resolve("students.csv");
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            lines.add("First" + i + ",Last" + i + ",user" + i + ",pass" + i);
+        }
+        lines.add("Again,Dup,user7,other"); // duplicate username keeps the first row
+        Files.write(file, lines);
+
+        List<int[]> reports = new ArrayList<>();
+        List<Student> students = FileUtil.parseStudentCSV(file.toString(), new UserIdentityMap(),
+            (done, total) -> reports.add(new int[] {done, total}), 16);
+
+        assertEquals(501, students.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals("user" + i, students.get(i).getUsername());
+            assertEquals(SecurityUtil.hashPassword("pass" + i), students.get(i).getPasswordHash());
+        }
+        assertSame(students.get(7), students.get(500));
+        assertEquals(501, reports.size());
+        for (int i = 0; i < reports.size(); i++) {
+            assertArrayEquals(new int[] {i + 1, 501}, reports.get(i));
+        }
+    }
+
+    @Test
+    void testParseStudentCSV_resolvesBlocksWhileStreaming() throws IOException {
+        Path file = tempDir.resolve("students.csv");
+        int rows = FileUtil.HASH_BLOCK + 3;
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < rows - 1; i++) {
+            lines.add("First" + i + ",Last" + i + ",stream" + i + ",pass" + i);
+        }
+        lines.add("Again,Dup,stream5,other"); // duplicate of a row in the first block
+        Files.write(file, lines);
+
+        List<int[]> reports = new ArrayList<>();
+        List<Student> students = FileUtil.parseStudentCSV(file.toString(), new UserIdentityMap(),
+            (done, total) -> reports.add(new int[] {done, total}), 64);
+
+        assertEquals(rows, students.size());
+        assertSame(students.get(5), students.get(rows - 1));
+        assertEquals(SecurityUtil.hashPassword("pass5"), students.get(rows - 1).getPasswordHash());
+        assertEquals("stream" + FileUtil.HASH_BLOCK, students.get(FileUtil.HASH_BLOCK).getUsername());
+        // The first block is resolved before the end of the file is reached
+        assertArrayEquals(new int[] {FileUtil.HASH_BLOCK, -1}, reports.get(FileUtil.HASH_BLOCK - 1));
+        assertArrayEquals(new int[] {rows, rows}, reports.get(rows - 1));
+    }
+
+    @Test
+    void testParseStudentCSV_totalIsUnknownUntilTheLastBlock() throws IOException {
+        Path file = tempDir.resolve("students.csv");
+        int rows = 2 * FileUtil.HASH_BLOCK + 10;
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            lines.add("First" + i + ",Last" + i + ",total" + i + ",pass" + i);
+        }
+        Files.write(file, lines);
+
+        List<int[]> reports = new ArrayList<>();
+        FileUtil.parseStudentCSV(file.toString(), new UserIdentityMap(),
+            (done, total) -> reports.add(new int[] {done, total}), 64);
+
+        assertEquals(rows, reports.size());
+        for (int i = 0; i < rows; i++) {
+            assertEquals(i + 1, reports.get(i)[0]);
+            // Full blocks are resolved before the end of the file is known
+            int expectedTotal = i < 2 * FileUtil.HASH_BLOCK ? FileUtil.ImportProgress.UNKNOWN_TOTAL : rows;
+            assertEquals(expectedTotal, reports.get(i)[1]);
+        }
+    }
+
+    @Test
+    void testParseStudentCSV_singleBlockReportsTheTotalAtOnce() throws IOException {
+        Path file = tempDir.resolve("students.csv");
+        Files.write(file, List.of("Ann,Lee,one_ann,pw", "Ben,Ray,one_ben,pw", "Cy,Day,one_cy,pw"));
+
+        List<int[]> reports = new ArrayList<>();
+        FileUtil.parseStudentCSV(file.toString(), new UserIdentityMap(),
+            (done, total) -> reports.add(new int[] {done, total}));
+
+        assertEquals(3, reports.size());
+        for (int[] report : reports) {
+            assertEquals(3, report[1]);
+        }
+    }
+
+    @Test
+    void testParseStudentCSV_parallelReusesKnownStudents() throws IOException {
+        Student existing = new Student("Alina", "Kushareva", "user3", "hash");
+        UserIdentityMap identities = new UserIdentityMap();
+        identities.canonical(existing);
+        Path file = tempDir.resolve("students.csv");
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            lines.add("First" + i + ",Last" + i + ",user" + i + ",pass" + i);
+        }
+        Files.write(file, lines);
+        List<Student> students = FileUtil.parseStudentCSV(file.toString(), identities, null, 0);
+        assertSame(existing, students.get(3));
+        assertEquals("hash", students.get(3).getPasswordHash());
+        assertSame(students.get(4), identities.findStudent("user4"));
+    }
+
     @Test
     void testReadLines_size() throws IOException {
         Path file = tempDir.resolve("test.txt");
@@ -90,6 +256,39 @@ class FileUtilTest {
         assertEquals("ENG202,", line);
     }
     
+    @Test
+    void testSaveUsers_quotedNamesRoundTrip() throws IOException {
+        List<User> users = List.of(
+            new Student("\"Al\"x", "Smith,Jr.", "quote_al", "hash1"),
+            new Student("Bea", "Lee", "plain_bea", "hash2"));
+        Path file = tempDir.resolve("users.txt");
+        FileUtil.saveUsers(users, file.toString());
+        assertEquals("quote_al,\"\"\"Al\"\"x Smith,Jr.\",hash1,student", Files.readAllLines(file).get(0));
+
+        List<User> loaded = FileUtil.loadUsers(file.toString());
+        assertEquals(2, loaded.size());
+        assertEquals("\"Al\"x", loaded.get(0).getFirstName());
+        assertEquals("Smith,Jr.", loaded.get(0).getLastName());
+        assertEquals("hash1", loaded.get(0).getPasswordHash());
+        assertEquals("Bea Lee", loaded.get(1).getFullName());
+    }
+
+    @Test
+    void testSaveCourses_quotedNameRoundTrip() throws IOException {
+        Path userFile = tempDir.resolve("users.txt");
+        UserManager um = setupUserManager(userFile, List.of("s1,Alice Smith,hash,student"));
+        Course course = new Course("Math, \"Honors\"");
+        course.addStudent((Student) um.findUserByUsername("s1"));
+        Path courseFile = tempDir.resolve("courses.txt");
+        FileUtil.saveCourses(List.of(course, new Course("ENG202")), courseFile.toString());
+
+        List<Course> courses = FileUtil.loadCourses(courseFile.toString(), um);
+        assertEquals("Math, \"Honors\"", courses.get(0).getCourseName());
+        assertEquals(1, courses.get(0).getStudents().size());
+        assertEquals("ENG202", courses.get(1).getCourseName());
+        assertTrue(courses.get(1).getStudents().isEmpty());
+    }
+
     private UserManager setupUserManager(Path userFile, List<String> lines) throws IOException {
         Files.write(userFile, lines);
         return new UserManager(userFile.toString());